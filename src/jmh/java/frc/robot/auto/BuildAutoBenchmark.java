@@ -0,0 +1,64 @@
+/* (C) Robolancers 2025 */
+package frc.robot.auto;
+
+import frc.robot.auto.AutomaticAutonomousMaker3000.CycleAutoConfig;
+import frc.robot.auto.AutomaticAutonomousMaker3000.FeedLocation;
+import frc.robot.auto.AutomaticAutonomousMaker3000.Level;
+import frc.robot.auto.AutomaticAutonomousMaker3000.PathsAndAuto;
+import frc.robot.auto.AutomaticAutonomousMaker3000.Pole;
+import frc.robot.auto.AutomaticAutonomousMaker3000.ReefSide;
+import frc.robot.auto.AutomaticAutonomousMaker3000.ScoringGroup;
+import frc.robot.auto.AutomaticAutonomousMaker3000.StartingPosition;
+import frc.robot.subsystems.CoralSuperstructure;
+import frc.robot.subsystems.coralendeffector.CoralEndEffector;
+import frc.robot.subsystems.drivetrain.SwerveDrive;
+import frc.robot.subsystems.elevator.Elevator;
+import frc.robot.subsystems.elevatorarm.ElevatorArm;
+import frc.robot.util.BenchmarkHal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// full path load and command composition for a three piece auto, as done on "Autos/Submit"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildAutoBenchmark {
+  private final CycleAutoConfig config =
+      new CycleAutoConfig(
+          StartingPosition.TOP,
+          List.of(
+              new ScoringGroup(
+                  FeedLocation.UPCORALRIGHT, ReefSide.REEFR1, Pole.RIGHTPOLE, Level.L4),
+              new ScoringGroup(FeedLocation.UPCORALRIGHT, ReefSide.REEFL1, Pole.LEFTPOLE, Level.L4),
+              new ScoringGroup(
+                  FeedLocation.UPCORALRIGHT, ReefSide.REEFL1, Pole.RIGHTPOLE, Level.L4)));
+
+  private AutomaticAutonomousMaker3000 automaker;
+
+  @Setup
+  public void setup() {
+    BenchmarkHal.initialize();
+
+    final var coralSuperstructure =
+        new CoralSuperstructure(Elevator.create(), ElevatorArm.create(), CoralEndEffector.create());
+    automaker = new AutomaticAutonomousMaker3000(SwerveDrive.create(), coralSuperstructure);
+  }
+
+  @Benchmark
+  public PathsAndAuto buildAuto() {
+    return automaker.buildAuto(config);
+  }
+}
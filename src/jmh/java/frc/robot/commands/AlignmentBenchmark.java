@@ -0,0 +1,45 @@
+/* (C) Robolancers 2025 */
+package frc.robot.commands;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.util.BenchmarkHal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// nearest-tag lookups that the alignment commands run every loop
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlignmentBenchmark {
+  // in front of the blue reef and near the blue top coral station respectively
+  private final Pose2d reefPose = new Pose2d(3.1, 4.3, Rotation2d.fromDegrees(10));
+  private final Pose2d stationPose = new Pose2d(1.6, 7.0, Rotation2d.fromDegrees(-50));
+
+  @Setup
+  public void setup() {
+    BenchmarkHal.initialize();
+  }
+
+  @Benchmark
+  public int getNearestReefID() {
+    return ReefAlign.getNearestReefID(reefPose);
+  }
+
+  @Benchmark
+  public Pose2d getNearestStationPose() {
+    return StationAlign.getNearestStationPose(stationPose);
+  }
+}
@@ -0,0 +1,88 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems;
+
+import frc.robot.subsystems.algaeIntakePivot.AlgaeIntakePivotIOIdeal;
+import frc.robot.subsystems.algaeIntakePivot.AlgaeIntakePivotInputs;
+import frc.robot.subsystems.algaeIntakeRollers.AlgaeIntakeRollersIOIdeal;
+import frc.robot.subsystems.algaeIntakeRollers.AlgaeIntakeRollersInputs;
+import frc.robot.subsystems.climber.ClimberIOIdeal;
+import frc.robot.subsystems.climber.ClimberInputs;
+import frc.robot.subsystems.coralendeffector.CoralEndEffectorIOIdeal;
+import frc.robot.subsystems.coralendeffector.CoralEndEffectorInputs;
+import frc.robot.subsystems.elevator.ElevatorIOIdeal;
+import frc.robot.subsystems.elevator.ElevatorInputs;
+import frc.robot.subsystems.elevatorarm.ElevatorArmIOIdeal;
+import frc.robot.subsystems.elevatorarm.ElevatorArmInputs;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// refilling each mechanism's inputs in place; gc.alloc.rate.norm should read 0 B/op for all of them
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MechanismInputsBenchmark {
+  private final ElevatorIOIdeal elevatorIO = new ElevatorIOIdeal();
+  private final ElevatorInputs elevatorInputs = new ElevatorInputs();
+
+  private final ElevatorArmIOIdeal elevatorArmIO = new ElevatorArmIOIdeal();
+  private final ElevatorArmInputs elevatorArmInputs = new ElevatorArmInputs();
+
+  private final CoralEndEffectorIOIdeal coralEndEffectorIO = new CoralEndEffectorIOIdeal();
+  private final CoralEndEffectorInputs coralEndEffectorInputs = new CoralEndEffectorInputs();
+
+  private final ClimberIOIdeal climberIO = new ClimberIOIdeal();
+  private final ClimberInputs climberInputs = new ClimberInputs();
+
+  private final AlgaeIntakePivotIOIdeal algaePivotIO = new AlgaeIntakePivotIOIdeal();
+  private final AlgaeIntakePivotInputs algaePivotInputs = new AlgaeIntakePivotInputs();
+
+  private final AlgaeIntakeRollersIOIdeal algaeRollersIO = new AlgaeIntakeRollersIOIdeal();
+  private final AlgaeIntakeRollersInputs algaeRollersInputs = new AlgaeIntakeRollersInputs();
+
+  @Benchmark
+  public ElevatorInputs elevator() {
+    elevatorIO.updateInputs(elevatorInputs);
+    return elevatorInputs;
+  }
+
+  @Benchmark
+  public ElevatorArmInputs elevatorArm() {
+    elevatorArmIO.updateInputs(elevatorArmInputs);
+    return elevatorArmInputs;
+  }
+
+  @Benchmark
+  public CoralEndEffectorInputs coralEndEffector() {
+    coralEndEffectorIO.updateInputs(coralEndEffectorInputs);
+    return coralEndEffectorInputs;
+  }
+
+  @Benchmark
+  public ClimberInputs climber() {
+    climberIO.updateInputs(climberInputs);
+    return climberInputs;
+  }
+
+  @Benchmark
+  public AlgaeIntakePivotInputs algaeIntakePivot() {
+    algaePivotIO.updateInputs(algaePivotInputs);
+    return algaePivotInputs;
+  }
+
+  @Benchmark
+  public AlgaeIntakeRollersInputs algaeIntakeRollers() {
+    algaeRollersIO.updateInputs(algaeRollersInputs);
+    return algaeRollersInputs;
+  }
+}
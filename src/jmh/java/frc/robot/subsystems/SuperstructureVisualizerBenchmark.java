@@ -0,0 +1,44 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems;
+
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.Meters;
+
+import frc.robot.util.BenchmarkHal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// mechanism and component pose updates run by the visualizer every loop
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SuperstructureVisualizerBenchmark {
+  private SuperstructureVisualizer visualizer;
+
+  @Setup
+  public void setup() {
+    BenchmarkHal.initialize();
+
+    visualizer =
+        new SuperstructureVisualizer(
+            () -> Meters.of(1.4), () -> Degrees.of(110), () -> Degrees.of(30));
+  }
+
+  @Benchmark
+  public SuperstructureVisualizer update() {
+    visualizer.update();
+    return visualizer;
+  }
+}
@@ -0,0 +1,69 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.drivetrain;
+
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Seconds;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.RobotConstants;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * The pose math from DrivetrainReal.driveToFieldPose(): three profiled PID updates, a discretize
+ * and the setpoint tolerance checks, without the CTRE request at the end
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DriveToPoseBenchmark {
+  private final Pose2d currentPose = new Pose2d(2.8, 3.9, Rotation2d.fromDegrees(-5));
+  private final Pose2d targetPose = new Pose2d(3.2, 4.2, Rotation2d.kZero);
+
+  @Setup
+  public void setup() {
+    SwerveDrive.thetaController.enableContinuousInput(-Math.PI, Math.PI);
+  }
+
+  @Benchmark
+  public ChassisSpeeds driveToFieldPose() {
+    // restart the profiles each call so every op measures the same mid-alignment state
+    SwerveDrive.xPoseController.reset(currentPose.getX());
+    SwerveDrive.yPoseController.reset(currentPose.getY());
+    SwerveDrive.thetaController.reset(currentPose.getRotation().getRadians());
+
+    ChassisSpeeds targetSpeeds =
+        ChassisSpeeds.discretize(
+            SwerveDrive.xPoseController.calculate(currentPose.getX(), targetPose.getX()),
+            SwerveDrive.yPoseController.calculate(currentPose.getY(), targetPose.getY()),
+            SwerveDrive.thetaController.calculate(
+                currentPose.getRotation().getRadians(), targetPose.getRotation().getRadians()),
+            RobotConstants.kRobotLoopPeriod.in(Seconds));
+
+    if (currentPose.getTranslation().getDistance(targetPose.getTranslation())
+        < DrivetrainConstants.kAlignmentSetpointTranslationTolerance.in(Meters))
+      targetSpeeds = new ChassisSpeeds(0, 0, targetSpeeds.omegaRadiansPerSecond);
+
+    if (Math.abs(currentPose.getRotation().minus(targetPose.getRotation()).getDegrees())
+        < DrivetrainConstants.kAlignmentSetpointRotationTolerance.in(Degrees))
+      targetSpeeds =
+          new ChassisSpeeds(targetSpeeds.vxMetersPerSecond, targetSpeeds.vyMetersPerSecond, 0);
+
+    return targetSpeeds;
+  }
+}
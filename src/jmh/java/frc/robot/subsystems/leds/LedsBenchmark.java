@@ -0,0 +1,47 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.leds;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.util.BenchmarkHal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// one execution of the LED default command: signal scan, pattern apply and strip write
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LedsBenchmark {
+  private Command updateLeds;
+
+  @Setup
+  public void setup() {
+    BenchmarkHal.initialize();
+
+    final var leds = Leds.getInstance();
+    // mirrors the shape of RobotContainer.configureLeds(): a few never-true signals ahead of the
+    // one that ends up applied
+    leds.registerSignal(3, () -> false, () -> LedsConstants.kReefAligned);
+    leds.registerSignal(2, () -> false, () -> LedsConstants.kRotationAligning);
+    leds.registerSignal(1, () -> true, () -> LedsConstants.kDefault);
+
+    updateLeds = leds.updateLeds();
+    updateLeds.initialize();
+  }
+
+  @Benchmark
+  public void updateLeds() {
+    updateLeds.execute();
+  }
+}
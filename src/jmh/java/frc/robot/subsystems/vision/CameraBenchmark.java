@@ -0,0 +1,51 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.PhotonPoseEstimator.PoseStrategy;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+// standard deviation calculation run for every accepted vision estimate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CameraBenchmark {
+  // a two tag multi-tag estimate, roughly what the reef cameras see during alignment
+  private final EstimatedRobotPose estimate =
+      new EstimatedRobotPose(
+          new Pose3d(3.1, 4.0, 0, Rotation3d.kZero),
+          0.0,
+          List.of(target(18, 1.2, 0.3), target(17, 1.9, -0.8)),
+          PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR);
+
+  private static PhotonTrackedTarget target(int id, double x, double y) {
+    final var cameraToTarget = new Transform3d(x, y, 0.2, Rotation3d.kZero);
+    return new PhotonTrackedTarget(
+        0, 0, 1, 0, id, -1, -1, cameraToTarget, cameraToTarget, 0.1, List.of(), List.of());
+  }
+
+  @Benchmark
+  public Matrix<N3, N1> calculateStdDevs() {
+    return Camera.calculateStdDevs(estimate);
+  }
+}
@@ -0,0 +1,26 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+/** Brings up the simulated HAL so benchmarks can call into code that touches WPILib JNI. */
+public final class BenchmarkHal {
+  private static boolean initialized = false;
+
+  private BenchmarkHal() {}
+
+  /** Initializes the HAL once per JVM and reports the robot as blue alliance. */
+  public static synchronized void initialize() {
+    if (initialized) return;
+
+    HAL.initialize(500, 0);
+    DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+    DriverStationSim.notifyNewData();
+    DriverStation.refreshData();
+
+    initialized = true;
+  }
+}
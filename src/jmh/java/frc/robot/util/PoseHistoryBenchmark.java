@@ -0,0 +1,54 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// odometry-rate inserts and vision-rate lookups into a full 2 s history
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoseHistoryBenchmark {
+  private static final double kOdometryPeriod = 1.0 / 250;
+
+  private final PoseHistory history = new PoseHistory(2, 512);
+  private final double[] sample = new double[3];
+
+  private double timestamp = 0;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < 500; i++) {
+      addSample();
+    }
+  }
+
+  private void addSample() {
+    timestamp += kOdometryPeriod;
+    history.addSample(timestamp, timestamp, 2 * timestamp, Math.sin(timestamp));
+  }
+
+  @Benchmark
+  public void addSampleBenchmark() {
+    addSample();
+  }
+
+  @Benchmark
+  public double[] sampleBenchmark() {
+    // a typical vision latency behind the newest sample
+    history.sample(timestamp - 0.035, sample);
+    return sample;
+  }
+}
@@ -0,0 +1,264 @@
+/* (C) Robolancers 2025 */
+package frc.robot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.auto.AutomaticAutonomousMaker3000;
+import frc.robot.commands.StationAlign;
+import frc.robot.subsystems.coralendeffector.CoralEndEffectorConstants;
+import frc.robot.subsystems.drivetrain.SwerveDrive;
+import frc.robot.subsystems.leds.Leds;
+import frc.robot.util.Histogram;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs autos in simulation with no GUI and no driver station, stepping the HAL clock as fast as
+ * the robot code runs instead of in real time. Prints one JSON result per auto with its completion
+ * time, the coral it scored and its loop time statistics.
+ *
+ * <p>Takes the names of the prebuilt autos to run (see {@link
+ * AutomaticAutonomousMaker3000#getAutoNames()}), or runs all of them if none are given. HAL, the
+ * command scheduler and the simulated field are global, so each auto runs in its own JVM, with up
+ * to one JVM per core running at a time. {@code --output <file>} also writes the results to a file.
+ */
+public final class HeadlessAutoRunner {
+  private static final double kAutoLengthSeconds = 15;
+
+  // coral model; nothing else toggles the simulated coral sensor in a headless run
+  private static final double kIntakeSeconds = 0.25;
+  private static final double kOuttakeSeconds = 0.1;
+  private static final double kStationIntakeDistanceMeters = 0.5;
+
+  private static final double kLoopTimeRangeMillis = 50;
+  private static final int kLoopTimeBuckets = 500;
+
+  // marks the child JVM's result among everything else the robot code prints
+  private static final String kResultPrefix = "AUTO_RESULT ";
+  private static final String kSingleAutoFlag = "--single";
+  private static final String kOutputFlag = "--output";
+
+  private static final ObjectMapper kMapper = new ObjectMapper();
+
+  private HeadlessAutoRunner() {}
+
+  public record LoopTimeStats(
+      long loops, double meanMillis, double p50Millis, double p99Millis, double maxMillis) {}
+
+  public record AutoResult(
+      String auto,
+      boolean completed,
+      double completionTimeSeconds,
+      int coralScored,
+      double wallSeconds,
+      double realTimeFactor,
+      LoopTimeStats loopTime) {}
+
+  public static void main(String... args) throws Exception {
+    if (args.length == 2 && args[0].equals(kSingleAutoFlag)) {
+      final AutoResult result = runAuto(args[1]);
+      System.out.println(kResultPrefix + kMapper.writeValueAsString(result));
+      // NT, the data log and the simulated field leave non-daemon threads behind
+      System.exit(0);
+    }
+
+    String output = null;
+    final List<String> autos = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals(kOutputFlag) && i + 1 < args.length) {
+        output = args[++i];
+      } else {
+        autos.add(args[i]);
+      }
+    }
+    if (autos.isEmpty()) autos.addAll(AutomaticAutonomousMaker3000.getAutoNames());
+
+    final ArrayNode results = runInParallel(autos);
+    final ObjectWriter writer = kMapper.writerWithDefaultPrettyPrinter();
+    System.out.println(writer.writeValueAsString(results));
+    if (output != null) writer.writeValue(new File(output), results);
+  }
+
+  private static ArrayNode runInParallel(List<String> autos) throws Exception {
+    final int jobs = Math.min(autos.size(), Runtime.getRuntime().availableProcessors());
+    final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, jobs));
+    try {
+      final List<Future<JsonNode>> futures = new ArrayList<>();
+      for (String auto : autos) futures.add(pool.submit(() -> runInChildJvm(auto)));
+
+      final ArrayNode results = kMapper.createArrayNode();
+      for (Future<JsonNode> future : futures) results.add(future.get());
+      return results;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static JsonNode runInChildJvm(String auto) throws IOException, InterruptedException {
+    final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    final Process process =
+        new ProcessBuilder(
+                java,
+                "-Djava.library.path=" + System.getProperty("java.library.path"),
+                "-cp",
+                System.getProperty("java.class.path"),
+                HeadlessAutoRunner.class.getName(),
+                kSingleAutoFlag,
+                auto)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+    JsonNode result = null;
+    try (BufferedReader reader = process.inputReader()) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(kResultPrefix)) {
+          result = kMapper.readTree(line.substring(kResultPrefix.length()));
+        }
+      }
+    }
+
+    final int exitCode = process.waitFor();
+    if (result != null) return result;
+    return kMapper
+        .createObjectNode()
+        .put("auto", auto)
+        .put("error", "exited with code " + exitCode + " without a result");
+  }
+
+  private static AutoResult runAuto(String auto) {
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the HAL");
+    }
+    // the clock only moves when stepped below
+    SimHooks.pauseTiming();
+    DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.setAutonomous(true);
+    DriverStationSim.setEnabled(false);
+    DriverStationSim.notifyNewData();
+
+    final HeadlessRobot robot = new HeadlessRobot();
+    // nothing connects to a headless run, and parallel runs would fight over the ports
+    NetworkTableInstance.getDefault().stopServer();
+
+    final RobotContainer container = robot.getRobotContainer();
+    if (!container.getAutoMaker().selectAuto(auto)) {
+      throw new IllegalArgumentException(
+          "Can't build auto "
+              + auto
+              + ", expected one of "
+              + AutomaticAutonomousMaker3000.getAutoNames());
+    }
+    final Command autoCommand = container.getAutonomousCommand();
+
+    final CoralModel coral = new CoralModel(container.getDrivetrain());
+
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+
+    final double period = robot.getPeriod();
+    final Histogram loopTimes = new Histogram(kLoopTimeRangeMillis, kLoopTimeBuckets);
+    double loopTimeSumMillis = 0;
+    double elapsedSeconds = 0;
+    boolean completed = false;
+
+    final long wallStart = System.nanoTime();
+    while (elapsedSeconds < kAutoLengthSeconds) {
+      final long loopStart = System.nanoTime();
+      robot.step();
+      final double loopMillis = (System.nanoTime() - loopStart) / 1e6;
+      loopTimes.record(loopMillis);
+      loopTimeSumMillis += loopMillis;
+
+      SimHooks.stepTiming(period);
+      elapsedSeconds += period;
+      coral.update(period);
+
+      if (!autoCommand.isScheduled()) {
+        completed = true;
+        break;
+      }
+    }
+    final double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+
+    final long loops = loopTimes.getCount();
+    return new AutoResult(
+        auto,
+        completed,
+        elapsedSeconds,
+        coral.scored,
+        wallSeconds,
+        elapsedSeconds / wallSeconds,
+        new LoopTimeStats(
+            loops,
+            loopTimeSumMillis / loops,
+            loopTimes.getPercentile(0.5),
+            loopTimes.getPercentile(0.99),
+            loopTimes.getMax()));
+  }
+
+  // exposes a single robot loop so it can be stepped without the TimedRobot notifier
+  private static final class HeadlessRobot extends Robot {
+    void step() {
+      loopFunc();
+    }
+  }
+
+  /**
+   * Stands in for the coral sensor. The robot starts with a preloaded coral, picks one up after
+   * intaking near a coral station for a moment and scores it after outtaking for a moment.
+   */
+  private static final class CoralModel {
+    private final SwerveDrive drivetrain;
+
+    private boolean hasCoral = true;
+    private double intakingSeconds = 0;
+    private double outtakingSeconds = 0;
+    private int scored = 0;
+
+    CoralModel(SwerveDrive drivetrain) {
+      this.drivetrain = drivetrain;
+      SmartDashboard.putBoolean(CoralEndEffectorConstants.kSimHasCoralKey, hasCoral);
+    }
+
+    void update(double dtSeconds) {
+      final Leds leds = Leds.getInstance();
+
+      intakingSeconds =
+          !hasCoral
+                  && leds.isIntaking
+                  && StationAlign.getStationDistance(drivetrain) < kStationIntakeDistanceMeters
+              ? intakingSeconds + dtSeconds
+              : 0;
+      outtakingSeconds = hasCoral && leds.isOuttaking ? outtakingSeconds + dtSeconds : 0;
+
+      if (intakingSeconds >= kIntakeSeconds) {
+        hasCoral = true;
+        intakingSeconds = 0;
+      } else if (outtakingSeconds >= kOuttakeSeconds) {
+        hasCoral = false;
+        outtakingSeconds = 0;
+        scored++;
+      }
+
+      SmartDashboard.putBoolean(CoralEndEffectorConstants.kSimHasCoralKey, hasCoral);
+    }
+  }
+}
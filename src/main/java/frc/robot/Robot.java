@@ -3,20 +3,38 @@ package frc.robot;
 
 import edu.wpi.first.epilogue.Epilogue;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.epilogue.logging.EpilogueBackend;
 import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
-import frc.robot.commands.ProcessorAlign;
-import frc.robot.commands.ReefAlign;
-import frc.robot.commands.StationAlign;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.TieredEpilogueBackend;
 import frc.robot.util.VirtualSubsystem;
 
 @Logged
 public class Robot extends TimedRobot {
+  private static final LoopProfiler.Section kSignalRefreshPhase =
+      LoopProfiler.section("PhoenixSignalRefresh");
+  private static final LoopProfiler.Section kSchedulerPhase =
+      LoopProfiler.section("CommandScheduler");
+  private static final LoopProfiler.Section kVirtualSubsystemPhase =
+      LoopProfiler.section("VirtualSubsystems");
+  private static final LoopProfiler.Section kEpiloguePhase = LoopProfiler.section("Epilogue");
+
+  // log rates for entries that don't need to be logged every loop
+  private static final int kSlowLogDivisor = 10; // 5 Hz
+  private static final String kRobotContainerPath = "Robot/RobotContainer/";
+
   private Command m_autonomousCommand;
 
+  @NotLogged private final TieredEpilogueBackend logBackend;
+  @NotLogged private final EpilogueBackend epilogueStatsBackend;
+  @NotLogged private final EpilogueBackend profilerBackend;
+
   @Logged(name = "RobotContainer")
   private final RobotContainer m_robotContainer;
 
@@ -31,7 +49,13 @@ public class Robot extends TimedRobot {
     m_robotContainer = new RobotContainer();
     DataLogManager.start();
     DriverStation.startDataLog(DataLogManager.getLog());
-    Epilogue.bind(this);
+
+    logBackend = configureLogRates(new TieredEpilogueBackend(Epilogue.getConfig().backend));
+    Epilogue.configure(config -> config.backend = logBackend);
+    epilogueStatsBackend = logBackend.getNested("Epilogue");
+    // Epilogue is updated from robotPeriodic() rather than bind() so its cost shows up in the
+    // loop profiler
+    profilerBackend = logBackend.getNested("LoopProfiler");
 
     /*
      * RobotConstants.kAprilTagFieldLayout takes a significant amount of computing to load,
@@ -40,22 +64,65 @@ public class Robot extends TimedRobot {
      */
     @SuppressWarnings("unused")
     final var robotConstants = RobotConstants.class;
-
-    // TODO: load robot alliance globally on DS connection to avoid extra lookups
-    ReefAlign.loadReefAlignmentPoses();
-    StationAlign.loadStationAlignmentPoses();
-    ProcessorAlign.loadProcessorAlignmentPoses();
   }
 
   @Override
   public void robotPeriodic() {
+    LoopProfiler.startLoop();
+
+    // one batched refresh so every subsystem's inputs come from the same sample
+    kSignalRefreshPhase.start();
+    PhoenixSignalHub.refreshAll();
+    kSignalRefreshPhase.stop();
+
+    kSchedulerPhase.start();
     CommandScheduler.getInstance().run();
+    kSchedulerPhase.stop();
 
     /*
      * TODO: note that VirtualSubsystem periodics must run after Subsystem periodics
      * since inputs need to be defined before SuperstructureVisualizer references them
      */
+    kVirtualSubsystemPhase.start();
     VirtualSubsystem.periodicAll();
+    kVirtualSubsystemPhase.stop();
+
+    kEpiloguePhase.start();
+    final long epilogueStart = System.nanoTime();
+    logBackend.startLoop();
+    Epilogue.update(this);
+    final double epilogueMillis = (System.nanoTime() - epilogueStart) / 1e6;
+    kEpiloguePhase.stop();
+
+    epilogueStatsBackend.log("Time (ms)", epilogueMillis);
+    epilogueStatsBackend.log("Logged Entries", logBackend.getLoggedEntries());
+    epilogueStatsBackend.log("Skipped Entries", logBackend.getSkippedEntries());
+
+    LoopProfiler.endLoop(profilerBackend);
+  }
+
+  // configs, operator selections and dashboard-only telemetry don't need to be logged every loop
+  private static TieredEpilogueBackend configureLogRates(TieredEpilogueBackend backend) {
+    return backend
+        .onChange(kRobotContainerPath + "elevatorArm/config")
+        .onChange(kRobotContainerPath + "climber/config")
+        .onChange(kRobotContainerPath + "algaeRollers/config")
+        .onChange(kRobotContainerPath + "algaePivot/config")
+        .onChange(kRobotContainerPath + "coralEndEffector/config")
+        .onChange(kRobotContainerPath + "leds")
+        .onChange(kRobotContainerPath + "queuedReefPosition")
+        .onChange(kRobotContainerPath + "queuedSetpoint")
+        .onChange(kRobotContainerPath + "isDriverOverride")
+        .onChange(kRobotContainerPath + "isClimbing")
+        .everyNthLoop(kRobotContainerPath + "stateVisualizer", kSlowLogDivisor)
+        .everyNthLoop(kRobotContainerPath + "canBusMonitor", kSlowLogDivisor)
+        .onChange(kRobotContainerPath + "canBusMonitor/busNames")
+        .onChange(kRobotContainerPath + "canBusMonitor/deviceNames");
+  }
+
+  // used by HeadlessAutoRunner to pick autos and follow the robot without a dashboard
+  RobotContainer getRobotContainer() {
+    return m_robotContainer;
   }
 
   @Override
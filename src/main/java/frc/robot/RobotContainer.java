@@ -6,6 +6,7 @@ import static edu.wpi.first.units.Units.MetersPerSecond;
 import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
+import com.ctre.phoenix6.CANBus;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj.XboxController;
@@ -16,9 +17,11 @@ import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.RobotModeTriggers;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
 import frc.robot.auto.AutomaticAutonomousMaker3000;
+import frc.robot.commands.ArrivalEstimator;
 import frc.robot.commands.ReefAlign;
 import frc.robot.commands.StationAlign;
 import frc.robot.subsystems.AlgaeSuperstructure;
+import frc.robot.subsystems.CanBusMonitor;
 import frc.robot.subsystems.CoralSuperstructure;
 import frc.robot.subsystems.CoralSuperstructure.CoralScorerSetpoint;
 import frc.robot.subsystems.SuperstructureVisualizer;
@@ -30,6 +33,7 @@ import frc.robot.subsystems.coralendeffector.CoralEndEffector;
 import frc.robot.subsystems.drivetrain.DrivetrainConstants;
 import frc.robot.subsystems.drivetrain.DrivetrainSim;
 import frc.robot.subsystems.drivetrain.SwerveDrive;
+import frc.robot.subsystems.drivetrain.TunerConstants;
 import frc.robot.subsystems.elevator.Elevator;
 import frc.robot.subsystems.elevator.ElevatorConstants;
 import frc.robot.subsystems.elevatorarm.ElevatorArm;
@@ -64,6 +68,7 @@ public class RobotContainer {
           (drivetrain instanceof DrivetrainSim)
               ? ((DrivetrainSim) drivetrain)::getActualPose
               : drivetrain::getPose,
+          drivetrain.getPoseHistory(),
           visionEst ->
               drivetrain.addVisionMeasurement(
                   visionEst.estimate().estimatedPose.toPose2d(),
@@ -98,7 +103,7 @@ public class RobotContainer {
                   DrivetrainConstants.kDriveDeadband)
               * Math.cos(Math.atan2(driver.getLeftX(), driver.getLeftY()))
               * (isSlowMode.getAsBoolean()
-                  ? 1.5
+                  ? ElevatorConstants.kTippingSafeSpeed.in(MetersPerSecond)
                   : DrivetrainConstants.kMaxLinearVelocity.in(MetersPerSecond));
 
   private DoubleSupplier driverStrafe =
@@ -108,7 +113,7 @@ public class RobotContainer {
                   DrivetrainConstants.kDriveDeadband)
               * Math.sin(Math.atan2(driver.getLeftX(), driver.getLeftY()))
               * (isSlowMode.getAsBoolean()
-                  ? 1.5
+                  ? ElevatorConstants.kTippingSafeSpeed.in(MetersPerSecond)
                   : DrivetrainConstants.kMaxLinearVelocity.in(MetersPerSecond));
 
   private DoubleSupplier driverTurn =
@@ -116,6 +121,9 @@ public class RobotContainer {
           -MathUtil.applyDeadband(driver.getRightX(), DrivetrainConstants.kRotationDeadband)
               * DrivetrainConstants.kMaxAngularVelocity.in(RadiansPerSecond);
 
+  // tells the superstructure when the robot will reach the reef, so it can preraise
+  private final ArrivalEstimator reefArrival = new ArrivalEstimator();
+
   // robot queued states
   private ReefPosition queuedReefPosition = ReefPosition.RIGHT;
   private CoralScorerSetpoint queuedSetpoint = CoralScorerSetpoint.L4;
@@ -127,6 +135,9 @@ public class RobotContainer {
   private Leds leds = Leds.getInstance();
   private AddressableLEDSim ledSim = new AddressableLEDSim(leds.strip);
 
+  // mechanisms are on the roboRIO bus, swerve is on the CANivore
+  private CanBusMonitor canBusMonitor = new CanBusMonitor(new CANBus(), TunerConstants.kCANBus);
+
   private Trigger isAlgaeSetpoint =
       new Trigger(
           () ->
@@ -143,10 +154,10 @@ public class RobotContainer {
   private DoubleSupplier reefAlignProgressPercent =
       () ->
           leds.calculateProgressBar(
-              elevator.getHeight(),
-              coralSuperstructure.getTargetHeight(),
-              elevatorArm.getAngle(),
-              coralSuperstructure.getTargetAngle(),
+              elevator.getHeightMeters(),
+              coralSuperstructure.getTargetHeightMeters(),
+              elevatorArm.getAngleRadians(),
+              coralSuperstructure.getTargetAngleRadians(),
               drivetrain.getPose(),
               drivetrain.getAlignmentSetpoint().pose());
 
@@ -173,9 +184,9 @@ public class RobotContainer {
     // algaePivot.setDefaultCommand(algaePivot.goToAngle(() ->
     // AlgaeSetpoint.NEUTRAL.getAlgaeAngle()));
     elevator.setDefaultCommand(
-        elevator.goToHeight(() -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight()));
+        elevator.goToHeight(() -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters()));
     elevatorArm.setDefaultCommand(
-        elevatorArm.goToAngleProfiled(() -> CoralScorerSetpoint.NEUTRAL.getArmAngle()));
+        elevatorArm.goToAngleProfiled(() -> CoralScorerSetpoint.NEUTRAL.getArmAngleRadians()));
 
     coralEndEffector.setDefaultCommand(coralEndEffector.stallCoralIfDetected());
 
@@ -192,14 +203,9 @@ public class RobotContainer {
 
     leds.setDefaultCommand(leds.updateLeds());
 
-    // when both are about to collide, move elevator out of the way until the algae pivot is out of
-    // the collision zone
-    // new Trigger(algaePivot::inCollisionZone)
-    //     .and(new Trigger(elevator::inCollisionZone))
-    //     .onTrue(
-    //         elevator
-    //             .goToHeight(() -> ElevatorConstants.kElevatorDangerHeight.plus(Meters.of(0.1)))
-    //             .until(new Trigger(algaePivot::inCollisionZone).negate()));
+    // profiled superstructure motions stay above the elevator's danger height while the algae
+    // pivot is in the way
+    coralSuperstructure.avoidAlgaePivot(algaePivot::inCollisionZone);
 
     configureLeds();
     configManipTriggers();
@@ -410,7 +416,9 @@ public class RobotContainer {
                                     //                     .getTargetAngle()
                                     //                     .isEquivalent(
                                     //                         queuedSetpoint.getArmAngle())),
-                                    ReefAlign.alignToReef(drivetrain, () -> queuedReefPosition))
+                                    reefArrival.trackAlignment(
+                                        ReefAlign.alignToReef(
+                                            drivetrain, () -> queuedReefPosition)))
                                 .onlyWhile(
                                     () ->
                                         ReefAlign.isWithinReefRange(
@@ -427,30 +435,22 @@ public class RobotContainer {
                         .repeatedly())
                 .alongWith(
                     coralSuperstructure
-                        .goToSetpointPID(
-                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                            () -> queuedSetpoint.getArmAngle())
+                        .goToSetpointProfiled(
+                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                            () -> queuedSetpoint.getArmAngleRadians())
                         .until(
                             () ->
                                 ReefAlign.isWithinReefRange(
-                                        drivetrain, ReefAlign.kMechanismDeadbandThreshold)
-                                    && coralSuperstructure.atTargetState(
-                                        CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                                        queuedSetpoint.getArmAngle()))
+                                    drivetrain, ReefAlign.kMechanismDeadbandThreshold))
                         .andThen(
+                            // raise so the superstructure reaches the setpoint as the alignment
+                            // finishes; the planned motion finishes swinging the arm on the way up
                             coralSuperstructure
-                                .goToSetpointProfiled(
-                                    () ->
-                                        Meters.of(
-                                            Math.min(
-                                                queuedSetpoint.getElevatorHeight().in(Meters),
-                                                CoralScorerSetpoint.PREALIGN
-                                                    .getElevatorHeight()
-                                                    .in(Meters))),
-                                    () -> queuedSetpoint.getArmAngle())
-                                .until(drivetrain::atFinalPoseSetpoint)
-                                .andThen(
-                                    coralSuperstructure.goToSetpointProfiled(() -> queuedSetpoint))
+                                .preraise(
+                                    () -> queuedSetpoint,
+                                    () -> reefArrival.getSecondsToReef(queuedReefPosition),
+                                    drivetrain::atFinalPoseSetpoint,
+                                    drivetrain::getLinearSpeedMetersPerSecond)
                                 .onlyWhile(
                                     () ->
                                         ReefAlign.isWithinReefRange(
@@ -478,14 +478,15 @@ public class RobotContainer {
                     // move arm up and go back down (only if we're already at the scoring setpoint
                     // state)
                     coralSuperstructure
-                        .goToSetpointPID(
-                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                            () -> CoralScorerSetpoint.PREALIGN.getArmAngle())
+                        .goToSetpointProfiled(
+                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                            () -> CoralScorerSetpoint.PREALIGN.getArmAngleRadians())
                         .until(
                             () ->
                                 coralSuperstructure
                                         .getElevator()
-                                        .atHeight(CoralScorerSetpoint.NEUTRAL.getElevatorHeight())
+                                        .atHeight(
+                                            CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters())
                                     && !ReefAlign.isWithinReefRange(
                                         drivetrain, ReefAlign.kMechanismDeadbandThreshold))
                     // .onlyIf(
@@ -521,14 +522,15 @@ public class RobotContainer {
                     // move arm up and go back down (only if we're already at the scoring setpoint
                     // state)
                     coralSuperstructure
-                        .goToSetpointPID(
-                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                            () -> CoralScorerSetpoint.PREALIGN.getArmAngle())
+                        .goToSetpointProfiled(
+                            () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                            () -> CoralScorerSetpoint.PREALIGN.getArmAngleRadians())
                         .until(
                             () ->
                                 coralSuperstructure
                                         .getElevator()
-                                        .atHeight(CoralScorerSetpoint.NEUTRAL.getElevatorHeight())
+                                        .atHeight(
+                                            CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters())
                                     && !ReefAlign.isWithinReefRange(
                                         drivetrain,
                                         ReefAlign
@@ -654,4 +656,13 @@ public class RobotContainer {
   public Command getAutonomousCommand() {
     return automaker.getStoredAuto();
   }
+
+  // used by HeadlessAutoRunner to pick autos and follow the robot without a dashboard
+  SwerveDrive getDrivetrain() {
+    return drivetrain;
+  }
+
+  AutomaticAutonomousMaker3000 getAutoMaker() {
+    return automaker;
+  }
 }
@@ -0,0 +1,326 @@
+/* (C) Robolancers 2025 */
+package frc.robot.auto;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import frc.robot.auto.AutomaticAutonomousMaker3000.CycleAutoConfig;
+import frc.robot.auto.AutomaticAutonomousMaker3000.FeedLocation;
+import frc.robot.auto.AutomaticAutonomousMaker3000.Level;
+import frc.robot.auto.AutomaticAutonomousMaker3000.Pole;
+import frc.robot.auto.AutomaticAutonomousMaker3000.ReefSide;
+import frc.robot.auto.AutomaticAutonomousMaker3000.ScoringGroup;
+import frc.robot.auto.AutomaticAutonomousMaker3000.StartingPosition;
+import frc.robot.subsystems.CoralSuperstructure.CoralScorerSetpoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches every cycle auto that can be built from the deployed paths for the ones that score the
+ * most coral in the least time, timing each route with the {@link AutoTimingModel}.
+ *
+ * <p>A route scores the preload from its starting position, then cycles between a feed location
+ * and the reef. Both poles of a reef side are reached with the same paths, so each side is scored
+ * at most twice, right pole first, and every coral is scored on L4. The search is split across
+ * cores with fork/join.
+ */
+@Logged
+public class AutoRouteOptimizer {
+  // routes are forked into parallel tasks until they have this many cycles
+  private static final int kForkDepth = 2;
+
+  private static final ReefSide[] kReefSides =
+      Arrays.stream(ReefSide.values())
+          .filter(side -> side != ReefSide.NOCHOICE)
+          .toArray(ReefSide[]::new);
+  private static final FeedLocation[] kFeedLocations =
+      Arrays.stream(FeedLocation.values())
+          .filter(location -> location != FeedLocation.NOCHOICE)
+          .toArray(FeedLocation[]::new);
+  // the pole scored on each visit to a reef side
+  private static final Pole[] kPoles = {Pole.RIGHTPOLE, Pole.LEFTPOLE};
+
+  // most coral first, then fastest first
+  private static final Comparator<Route> kBestFirst =
+      Comparator.comparingInt(Route::coral).reversed().thenComparingDouble(Route::seconds);
+
+  /** A searched auto, ready to be built like any custom auto */
+  public record RoutePlan(CycleAutoConfig config, int coral, double seconds, String description) {}
+
+  // a route as indices into kReefSides and kFeedLocations; the first feed is unused
+  private record Route(int[] reefs, int[] feeds, int coral, double seconds) {}
+
+  // how long each segment of a route takes, NaN if its path doesn't exist
+  private record SegmentTimes(double[] fromStart, double[][] toFeed, double[][] fromFeed) {}
+
+  @NotLogged private final PathLibrary pathLibrary;
+  @NotLogged private final PathTimeCache pathTimes;
+  @NotLogged private final int maxCycles;
+  @NotLogged private final ForkJoinPool searchPool = new ForkJoinPool();
+
+  // logged through their getters
+  @NotLogged private volatile boolean searching = false;
+  @NotLogged private volatile double searchTimeMillis = 0;
+  @NotLogged private volatile long routesSearched = 0;
+
+  /**
+   * @param maxCycles the most scoring groups a route can have, including the preload
+   */
+  public AutoRouteOptimizer(PathLibrary pathLibrary, PathTimeCache pathTimes, int maxCycles) {
+    this.pathLibrary = pathLibrary;
+    this.pathTimes = pathTimes;
+    this.maxCycles = maxCycles;
+  }
+
+  /**
+   * Searches every route from a starting position in the background
+   *
+   * @param maxPlans how many of the best routes to return
+   * @return a future with the best routes, best first, that completes off the robot thread
+   */
+  public CompletableFuture<List<RoutePlan>> optimize(StartingPosition start, int maxPlans) {
+    searching = true;
+    return CompletableFuture.supplyAsync(
+            () -> {
+              pathLibrary.awaitLoaded();
+              final long searchStart = System.nanoTime();
+
+              final TopRoutes best =
+                  new SearchTask(
+                          segmentTimes(start),
+                          maxPlans,
+                          new int[maxCycles],
+                          new int[maxCycles],
+                          new int[kReefSides.length],
+                          0,
+                          0)
+                      .invoke();
+
+              searchTimeMillis = (System.nanoTime() - searchStart) / 1e6;
+              routesSearched = best.searched;
+              return best.sorted().stream().map(route -> toPlan(start, route)).toList();
+            },
+            searchPool)
+        .whenComplete((plans, error) -> searching = false);
+  }
+
+  // times every segment a route from this start can use, generating each trajectory at most once
+  private SegmentTimes segmentTimes(StartingPosition start) {
+    final double[] fromStart = new double[kReefSides.length];
+    final double[][] toFeed = new double[kReefSides.length][kFeedLocations.length];
+    final double[][] fromFeed = new double[kFeedLocations.length][kReefSides.length];
+
+    for (int reef = 0; reef < kReefSides.length; reef++) {
+      final String reefID = kReefSides[reef].getPathID();
+      fromStart[reef] = scoreSeconds(start.getPathID() + " to " + reefID);
+      for (int feed = 0; feed < kFeedLocations.length; feed++) {
+        final String feedID = kFeedLocations[feed].getPathID();
+        final String intakePath = reefID + " to " + feedID;
+        toFeed[reef][feed] =
+            AutoTimingModel.intake(
+                    intakePath, pathTimes.getSeconds(intakePath, false), CoralScorerSetpoint.L4)
+                .totalSeconds();
+        fromFeed[feed][reef] = scoreSeconds(feedID + " to " + reefID);
+      }
+    }
+
+    return new SegmentTimes(fromStart, toFeed, fromFeed);
+  }
+
+  // score paths are followed with a stopped end state, see AutomaticAutonomousMaker3000
+  private double scoreSeconds(String path) {
+    return AutoTimingModel.score(path, pathTimes.getSeconds(path, true), CoralScorerSetpoint.L4)
+        .totalSeconds();
+  }
+
+  private RoutePlan toPlan(StartingPosition start, Route route) {
+    final List<ScoringGroup> groups = new ArrayList<>();
+    final int[] visits = new int[kReefSides.length];
+    final StringBuilder description = new StringBuilder();
+    description.append(String.format("%d coral, %.1f s: ", route.coral(), route.seconds()));
+    description.append(start.getPathID());
+
+    for (int i = 0; i < route.coral(); i++) {
+      final int reef = route.reefs()[i];
+      final FeedLocation feed = i == 0 ? FeedLocation.NOCHOICE : kFeedLocations[route.feeds()[i]];
+      final Pole pole = kPoles[visits[reef]++];
+      groups.add(new ScoringGroup(feed, kReefSides[reef], pole, Level.L4));
+
+      if (i != 0) description.append(" > ").append(feed.getPathID());
+      description
+          .append(" > ")
+          .append(kReefSides[reef].getPathID())
+          .append(pole == Pole.LEFTPOLE ? " L" : " R");
+    }
+
+    return new RoutePlan(
+        new CycleAutoConfig(start, groups), route.coral(), route.seconds(), description.toString());
+  }
+
+  public boolean isSearching() {
+    return searching;
+  }
+
+  public double getSearchTimeMillis() {
+    return searchTimeMillis;
+  }
+
+  public long getRoutesSearched() {
+    return routesSearched;
+  }
+
+  // the best routes found so far, kept in a heap with the worst route on top
+  private static final class TopRoutes {
+    private final int maxRoutes;
+    private final PriorityQueue<Route> routes;
+    private long searched = 0;
+
+    TopRoutes(int maxRoutes) {
+      this.maxRoutes = maxRoutes;
+      this.routes = new PriorityQueue<>(maxRoutes + 1, kBestFirst.reversed());
+    }
+
+    boolean isBetter(int coral, double seconds) {
+      if (routes.size() < maxRoutes) return true;
+      final Route worst = routes.peek();
+      return coral > worst.coral() || (coral == worst.coral() && seconds < worst.seconds());
+    }
+
+    void add(Route route) {
+      routes.add(route);
+      if (routes.size() > maxRoutes) routes.poll();
+    }
+
+    void addAll(TopRoutes other) {
+      searched += other.searched;
+      for (Route route : other.routes) add(route);
+    }
+
+    List<Route> sorted() {
+      return routes.stream().sorted(kBestFirst).toList();
+    }
+  }
+
+  /**
+   * Extends a route by every cycle that still finishes within the auto. Routes that can't be
+   * extended any further are complete and compete for the top routes.
+   */
+  private final class SearchTask extends RecursiveTask<TopRoutes> {
+    private final SegmentTimes times;
+    private final int maxPlans;
+    private final int[] reefs;
+    private final int[] feeds;
+    // how many times each reef side has been scored on
+    private final int[] visits;
+    private final int cycles;
+    private final double seconds;
+
+    SearchTask(
+        SegmentTimes times,
+        int maxPlans,
+        int[] reefs,
+        int[] feeds,
+        int[] visits,
+        int cycles,
+        double seconds) {
+      this.times = times;
+      this.maxPlans = maxPlans;
+      this.reefs = reefs;
+      this.feeds = feeds;
+      this.visits = visits;
+      this.cycles = cycles;
+      this.seconds = seconds;
+    }
+
+    @Override
+    protected TopRoutes compute() {
+      final TopRoutes best = new TopRoutes(maxPlans);
+      if (cycles >= kForkDepth) {
+        search(best, cycles, seconds);
+        return best;
+      }
+
+      final List<SearchTask> children = new ArrayList<>();
+      // the preload is scored straight from the starting position, without feeding
+      final int feedOptions = cycles == 0 ? 1 : kFeedLocations.length;
+      for (int feed = 0; feed < feedOptions; feed++) {
+        for (int reef = 0; reef < kReefSides.length; reef++) {
+          final double cycleSeconds = cycleSeconds(cycles, feed, reef);
+          if (!fits(cycles, reef, seconds + cycleSeconds)) continue;
+
+          final int[] childReefs = reefs.clone();
+          final int[] childFeeds = feeds.clone();
+          final int[] childVisits = visits.clone();
+          childReefs[cycles] = reef;
+          childFeeds[cycles] = feed;
+          childVisits[reef]++;
+          children.add(
+              new SearchTask(
+                  times,
+                  maxPlans,
+                  childReefs,
+                  childFeeds,
+                  childVisits,
+                  cycles + 1,
+                  seconds + cycleSeconds));
+        }
+      }
+
+      if (children.isEmpty()) {
+        complete(best, cycles, seconds);
+        return best;
+      }
+      for (SearchTask child : invokeAll(children)) best.addAll(child.join());
+      return best;
+    }
+
+    // depth first on this thread, undoing each cycle after its subtree is searched
+    private void search(TopRoutes best, int cycles, double seconds) {
+      boolean extended = false;
+      for (int feed = 0; feed < kFeedLocations.length; feed++) {
+        for (int reef = 0; reef < kReefSides.length; reef++) {
+          final double cycleSeconds = cycleSeconds(cycles, feed, reef);
+          if (!fits(cycles, reef, seconds + cycleSeconds)) continue;
+
+          extended = true;
+          reefs[cycles] = reef;
+          feeds[cycles] = feed;
+          visits[reef]++;
+          search(best, cycles + 1, seconds + cycleSeconds);
+          visits[reef]--;
+        }
+      }
+      if (!extended) complete(best, cycles, seconds);
+    }
+
+    private void complete(TopRoutes best, int cycles, double seconds) {
+      // a route that can't even score its preload isn't an auto
+      if (cycles == 0) return;
+      best.searched++;
+      if (best.isBetter(cycles, seconds)) {
+        best.add(
+            new Route(
+                Arrays.copyOf(reefs, cycles), Arrays.copyOf(feeds, cycles), cycles, seconds));
+      }
+    }
+
+    // the time to drive to the next reef side and score there, NaN if a path doesn't exist
+    private double cycleSeconds(int cycles, int feed, int reef) {
+      if (cycles == 0) return times.fromStart()[reef];
+      return times.toFeed()[reefs[cycles - 1]][feed] + times.fromFeed()[feed][reef];
+    }
+
+    // whether another cycle to this reef side is legal and finishes within the auto
+    private boolean fits(int cycles, int reef, double totalSeconds) {
+      // NaN never fits, so routes through missing paths are skipped
+      return cycles < maxCycles
+          && visits[reef] < kPoles.length
+          && totalSeconds <= AutoTimingModel.kAutoLengthSeconds;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/* (C) Robolancers 2025 */
+package frc.robot.auto;
+
+import frc.robot.subsystems.CoralSuperstructure;
+import frc.robot.subsystems.CoralSuperstructure.CoralScorerSetpoint;
+import frc.robot.util.TunableConstant;
+import java.util.List;
+
+/**
+ * Predicts how long each segment of a cycle auto takes: the path's trajectory time, the
+ * superstructure travel the path doesn't hide, and the alignment and outtake time of the scoring
+ * and intaking sequences in {@link AutomaticAutonomousMaker3000}.
+ */
+public final class AutoTimingModel {
+  public static final double kAutoLengthSeconds = 15;
+
+  // timeouts used by the scoring sequence
+  public static final double kReefAlignTimeoutSeconds = 2.5;
+  public static final double kOuttakeDelaySeconds = 0.5;
+  public static final double kOuttakeTimeoutSeconds = 0.5;
+
+  // estimates of the parts that end on a sensor instead of a timeout, tunable on the dashboard
+  // so they can be set from match logs; the feed default is the headless runner's intake time
+  private static final TunableConstant kReefAlignSeconds =
+      new TunableConstant("/AutoTiming/ReefAlignSeconds", 0.75);
+  private static final TunableConstant kStationAlignSeconds =
+      new TunableConstant("/AutoTiming/StationAlignSeconds", 0.5);
+  private static final TunableConstant kFeedSeconds =
+      new TunableConstant("/AutoTiming/FeedSeconds", 0.25);
+
+  // the superstructure is in this state at the start of an auto and after each intake
+  private static final double kStowedHeightMeters =
+      CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters();
+  private static final double kStowedAngleRadians =
+      CoralScorerSetpoint.PREALIGN.getArmAngleRadians();
+
+  private AutoTimingModel() {}
+
+  /** The predicted time of one path and what the robot does at the end of it, in seconds */
+  public record SegmentTiming(
+      String name,
+      double pathSeconds,
+      double alignSeconds,
+      double superstructureSeconds,
+      double fixedSeconds) {
+    public double totalSeconds() {
+      return pathSeconds + alignSeconds + superstructureSeconds + fixedSeconds;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s: %.2f s (path %.2f, align %.2f, superstructure %.2f, fixed %.2f)",
+          name, totalSeconds(), pathSeconds, alignSeconds, superstructureSeconds, fixedSeconds);
+    }
+  }
+
+  /** The predicted time of a whole auto */
+  public record AutoTiming(List<SegmentTiming> segments) {
+    public static final AutoTiming kEmpty = new AutoTiming(List.of());
+
+    public double totalSeconds() {
+      double total = 0;
+      for (SegmentTiming segment : segments) total += segment.totalSeconds();
+      return total;
+    }
+
+    public boolean fitsInAuto() {
+      return totalSeconds() <= kAutoLengthSeconds;
+    }
+  }
+
+  /**
+   * Times a path that ends at the reef and scores there. The superstructure goes to its prealign
+   * state while the path is followed and preraises to the setpoint so it finishes as the robot
+   * aligns, so only the travel the path and alignment can't hide adds time before outtaking.
+   *
+   * @param pathSeconds the time to follow the path, NaN if it doesn't exist
+   */
+  public static SegmentTiming score(String name, double pathSeconds, CoralScorerSetpoint setpoint) {
+    final double prealignSeconds =
+        CoralSuperstructure.getTravelSeconds(
+            kStowedHeightMeters,
+            kStowedAngleRadians,
+            CoralSuperstructure.getPrealignHeightMeters(setpoint),
+            setpoint.getArmAngleRadians());
+    final double raiseSeconds = CoralSuperstructure.getRaiseSeconds(setpoint);
+
+    final double alignSeconds = Math.min(kReefAlignSeconds.get(), kReefAlignTimeoutSeconds);
+    return new SegmentTiming(
+        name,
+        pathSeconds,
+        alignSeconds,
+        Math.max(0, prealignSeconds + raiseSeconds - pathSeconds - alignSeconds),
+        kOuttakeDelaySeconds + kOuttakeTimeoutSeconds);
+  }
+
+  /**
+   * Times a path that leaves the reef for a feed location and intakes there. The superstructure
+   * stows while the path is followed and the robot aligns to the station, then feeds.
+   *
+   * @param pathSeconds the time to follow the path, NaN if it doesn't exist
+   * @param from the setpoint that was just scored on
+   */
+  public static SegmentTiming intake(String name, double pathSeconds, CoralScorerSetpoint from) {
+    final double stowSeconds =
+        CoralSuperstructure.getTravelSeconds(
+            from.getElevatorHeightMeters(),
+            from.getArmAngleRadians(),
+            kStowedHeightMeters,
+            kStowedAngleRadians);
+    final double stationAlignSeconds = kStationAlignSeconds.get();
+    final double driveSeconds = pathSeconds + stationAlignSeconds;
+    return new SegmentTiming(
+        name,
+        pathSeconds,
+        stationAlignSeconds,
+        Math.max(0, stowSeconds - driveSeconds),
+        kFeedSeconds.get());
+  }
+
+  /** Times a path that is followed on its own, without scoring or intaking */
+  public static SegmentTiming path(String name, double pathSeconds) {
+    return new SegmentTiming(name, pathSeconds, 0, 0, 0);
+  }
+}
@@ -1,45 +1,75 @@
 /* (C) Robolancers 2025 */
 package frc.robot.auto;
 
-import static edu.wpi.first.units.Units.Meters;
-import static edu.wpi.first.units.Units.MetersPerSecond;
-
 import com.pathplanner.lib.auto.AutoBuilder;
-import com.pathplanner.lib.path.GoalEndState;
 import com.pathplanner.lib.path.PathPlannerPath;
 import com.pathplanner.lib.util.FileVersionException;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.LinearVelocity;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.auto.AutoRouteOptimizer.RoutePlan;
+import frc.robot.auto.AutoTimingModel.AutoTiming;
+import frc.robot.auto.AutoTimingModel.SegmentTiming;
+import frc.robot.auto.PathLibrary.AlliancePaths;
+import frc.robot.commands.ArrivalEstimator;
 import frc.robot.commands.ReefAlign;
 import frc.robot.commands.StationAlign;
 import frc.robot.subsystems.CoralSuperstructure;
 import frc.robot.subsystems.CoralSuperstructure.CoralScorerSetpoint;
 import frc.robot.subsystems.drivetrain.SwerveDrive;
 import frc.robot.util.ReefPosition;
+import frc.robot.util.VirtualSubsystem;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.json.simple.parser.ParseException;
 
 @Logged
-public class AutomaticAutonomousMaker3000 {
-
-  private static final LinearVelocity kScorePathEndVelocity = MetersPerSecond.of(0);
+public class AutomaticAutonomousMaker3000 extends VirtualSubsystem {
+  private static final String kStaleKey = "Autos/Stale";
+  private static final String kTimingKey = "Autos/Timing/";
+  private static final String kOptimizerKey = "Autos/Optimizer/";
+  private static final int kScoringGroups = 5;
+  private static final int kOptimizedPlans = 5;
 
-  private CycleAutoChooser autoChooser = new CycleAutoChooser(5);
+  private CycleAutoChooser autoChooser = new CycleAutoChooser(kScoringGroups);
 
   private Field2d field = new Field2d();
   private String pathError = "";
   private List<Pose2d> visualizePath = new ArrayList<>();
   private SendableChooser<PreBuiltAuto> preBuiltAuto = new SendableChooser<>();
 
+  // every path is loaded in the background at boot, so building an auto doesn't touch disk
+  private final PathLibrary pathLibrary = new PathLibrary();
+
+  // times paths by their trajectories, for the dashboard and the route optimizer
+  @NotLogged private final PathTimeCache pathTimes = new PathTimeCache(pathLibrary);
+  // tells the superstructure when the robot will reach the reef, so it can preraise
+  @NotLogged private final ArrivalEstimator arrival = new ArrivalEstimator();
+
+  private final AutoRouteOptimizer routeOptimizer =
+      new AutoRouteOptimizer(pathLibrary, pathTimes, kScoringGroups);
+  // the best routes from the last search, best first
+  @NotLogged private List<RoutePlan> optimizedPlans = List.of();
+  // an optimized route loaded into the custom auto, until a custom auto chooser changes
+  @NotLogged private RoutePlan loadedPlan;
+  @NotLogged private SendableChooser<Integer> optimizedPlan = new SendableChooser<>();
+
   private static CycleAutoConfig kTopLaneAuto =
       new CycleAutoConfig(
           StartingPosition.TOP,
@@ -98,11 +128,49 @@ public class AutomaticAutonomousMaker3000 {
               new ScoringGroup(
                   FeedLocation.DOWNCORALLEFT, ReefSide.REEFL3, Pole.LEFTPOLE, Level.L4)));
 
+  // every prebuilt auto with a fixed config, compiled in the background at boot
+  private static final Map<PreBuiltAuto, CycleAutoConfig> kPreBuiltConfigs =
+      Map.ofEntries(
+          Map.entry(PreBuiltAuto.TOPAUTO, kTopLaneAuto),
+          Map.entry(PreBuiltAuto.MIDTOPAUTO, kMidLaneTopAuto),
+          Map.entry(PreBuiltAuto.MIDBOTAUTO, kMidLaneBotAuto),
+          Map.entry(PreBuiltAuto.BOTAUTO, kBotLaneAuto),
+          Map.entry(PreBuiltAuto.MIDPRELOADAUTO, kMidLaneBotPreloadAuto),
+          Map.entry(PreBuiltAuto.MIDOPPOSITESIDEAUTO, kMidLaneOppositeSideAuto));
+
   private SwerveDrive drive;
   private CoralSuperstructure coralSuperstructure;
 
   private Command storedAuto;
 
+  // the predicted timing of the stored auto
+  private double predictedAutoSeconds = 0;
+  private double[] predictedSegmentSeconds = new double[0];
+  private String[] predictedSegments = new String[0];
+
+  // plans autos off the robot thread, since looking up paths is the slow part of building one
+  @NotLogged
+  private final ExecutorService compiler =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "AutoCompiler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // commands are composed on the robot thread, since the command scheduler isn't thread safe
+  @NotLogged private final Queue<Runnable> robotThreadWork = new ConcurrentLinkedQueue<>();
+
+  @NotLogged
+  private final Map<PreBuiltAuto, PathsAndAuto> compiledAutos = new EnumMap<>(PreBuiltAuto.class);
+
+  @NotLogged private CompletableFuture<PathsAndAuto> pendingBuild;
+
+  // bumped whenever an auto chooser changes, to tell when the stored auto is stale
+  @NotLogged private int selectionVersion = 0;
+  @NotLogged private int storedSelectionVersion = -1;
+  @NotLogged private boolean publishedStale = true;
+
   public AutomaticAutonomousMaker3000(SwerveDrive drive, CoralSuperstructure coralSuperstructure) {
     this.drive = drive;
     this.coralSuperstructure = coralSuperstructure;
@@ -121,41 +189,199 @@ public class AutomaticAutonomousMaker3000 {
     SmartDashboard.putData("Autos/AutoVisualizerField", field);
     // SmartDashboard.putData("Autos/TotalTime", totalTime);
 
+    preBuiltAuto.onChange(auto -> selectionVersion++);
+    autoChooser.onChange(
+        () -> {
+          selectionVersion++;
+          loadPlan(null);
+        });
+    SmartDashboard.putBoolean(kStaleKey, publishedStale);
+    publishTiming(AutoTiming.kEmpty);
+
+    // searches the fastest routes from the selected starting position; picking one of them loads it
+    // into the custom auto
+    optimizedPlan.setDefaultOption("None", -1);
+    for (int i = 0; i < kOptimizedPlans; i++) optimizedPlan.addOption("Plan " + (i + 1), i);
+    optimizedPlan.onChange(this::loadOptimizedPlan);
+    SmartDashboard.putData(kOptimizerKey + "Plan", optimizedPlan);
+    SmartDashboard.putData(
+        kOptimizerKey + "Optimize",
+        Commands.runOnce(this::optimizeRoutes).ignoringDisable(true).withName("Optimize Routes"));
+    SmartDashboard.putStringArray(kOptimizerKey + "Plans", new String[0]);
+    SmartDashboard.putString(kOptimizerKey + "Loaded", "");
+
     // Driver has to click submit to make and view the autonomous path
     SmartDashboard.putData(
         "Autos/Submit",
-        Commands.runOnce(
-                () -> {
-
-                  // Pre made autos first and then the custom autos
-                  PathsAndAuto selectedAuto =
-                      switch (preBuiltAuto.getSelected()) {
-                        case TAXI ->
-                            runPath(autoChooser.build().startingPosition.pathID + " to Brake");
-                        case TOPAUTO -> buildAuto(kTopLaneAuto);
-                        case MIDTOPAUTO -> buildAuto(kMidLaneTopAuto);
-                        case MIDBOTAUTO -> buildAuto(kMidLaneBotAuto);
-                        case BOTAUTO -> buildAuto(kBotLaneAuto);
-                        case MIDPRELOADAUTO -> buildAuto(kMidLaneBotPreloadAuto); // test auto again
-                        case MIDOPPOSITESIDEAUTO ->
-                            buildAuto(kMidLaneOppositeSideAuto); // test auto x2
-                        case CUSTOM -> buildAuto(autoChooser.build());
-                        default -> new PathsAndAuto(Commands.none(), new ArrayList<>());
-                      };
-
-                  if (selectedAuto != null) {
-                    storedAuto = selectedAuto.getAuto();
-                    visualizeAuto(selectedAuto.getPaths());
-                  }
-                  // Clears the simulated field path
-                  else {
-                    visualizePath.clear();
-                    UpdateFieldVisualization();
-                  }
-                  UpdatePathError();
-                })
-            .ignoringDisable(true)
-            .withName("Submit Auto"));
+        Commands.runOnce(this::submitSelectedAuto).ignoringDisable(true).withName("Submit Auto"));
+
+    // compile every prebuilt auto in the background so submitting one is instant
+    kPreBuiltConfigs.forEach(
+        (auto, config) ->
+            compileAuto(config)
+                .thenAccept(
+                    compiled -> {
+                      if (compiled != null) compiledAutos.put(auto, compiled);
+                    }));
+  }
+
+  @Override
+  public void periodic() {
+    // compose at most one auto per loop, and only while disabled so it never costs an enabled loop
+    if (DriverStation.isDisabled()) {
+      final Runnable work = robotThreadWork.poll();
+      if (work != null) work.run();
+    }
+
+    final boolean stale = isStale();
+    if (stale != publishedStale) {
+      SmartDashboard.putBoolean(kStaleKey, stale);
+      publishedStale = stale;
+    }
+  }
+
+  private void optimizeRoutes() {
+    if (routeOptimizer.isSearching()) return;
+
+    routeOptimizer
+        .optimize(autoChooser.build().startingPosition, kOptimizedPlans)
+        .thenAcceptAsync(
+            plans -> {
+              optimizedPlans = plans;
+              SmartDashboard.putStringArray(
+                  kOptimizerKey + "Plans",
+                  plans.stream().map(RoutePlan::description).toArray(String[]::new));
+            },
+            robotThreadWork::add);
+  }
+
+  private void loadOptimizedPlan(int rank) {
+    if (rank < 0 || rank >= optimizedPlans.size()) return;
+    loadPlan(optimizedPlans.get(rank));
+    selectionVersion++;
+  }
+
+  private void loadPlan(RoutePlan plan) {
+    if (plan == loadedPlan) return;
+    loadedPlan = plan;
+    SmartDashboard.putString(kOptimizerKey + "Loaded", plan == null ? "" : plan.description());
+  }
+
+  // the loaded optimized route, or the auto picked on the custom auto choosers
+  private CycleAutoConfig getCustomConfig() {
+    return loadedPlan != null ? loadedPlan.config() : autoChooser.build();
+  }
+
+  // stores the selected auto, straight from the cache if it was compiled already
+  private void submitSelectedAuto() {
+    final PreBuiltAuto selected = preBuiltAuto.getSelected();
+    final int version = selectionVersion;
+
+    final PathsAndAuto compiled = compiledAutos.get(selected);
+    final CycleAutoConfig config =
+        selected == PreBuiltAuto.CUSTOM ? getCustomConfig() : kPreBuiltConfigs.get(selected);
+    // an error left by the last selection would otherwise outlive it
+    pathError = "";
+    if (compiled != null || config == null) {
+      pendingBuild = null;
+      storeAuto(compiled != null ? compiled : buildPreBuiltAuto(selected), version);
+      return;
+    }
+
+    final CompletableFuture<PathsAndAuto> build = compileAuto(config);
+    pendingBuild = build;
+    build.thenAccept(
+        auto -> {
+          // a newer submit replaced this build
+          if (pendingBuild != build) return;
+          pendingBuild = null;
+          storeAuto(auto, version);
+        });
+  }
+
+  private void storeAuto(PathsAndAuto selectedAuto, int selectionVersion) {
+    if (selectedAuto != null) {
+      storedAuto = selectedAuto.getAuto();
+      visualizeAuto(selectedAuto.getPoses());
+      publishTiming(selectedAuto.getTiming());
+    }
+    // Clears the simulated field path
+    else {
+      visualizePath.clear();
+      UpdateFieldVisualization();
+      publishTiming(AutoTiming.kEmpty);
+    }
+    storedSelectionVersion = selectionVersion;
+    UpdatePathError();
+  }
+
+  private void publishTiming(AutoTiming timing) {
+    final List<SegmentTiming> segments = timing.segments();
+    predictedAutoSeconds = timing.totalSeconds();
+    predictedSegmentSeconds = segments.stream().mapToDouble(SegmentTiming::totalSeconds).toArray();
+    predictedSegments = segments.stream().map(SegmentTiming::toString).toArray(String[]::new);
+
+    SmartDashboard.putNumber(kTimingKey + "Total Seconds", predictedAutoSeconds);
+    SmartDashboard.putNumberArray(kTimingKey + "Segment Seconds", predictedSegmentSeconds);
+    SmartDashboard.putStringArray(kTimingKey + "Segments", predictedSegments);
+    SmartDashboard.putBoolean(kTimingKey + "Fits In Auto", timing.fitsInAuto());
+    if (!timing.fitsInAuto()) {
+      pathError =
+          String.format(
+              "Predicted %.1f s, over the %.0f s auto",
+              predictedAutoSeconds, AutoTimingModel.kAutoLengthSeconds);
+    }
+  }
+
+  /**
+   * @return whether the dashboard selection changed since the stored auto was submitted, or the
+   *     submitted auto is still compiling
+   */
+  public boolean isStale() {
+    return pendingBuild != null || storedSelectionVersion != selectionVersion;
+  }
+
+  public int getCompiledAutos() {
+    return compiledAutos.size();
+  }
+
+  // Pre made autos first and then the custom autos
+  private PathsAndAuto buildPreBuiltAuto(PreBuiltAuto auto) {
+    if (kPreBuiltConfigs.containsKey(auto)) return buildAuto(kPreBuiltConfigs.get(auto));
+    return switch (auto) {
+      case TAXI -> runPath(autoChooser.build().startingPosition.pathID + " to Brake");
+      case CUSTOM -> buildAuto(getCustomConfig());
+      default -> new PathsAndAuto(Commands.none(), new ArrayList<>());
+    };
+  }
+
+  /**
+   * Builds and stores a prebuilt auto as if it was picked on the dashboard and submitted
+   *
+   * @param name the name of the {@link PreBuiltAuto}, e.g. "TOPAUTO"
+   * @return whether the auto exists and was built
+   */
+  public boolean selectAuto(String name) {
+    final PreBuiltAuto auto;
+    try {
+      auto = PreBuiltAuto.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+
+    final PathsAndAuto compiled = compiledAutos.get(auto);
+    final PathsAndAuto selectedAuto = compiled != null ? compiled : buildPreBuiltAuto(auto);
+    if (selectedAuto == null) return false;
+    storedAuto = selectedAuto.getAuto();
+    return true;
+  }
+
+  /**
+   * @return the names of every prebuilt auto that can be passed to {@link #selectAuto(String)}
+   */
+  @NotLogged
+  public static List<String> getAutoNames() {
+    return Arrays.stream(PreBuiltAuto.values()).map(PreBuiltAuto::name).toList();
   }
 
   private void UpdateFieldVisualization() {
@@ -172,22 +398,23 @@ public class AutomaticAutonomousMaker3000 {
 
   private PathsAndAuto runPath(String pathName) {
     try {
-      PathPlannerPath path = getPath(pathName);
+      AlliancePaths path = pathLibrary.get(pathName);
 
       if (path == null) return null;
-      return new PathsAndAuto(toPathCommand(path, true), List.of(path));
+      return new PathsAndAuto(
+          toPathCommand(path, true),
+          List.of(path.blue()),
+          new AutoTiming(
+              List.of(AutoTimingModel.path(pathName, pathTimes.getSeconds(pathName, false)))));
     } catch (FileVersionException | IOException | ParseException e) {
       e.printStackTrace();
       return null;
     }
   }
 
-  private void visualizeAuto(List<PathPlannerPath> paths) {
+  private void visualizeAuto(List<Pose2d> poses) {
     visualizePath.clear();
-
-    for (int i = 0; i < paths.size(); i++) {
-      visualizePath.addAll(paths.get(i).getPathPoses());
-    }
+    visualizePath.addAll(poses);
 
     UpdateFieldVisualization();
   }
@@ -196,105 +423,142 @@ public class AutomaticAutonomousMaker3000 {
   public PathsAndAuto buildAuto(CycleAutoConfig config) {
     pathError = "";
     try {
-      Command auto =
-          coralSuperstructure
-              .getElevator()
-              .homeEncoder()
-              .onlyIf(() -> !coralSuperstructure.getElevator().elevatorIsHomed())
-              .withTimeout(2);
-
-      List<PathPlannerPath> paths = new ArrayList<>();
-
-      ReefSide lastReefSide = config.scoringGroup.get(0).reefSide;
-
-      for (int i = 0; i < config.scoringGroup.size(); i++) {
-
-        if ((i != 0 && config.scoringGroup.get(i).feedLocation == FeedLocation.NOCHOICE)
-            || config.scoringGroup.get(i).reefSide == ReefSide.NOCHOICE) break;
-        if (i == 0) {
-          // first value; score preload and ignore the alt destination instructions
-          PathPlannerPath path =
-              getPath(
-                  config.startingPosition.pathID
-                      + " to "
-                      + config.scoringGroup.get(i).reefSide.pathID);
-
-          PathPlannerPath pathNewGoalEndState =
-              new PathPlannerPath(
-                  path.getWaypoints(),
-                  path.getRotationTargets(),
-                  path.getPointTowardsZones(),
-                  path.getConstraintZones(),
-                  path.getEventMarkers(),
-                  path.getGlobalConstraints(),
-                  path.getIdealStartingState(),
-                  new GoalEndState(kScorePathEndVelocity, path.getGoalEndState().rotation()),
-                  path.isReversed());
-
-          auto =
-              auto.andThen(
-                  withScoring(
-                      toPathCommand(pathNewGoalEndState, true),
-                      config.scoringGroup.get(i).pole,
-                      config.scoringGroup.get(i).level));
-          paths.add(path);
-        } else {
-
-          PathPlannerPath intakePath =
-              getPath(
-                  lastReefSide.pathID + " to " + config.scoringGroup.get(i).feedLocation.pathID);
-
-          PathPlannerPath scorePath =
-              getPath(
-                  config.scoringGroup.get(i).feedLocation.pathID
-                      + " to "
-                      + config.scoringGroup.get(i).reefSide.pathID);
-
-          PathPlannerPath scorePathNewGoalEndState =
-              new PathPlannerPath(
-                  scorePath.getWaypoints(),
-                  scorePath.getRotationTargets(),
-                  scorePath.getPointTowardsZones(),
-                  scorePath.getConstraintZones(),
-                  scorePath.getEventMarkers(),
-                  scorePath.getGlobalConstraints(),
-                  scorePath.getIdealStartingState(),
-                  new GoalEndState(kScorePathEndVelocity, scorePath.getGoalEndState().rotation()),
-                  scorePath.isReversed());
-
-          auto =
-              auto.andThen(
-                      withIntaking(
-                          toPathCommand(intakePath), config.scoringGroup.get(i).feedLocation))
-                  .andThen(
-                      withScoring(
-                          toPathCommand(scorePathNewGoalEndState),
-                          config.scoringGroup.get(i).pole,
-                          config.scoringGroup.get(i).level));
-          lastReefSide = config.scoringGroup.get(i).reefSide;
-
-          paths.add(intakePath);
-          paths.add(scorePath);
-        }
-      }
-
-      auto =
-          auto.andThen(
-              drive
-                  .driveFieldCentric(() -> 0, () -> 0, () -> 0)
-                  .alongWith(
-                      coralSuperstructure.goToSetpointPID(
-                          () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                          () -> CoralScorerSetpoint.PREALIGN.getArmAngle()),
-                      coralSuperstructure.stopIntake()));
-
-      return new PathsAndAuto(auto, paths);
+      return composeAuto(planAuto(config));
     } catch (Exception e) {
       pathError = "Path doesn't exist";
       return null;
     }
   }
 
+  /**
+   * Compiles an auto without stalling the robot thread. Its paths are looked up in the background,
+   * and its command is composed on the robot thread while disabled
+   *
+   * @return a future that completes on the robot thread with the auto, or null if a path is missing
+   */
+  public CompletableFuture<PathsAndAuto> compileAuto(CycleAutoConfig config) {
+    return CompletableFuture.supplyAsync(
+            () -> {
+              pathLibrary.awaitLoaded();
+              try {
+                return planAuto(config);
+              } catch (FileVersionException | IOException | ParseException e) {
+                throw new CompletionException(e);
+              }
+            },
+            compiler)
+        .handleAsync(
+            (plan, error) -> {
+              try {
+                if (error != null) throw error;
+                return composeAuto(plan);
+              } catch (Throwable e) {
+                pathError = "Path doesn't exist";
+                return null;
+              }
+            },
+            robotThreadWork::add);
+  }
+
+  // looks up every path of an auto, which is safe to do off the robot thread
+  private AutoPlan planAuto(CycleAutoConfig config)
+      throws FileVersionException, IOException, ParseException {
+    List<PlannedCycle> cycles = new ArrayList<>();
+    List<PathPlannerPath> paths = new ArrayList<>();
+    List<SegmentTiming> timing = new ArrayList<>();
+    CoralScorerSetpoint lastSetpoint = CoralScorerSetpoint.NEUTRAL;
+
+    ReefSide lastReefSide = config.scoringGroup.get(0).reefSide;
+
+    for (int i = 0; i < config.scoringGroup.size(); i++) {
+      ScoringGroup group = config.scoringGroup.get(i);
+
+      if ((i != 0 && group.feedLocation == FeedLocation.NOCHOICE)
+          || group.reefSide == ReefSide.NOCHOICE) break;
+      if (i == 0) {
+        // first value; score preload and ignore the alt destination instructions
+        String pathName = config.startingPosition.pathID + " to " + group.reefSide.pathID;
+
+        cycles.add(new PlannedCycle(null, pathLibrary.getStopped(pathName), group));
+        paths.add(pathLibrary.get(pathName).blue());
+        timing.add(
+            AutoTimingModel.score(
+                pathName, pathTimes.getSeconds(pathName, true), toSetpoint(group.level)));
+      } else {
+        String intakePathName = lastReefSide.pathID + " to " + group.feedLocation.pathID;
+        AlliancePaths intakePath = pathLibrary.get(intakePathName);
+        String scorePathName = group.feedLocation.pathID + " to " + group.reefSide.pathID;
+
+        cycles.add(new PlannedCycle(intakePath, pathLibrary.getStopped(scorePathName), group));
+        lastReefSide = group.reefSide;
+
+        paths.add(intakePath.blue());
+        paths.add(pathLibrary.get(scorePathName).blue());
+        timing.add(
+            AutoTimingModel.intake(
+                intakePathName, pathTimes.getSeconds(intakePathName, false), lastSetpoint));
+        timing.add(
+            AutoTimingModel.score(
+                scorePathName, pathTimes.getSeconds(scorePathName, true), toSetpoint(group.level)));
+      }
+      lastSetpoint = toSetpoint(group.level);
+    }
+
+    return new AutoPlan(cycles, paths, toPoses(paths), new AutoTiming(timing));
+  }
+
+  // builds the command for a planned auto; commands must only be created on the robot thread
+  private PathsAndAuto composeAuto(AutoPlan plan) {
+    Command auto =
+        coralSuperstructure
+            .getElevator()
+            .homeEncoder()
+            .onlyIf(() -> !coralSuperstructure.getElevator().elevatorIsHomed())
+            .withTimeout(2);
+
+    for (int i = 0; i < plan.cycles().size(); i++) {
+      PlannedCycle cycle = plan.cycles().get(i);
+
+      if (cycle.intakePath() == null) {
+        auto =
+            auto.andThen(
+                withScoring(
+                    toPathCommand(cycle.scorePath(), true),
+                    cycle.group().pole,
+                    cycle.group().level));
+      } else {
+        auto =
+            auto.andThen(
+                    withIntaking(toPathCommand(cycle.intakePath()), cycle.group().feedLocation))
+                .andThen(
+                    withScoring(
+                        toPathCommand(cycle.scorePath()),
+                        cycle.group().pole,
+                        cycle.group().level));
+      }
+    }
+
+    auto =
+        auto.andThen(
+            drive
+                .driveFieldCentric(() -> 0, () -> 0, () -> 0)
+                .alongWith(
+                    coralSuperstructure.goToSetpointProfiled(
+                        () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                        () -> CoralScorerSetpoint.PREALIGN.getArmAngleRadians()),
+                    coralSuperstructure.stopIntake()));
+
+    return new PathsAndAuto(auto, plan.paths(), plan.poses(), plan.timing());
+  }
+
+  private static List<Pose2d> toPoses(List<PathPlannerPath> paths) {
+    List<Pose2d> poses = new ArrayList<>();
+    for (int i = 0; i < paths.size(); i++) {
+      poses.addAll(paths.get(i).getPathPoses());
+    }
+    return poses;
+  }
+
   public Command withIntaking(Command path, FeedLocation location) {
     Command pathCmd =
         switch (location) {
@@ -307,83 +571,90 @@ public class AutomaticAutonomousMaker3000 {
     return path.andThen(pathCmd)
         .withDeadline(
             coralSuperstructure
-                .goToSetpointPID(
-                    () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                    () -> CoralScorerSetpoint.PREALIGN.getArmAngle())
+                .goToSetpointProfiled(
+                    () -> CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                    () -> CoralScorerSetpoint.PREALIGN.getArmAngleRadians())
                 .alongWith(coralSuperstructure.stopIntake())
                 .until(
                     () ->
                         coralSuperstructure.atTargetState(
-                            CoralScorerSetpoint.NEUTRAL.getElevatorHeight(),
-                            CoralScorerSetpoint.PREALIGN.getArmAngle()))
+                            CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters(),
+                            CoralScorerSetpoint.PREALIGN.getArmAngleRadians()))
                 .andThen(
                     coralSuperstructure.feedCoral().until(() -> coralSuperstructure.hasCoral())));
   }
 
+  private static CoralScorerSetpoint toSetpoint(Level level) {
+    return switch (level) {
+      default -> CoralScorerSetpoint.L1;
+      case L1 -> CoralScorerSetpoint.L1;
+      case L2 -> CoralScorerSetpoint.L2;
+      case L3 -> CoralScorerSetpoint.L3;
+      case L4 -> CoralScorerSetpoint.L4;
+    };
+  }
+
   public Command withScoring(Command path, Pole pole, Level level) {
-    CoralScorerSetpoint setpoint =
-        switch (level) {
-          default -> CoralScorerSetpoint.L1;
-          case L1 -> CoralScorerSetpoint.L1;
-          case L2 -> CoralScorerSetpoint.L2;
-          case L3 -> CoralScorerSetpoint.L3;
-          case L4 -> CoralScorerSetpoint.L4;
-        };
+    CoralScorerSetpoint setpoint = toSetpoint(level);
 
-    Distance preAlignElevatorHeight =
-        Meters.of(
-            Math.min(
-                CoralScorerSetpoint.PREALIGN.getElevatorHeight().in(Meters),
-                setpoint.getElevatorHeight().in(Meters)));
+    ReefPosition reefPosition = pole == Pole.LEFTPOLE ? ReefPosition.LEFT : ReefPosition.RIGHT;
 
-    return path.deadlineFor(
+    // the final raise starts during the path or alignment so that it finishes on arrival, instead
+    // of after it
+    return path.andThen(
+            arrival
+                .trackAlignment(ReefAlign.alignToReef(drive, () -> reefPosition))
+                .until(() -> drive.atPoseSetpoint())
+                .withTimeout(AutoTimingModel.kReefAlignTimeoutSeconds))
+        .deadlineFor(
             coralSuperstructure
-                .goToSetpointProfiled(() -> preAlignElevatorHeight, () -> setpoint.getArmAngle())
+                .preraise(
+                    () -> setpoint,
+                    () -> arrival.getSecondsToReef(reefPosition),
+                    drive::atFinalPoseSetpoint,
+                    drive::getLinearSpeedMetersPerSecond)
                 .alongWith(coralSuperstructure.getEndEffector().stallCoralIfDetected()))
         .andThen(
-            ReefAlign.alignToReef(
-                    drive, () -> pole == Pole.LEFTPOLE ? ReefPosition.LEFT : ReefPosition.RIGHT)
-                .alongWith(
-                    coralSuperstructure.goToSetpointPID(
-                        () -> preAlignElevatorHeight, () -> setpoint.getArmAngle()),
-                    coralSuperstructure.getEndEffector().stallCoralIfDetected())
-                .until(() -> drive.atPoseSetpoint())
-                .withTimeout(2.5)
-                .andThen(
-                    coralSuperstructure
-                        .goToSetpointProfiled(() -> setpoint)
-                        .alongWith(coralSuperstructure.getEndEffector().stallCoralIfDetected())
-                        .until(() -> coralSuperstructure.atTargetState(setpoint))))
+            coralSuperstructure
+                .goToSetpointProfiled(() -> setpoint)
+                .alongWith(coralSuperstructure.getEndEffector().stallCoralIfDetected())
+                .until(() -> coralSuperstructure.atTargetState(setpoint)))
         .andThen(
-            ReefAlign.alignToReef(
-                    drive, () -> pole == Pole.LEFTPOLE ? ReefPosition.LEFT : ReefPosition.RIGHT)
+            ReefAlign.alignToReef(drive, () -> reefPosition)
                 .alongWith(coralSuperstructure.goToSetpointProfiled(() -> setpoint))
                 .withDeadline(
-                    Commands.waitSeconds(0.5)
+                    Commands.waitSeconds(AutoTimingModel.kOuttakeDelaySeconds)
                         .andThen(
                             coralSuperstructure
                                 .outtakeCoral()
                                 // .until(() -> !coralSuperstructure.hasCoral())
-                                .withTimeout(0.5))));
+                                .withTimeout(AutoTimingModel.kOuttakeTimeoutSeconds))));
   }
 
-  private Command toPathCommand(PathPlannerPath path, boolean zero) {
-    if (path == null) return Commands.none();
+  private Command toPathCommand(AlliancePaths paths, boolean zero) {
+    if (paths == null) return Commands.none();
+    PathPlannerPath path = paths.blue();
     Pose2d startingPose =
         new Pose2d(path.getPoint(0).position, path.getIdealStartingState().rotation());
-    return zero
-        ? AutoBuilder.resetOdom(startingPose).andThen(AutoBuilder.followPath(path))
-        : AutoBuilder.followPath(path);
+    // the red path is already flipped, so the alliance is only checked when the path starts
+    Command followPath =
+        arrival.trackPath(
+            Commands.either(
+                AutoBuilder.followPath(paths.red()),
+                AutoBuilder.followPath(path),
+                AutoBuilder::shouldFlip),
+            pathTimes.getSeconds(path),
+            () -> getEndPose(paths.forAlliance(AutoBuilder.shouldFlip())));
+    return zero ? AutoBuilder.resetOdom(startingPose).andThen(followPath) : followPath;
   }
 
-  private Command toPathCommand(PathPlannerPath path) {
-    return toPathCommand(path, false);
+  private Command toPathCommand(AlliancePaths paths) {
+    return toPathCommand(paths, false);
   }
 
-  private PathPlannerPath getPath(String pathName)
-      throws FileVersionException, IOException, ParseException {
-    // Load the path you want to follow using its name in the GUI
-    return PathPlannerPath.fromPathFile(pathName);
+  private static Pose2d getEndPose(PathPlannerPath path) {
+    return new Pose2d(
+        path.getPoint(path.numPoints() - 1).position, path.getGoalEndState().rotation());
   }
 
   enum StartingPosition {
@@ -396,6 +667,10 @@ public class AutomaticAutonomousMaker3000 {
     StartingPosition(String pathID) {
       this.pathID = pathID;
     }
+
+    String getPathID() {
+      return pathID;
+    }
   }
 
   enum ReefSide {
@@ -412,6 +687,10 @@ public class AutomaticAutonomousMaker3000 {
     ReefSide(String pathID) {
       this.pathID = pathID;
     }
+
+    String getPathID() {
+      return pathID;
+    }
   }
 
   enum Level {
@@ -442,6 +721,10 @@ public class AutomaticAutonomousMaker3000 {
     FeedLocation(String pathID) {
       this.pathID = pathID;
     }
+
+    String getPathID() {
+      return pathID;
+    }
   }
 
   enum CoralSide {
@@ -507,6 +790,14 @@ public class AutomaticAutonomousMaker3000 {
       SmartDashboard.putData("Autos/FeedLocation" + index, feedLocation);
     }
 
+    // runs the listener whenever any of this group's choosers changes
+    public void onChange(Runnable listener) {
+      reefSide.onChange(value -> listener.run());
+      level.onChange(value -> listener.run());
+      pole.onChange(value -> listener.run());
+      feedLocation.onChange(value -> listener.run());
+    }
+
     public ScoringGroup build() {
       return new ScoringGroup(
           feedLocation.getSelected(),
@@ -555,19 +846,48 @@ public class AutomaticAutonomousMaker3000 {
       for (int i = 0; i < chooserSize; i++) sgChoosers.add(new ScoringGroupChooser(i));
     }
 
+    // runs the listener whenever any of the choosers changes
+    public void onChange(Runnable listener) {
+      startingPosition.onChange(value -> listener.run());
+      for (ScoringGroupChooser chooser : sgChoosers) chooser.onChange(listener);
+    }
+
     public CycleAutoConfig build() {
       return new CycleAutoConfig(
           startingPosition.getSelected(), sgChoosers.stream().map(a -> a.build()).toList());
     }
   }
 
+  // the paths an auto follows, looked up before its command is composed
+  private record PlannedCycle(
+      AlliancePaths intakePath, AlliancePaths scorePath, ScoringGroup group) {}
+
+  private record AutoPlan(
+      List<PlannedCycle> cycles,
+      List<PathPlannerPath> paths,
+      List<Pose2d> poses,
+      AutoTiming timing) {}
+
   public class PathsAndAuto {
     Command auto;
     List<PathPlannerPath> paths;
+    List<Pose2d> poses;
+    AutoTiming timing;
 
     public PathsAndAuto(Command auto, List<PathPlannerPath> paths) {
+      this(auto, paths, AutoTiming.kEmpty);
+    }
+
+    public PathsAndAuto(Command auto, List<PathPlannerPath> paths, AutoTiming timing) {
+      this(auto, paths, toPoses(paths), timing);
+    }
+
+    public PathsAndAuto(
+        Command auto, List<PathPlannerPath> paths, List<Pose2d> poses, AutoTiming timing) {
       this.auto = auto;
       this.paths = paths;
+      this.poses = poses;
+      this.timing = timing;
     }
 
     public Command getAuto() {
@@ -577,5 +897,13 @@ public class AutomaticAutonomousMaker3000 {
     public List<PathPlannerPath> getPaths() {
       return paths;
     }
+
+    public List<Pose2d> getPoses() {
+      return poses;
+    }
+
+    public AutoTiming getTiming() {
+      return timing;
+    }
   }
 }
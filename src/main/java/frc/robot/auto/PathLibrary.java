@@ -0,0 +1,205 @@
+/* (C) Robolancers 2025 */
+package frc.robot.auto;
+
+import static edu.wpi.first.units.Units.MetersPerSecond;
+
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.path.GoalEndState;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.util.FileVersionException;
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.units.measure.LinearVelocity;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Loads every PathPlanner path once, on a background thread, so building an auto never has to read
+ * or parse path files. Each path is kept as authored, flipped to the red side of the field and
+ * with a stopped goal end state, and the ideal trajectory of each is generated up front, so none of
+ * that is recomputed on Submit or at follow time.
+ *
+ * <p>Paths asked for before loading finishes, or that failed to load, are read from disk and count
+ * as misses.
+ */
+@Logged
+public class PathLibrary {
+  private static final String kPathExtension = ".path";
+  private static final LinearVelocity kStoppedEndVelocity = MetersPerSecond.of(0);
+
+  /**
+   * A path and the same path flipped to the red side of the field. The flipped path is marked so
+   * PathPlanner doesn't flip it again when it is followed.
+   */
+  public record AlliancePaths(PathPlannerPath blue, PathPlannerPath red) {
+    public PathPlannerPath forAlliance(boolean isRed) {
+      return isRed ? red : blue;
+    }
+  }
+
+  @NotLogged private final Map<String, AlliancePaths> paths = new ConcurrentHashMap<>();
+  @NotLogged private final Map<String, AlliancePaths> stoppedPaths = new ConcurrentHashMap<>();
+
+  @NotLogged private final CompletableFuture<Void> loading;
+  // used to generate ideal trajectories while loading; null if the GUI settings can't be read
+  @NotLogged private volatile RobotConfig robotConfig;
+  // logged through their getters
+  @NotLogged private volatile double loadTimeMillis = 0;
+  // paths are looked up from both the robot thread and the auto compiler
+  @NotLogged private final AtomicInteger hits = new AtomicInteger();
+  @NotLogged private final AtomicInteger misses = new AtomicInteger();
+
+  public PathLibrary() {
+    loading = CompletableFuture.runAsync(this::loadAll);
+  }
+
+  private void loadAll() {
+    final long start = System.nanoTime();
+
+    try {
+      robotConfig = RobotConfig.fromGUISettings();
+    } catch (IOException | ParseException e) {
+      DriverStation.reportWarning(
+          "Failed to load the PathPlanner robot config, trajectories will be generated when paths"
+              + " are followed",
+          false);
+    }
+
+    final File[] files =
+        new File(Filesystem.getDeployDirectory(), "pathplanner/paths")
+            .listFiles((dir, name) -> name.endsWith(kPathExtension));
+    if (files == null) return;
+
+    // one at a time, since reading a path updates PathPlanner's static path cache and telemetry,
+    // which aren't thread safe
+    for (File file : files) {
+      final String fileName = file.getName();
+      final String name = fileName.substring(0, fileName.length() - kPathExtension.length());
+      try {
+        load(name);
+      } catch (FileVersionException | IOException | ParseException e) {
+        DriverStation.reportWarning(
+            "Failed to preload path " + name + ": " + e.getMessage(), false);
+      }
+    }
+
+    loadTimeMillis = (System.nanoTime() - start) / 1e6;
+  }
+
+  // reads a path from disk and caches it with all of its variants; a miss on the robot thread waits
+  // for the loader, since reading paths isn't thread safe
+  private synchronized AlliancePaths load(String name)
+      throws FileVersionException, IOException, ParseException {
+    final PathPlannerPath path = PathPlannerPath.fromPathFile(name);
+    final PathPlannerPath stoppedPath = withStoppedEndState(path);
+    // flipping a path also flips its trajectory, so only the blue paths need to be generated
+    final RobotConfig config = robotConfig;
+    if (config != null) {
+      path.getIdealTrajectory(config);
+      stoppedPath.getIdealTrajectory(config);
+    }
+
+    final AlliancePaths loaded = new AlliancePaths(path, flip(path));
+    paths.put(name, loaded);
+    stoppedPaths.put(name, new AlliancePaths(stoppedPath, flip(stoppedPath)));
+    return loaded;
+  }
+
+  private static PathPlannerPath flip(PathPlannerPath path) {
+    final PathPlannerPath flipped = path.flipPath();
+    flipped.preventFlipping = true;
+    return flipped;
+  }
+
+  // the same path, but coming to a stop at its end instead of keeping its end velocity
+  private static PathPlannerPath withStoppedEndState(PathPlannerPath path) {
+    return new PathPlannerPath(
+        path.getWaypoints(),
+        path.getRotationTargets(),
+        path.getPointTowardsZones(),
+        path.getConstraintZones(),
+        path.getEventMarkers(),
+        path.getGlobalConstraints(),
+        path.getIdealStartingState(),
+        new GoalEndState(kStoppedEndVelocity, path.getGoalEndState().rotation()),
+        path.isReversed());
+  }
+
+  /**
+   * @param name the name of the path in the PathPlanner GUI
+   * @return the path as it was authored
+   */
+  public AlliancePaths get(String name) throws FileVersionException, IOException, ParseException {
+    final AlliancePaths cached = paths.get(name);
+    if (cached != null) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+    return load(name);
+  }
+
+  /**
+   * @param name the name of the path in the PathPlanner GUI
+   * @return the path with its goal end velocity set to zero, for paths that end at a scoring
+   *     location
+   */
+  public AlliancePaths getStopped(String name)
+      throws FileVersionException, IOException, ParseException {
+    final AlliancePaths cached = stoppedPaths.get(name);
+    if (cached != null) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+    load(name);
+    return stoppedPaths.get(name);
+  }
+
+  /** Blocks until every path has been loaded. Never call this from the robot thread */
+  public void awaitLoaded() {
+    loading.exceptionally(e -> null).join();
+  }
+
+  /**
+   * @return the robot config used to generate trajectories, or null if it couldn't be loaded or
+   *     loading hasn't finished
+   */
+  @NotLogged
+  public RobotConfig getRobotConfig() {
+    return robotConfig;
+  }
+
+  public boolean isLoaded() {
+    return loading.isDone();
+  }
+
+  public int getLoadedPaths() {
+    return paths.size();
+  }
+
+  public double getLoadTimeMillis() {
+    return loadTimeMillis;
+  }
+
+  public int getHits() {
+    return hits.get();
+  }
+
+  public int getMisses() {
+    return misses.get();
+  }
+
+  public double getHitRate() {
+    final int hitCount = hits.get();
+    final int lookups = hitCount + misses.get();
+    return lookups == 0 ? 1 : (double) hitCount / lookups;
+  }
+}
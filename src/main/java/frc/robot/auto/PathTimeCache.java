@@ -0,0 +1,69 @@
+/* (C) Robolancers 2025 */
+package frc.robot.auto;
+
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectory;
+import com.pathplanner.lib.util.FileVersionException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Caches how long each path takes to follow, from the total time of its ideal trajectory. Each
+ * trajectory is generated at most once, and paths that don't exist are cached as missing.
+ */
+public class PathTimeCache {
+  private final PathLibrary pathLibrary;
+
+  private final Map<String, Double> seconds = new ConcurrentHashMap<>();
+  private final Map<String, Double> stoppedSeconds = new ConcurrentHashMap<>();
+
+  public PathTimeCache(PathLibrary pathLibrary) {
+    this.pathLibrary = pathLibrary;
+  }
+
+  /**
+   * @param name the name of the path in the PathPlanner GUI
+   * @param stopped whether to time the path with a stopped goal end state, see {@link
+   *     PathLibrary#getStopped(String)}
+   * @return the time to follow the path in seconds, or NaN if it doesn't exist or its trajectory
+   *     can't be generated
+   */
+  public double getSeconds(String name, boolean stopped) {
+    final RobotConfig config = pathLibrary.getRobotConfig();
+    // not cached, since the config may still be loading
+    if (config == null) return Double.NaN;
+
+    return (stopped ? stoppedSeconds : seconds)
+        .computeIfAbsent(name, pathName -> timePath(pathName, stopped, config));
+  }
+
+  /**
+   * Times a path that was already loaded. Its trajectory is cached on the path, so this is cheap
+   * after the first call
+   *
+   * @return the time to follow the path in seconds, or NaN if its trajectory can't be generated
+   */
+  public double getSeconds(PathPlannerPath path) {
+    final RobotConfig config = pathLibrary.getRobotConfig();
+    if (config == null) return Double.NaN;
+    return timePath(path, config);
+  }
+
+  private double timePath(String name, boolean stopped, RobotConfig config) {
+    try {
+      return timePath(
+          (stopped ? pathLibrary.getStopped(name) : pathLibrary.get(name)).blue(), config);
+    } catch (FileVersionException | IOException | ParseException e) {
+      return Double.NaN;
+    }
+  }
+
+  private static double timePath(PathPlannerPath path, RobotConfig config) {
+    return path.getIdealTrajectory(config)
+        .map(PathPlannerTrajectory::getTotalTimeSeconds)
+        .orElse(Double.NaN);
+  }
+}
@@ -0,0 +1,116 @@
+/* (C) Robolancers 2025 */
+package frc.robot.commands;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.ProfiledPIDController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.subsystems.drivetrain.DrivetrainConstants;
+import frc.robot.subsystems.drivetrain.SwerveDrive;
+import frc.robot.util.ReefPosition;
+import java.util.function.Supplier;
+
+/**
+ * Estimates how long until the robot arrives at its reef scoring pose. While a path is followed,
+ * this is the time left on the path's trajectory plus the time to align from the end of the path.
+ * While aligning, it is the time left on the alignment profiles.
+ *
+ * <p>Only paths and alignments wrapped with {@link #trackPath(Command, double, Supplier)} and
+ * {@link #trackAlignment(Command)} are seen; the arrival is unknown the rest of the time.
+ */
+public class ArrivalEstimator {
+  // reused every loop, since the estimate is read every loop while scoring
+  private final TrapezoidProfile translationProfile =
+      new TrapezoidProfile(DrivetrainConstants.kTranslationConstraints);
+  private final TrapezoidProfile headingProfile =
+      new TrapezoidProfile(DrivetrainConstants.kHeadingConstraints);
+  private final State start = new State();
+  private final State goal = new State();
+
+  // NaN while no tracked path is being followed
+  private double pathEndTimestamp = Double.NaN;
+  private Pose2d pathEndPose;
+  private boolean isAligning = false;
+
+  /**
+   * @param followPath the command that follows the path
+   * @param pathSeconds the total time of the path's trajectory
+   * @param endPose the pose the path ends at, read when the path starts
+   * @return the command, tracking when it will finish while it runs
+   */
+  public Command trackPath(Command followPath, double pathSeconds, Supplier<Pose2d> endPose) {
+    return followPath
+        .beforeStarting(
+            () -> {
+              pathEndTimestamp = Timer.getFPGATimestamp() + pathSeconds;
+              pathEndPose = endPose.get();
+            })
+        .finallyDo(() -> pathEndTimestamp = Double.NaN);
+  }
+
+  /**
+   * @param align a command that aligns the drivetrain with {@link
+   *     SwerveDrive#driveToFieldPose(Supplier)}
+   * @return the command, tracking its alignment profiles while it runs
+   */
+  public Command trackAlignment(Command align) {
+    return align.beforeStarting(() -> isAligning = true).finallyDo(() -> isAligning = false);
+  }
+
+  /**
+   * @param reefPosition the pole the robot will align to after the path it is following
+   * @return the estimated seconds until the robot arrives at its scoring pose, or NaN if unknown
+   */
+  public double getSecondsToReef(ReefPosition reefPosition) {
+    if (isAligning) {
+      return Math.max(
+          Math.max(
+              remainingSeconds(translationProfile, SwerveDrive.xPoseController, false),
+              remainingSeconds(translationProfile, SwerveDrive.yPoseController, false)),
+          remainingSeconds(headingProfile, SwerveDrive.thetaController, true));
+    }
+
+    if (Double.isNaN(pathEndTimestamp) || pathEndPose == null) return Double.NaN;
+    final Pose2d target = ReefAlign.getReefAlignPose(pathEndPose, reefPosition);
+    if (target == null) return Double.NaN;
+
+    // scoring paths come to a stop, so alignment starts from rest at the end of the path
+    final double headingError = target.getRotation().minus(pathEndPose.getRotation()).getRadians();
+    final double alignSeconds =
+        Math.max(
+            Math.max(
+                restToRestSeconds(translationProfile, target.getX() - pathEndPose.getX()),
+                restToRestSeconds(translationProfile, target.getY() - pathEndPose.getY())),
+            restToRestSeconds(headingProfile, headingError));
+    return Math.max(0, pathEndTimestamp - Timer.getFPGATimestamp()) + alignSeconds;
+  }
+
+  // the time left on a pose controller's profile, from its current setpoint to its goal
+  private double remainingSeconds(
+      TrapezoidProfile profile, ProfiledPIDController controller, boolean isHeading) {
+    final State setpoint = controller.getSetpoint();
+    final State controllerGoal = controller.getGoal();
+    start.position = 0;
+    start.velocity = setpoint.velocity;
+    goal.position = controllerGoal.position - setpoint.position;
+    // the heading controller takes the shortest way around
+    if (isHeading) goal.position = MathUtil.angleModulus(goal.position);
+    goal.velocity = controllerGoal.velocity;
+
+    profile.calculate(0, start, goal);
+    return profile.totalTime();
+  }
+
+  private double restToRestSeconds(TrapezoidProfile profile, double distance) {
+    start.position = 0;
+    start.velocity = 0;
+    goal.position = distance;
+    goal.velocity = 0;
+
+    profile.calculate(0, start, goal);
+    return profile.totalTime();
+  }
+}
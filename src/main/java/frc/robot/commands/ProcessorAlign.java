@@ -6,56 +6,40 @@ import static edu.wpi.first.units.Units.Meter;
 import static edu.wpi.first.units.Units.Meters;
 
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj2.command.Command;
-import frc.robot.RobotConstants;
 import frc.robot.subsystems.drivetrain.SwerveDrive;
 import frc.robot.subsystems.drivetrain.SwerveDrive.AlignmentSetpoint;
+import frc.robot.util.FieldGeometry;
+import frc.robot.util.FieldGeometry.AlignmentPoses;
 import frc.robot.util.MyAlliance;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.DoubleSupplier;
 
 public class ProcessorAlign {
 
-  public static final Map<Integer, Pose2d> processorPoses = new HashMap<>();
-
   private static final Distance kProcessorDistance = Inches.of(20);
   private static final Rotation2d kProcessorAlignmentRotation = Rotation2d.kCCW_90deg;
 
   private static final Transform2d kProcessorAlignTransform =
       new Transform2d(kProcessorDistance, Meter.zero(), kProcessorAlignmentRotation);
 
-  private static final int kBlueProcessorTagID = 16;
-  private static final int kRedProcessorTagID = 3;
+  // processor tag ID to alignment pose for both alliances
+  private static final AlignmentPoses processorPoses =
+      FieldGeometry.createAlignmentPoses(
+          kProcessorAlignTransform,
+          new int[] {FieldGeometry.kBlueProcessorTagID, FieldGeometry.kRedProcessorTagID});
 
   // TODO: use units
   public static final Pose2d kBlueProcessorPose = new Pose2d(5.983, 0.395, Rotation2d.kZero);
   public static final Pose2d kRedProcessorPose = new Pose2d(11.437, 7.675, Rotation2d.kZero);
 
-  private static final Pose2d kBlueProcessorTag =
-      RobotConstants.kAprilTagFieldLayout.getTagPose(kBlueProcessorTagID).get().toPose2d();
-  private static final Pose2d kRedProcessorTag =
-      RobotConstants.kAprilTagFieldLayout.getTagPose(kRedProcessorTagID).get().toPose2d();
-
   public static final Distance kAlignmentDeadbandRange = Meters.of(0.75);
 
-  /**
-   * This method is run when DriverStation connects to save computations mid-match, only the
-   * processor poses are loaded
-   */
-  public static void loadProcessorAlignmentPoses() {
-    processorPoses.computeIfAbsent(kBlueProcessorTagID, ProcessorAlign::getNearestAlign);
-    processorPoses.computeIfAbsent(kRedProcessorTagID, ProcessorAlign::getNearestAlign);
-  }
-
   /**
    * Finds the pose of the nearest processor tag
    *
@@ -63,15 +47,7 @@ public class ProcessorAlign {
    * @return null if robot alliance is unknown, otherwise a valid processor tag pose
    */
   public static Pose2d getNearestProcessorPose(Pose2d robotPose) {
-    // `Optional` means the Alliance may not exist yet, which must be handled to proceed
-    Optional<Alliance> alliance = DriverStation.getAlliance();
-
-    if (alliance.isEmpty()) return null;
-
-    List<Pose2d> processorTag =
-        List.of(alliance.get().equals(Alliance.Red) ? kRedProcessorTag : kBlueProcessorTag);
-
-    return robotPose.nearest(processorTag);
+    return FieldGeometry.getTagPose(getNearestProcessorID(robotPose));
   }
 
   /**
@@ -81,36 +57,12 @@ public class ProcessorAlign {
    * @return -1 if robot alliance is unknown, otherwise a valid processor tag ID
    */
   public static int getNearestProcessorID(Pose2d robotPose) {
-    Pose2d nearest = getNearestProcessorPose(robotPose);
-
-    // handle the null that getNearestProcessorPose() may return when robot alliance is unknown
-    if (nearest == null) return -1;
-
-    return RobotConstants.kAprilTagFieldLayout.getTags().stream()
-        .filter(tag -> tag.pose.toPose2d().equals(nearest))
-        .toList()
-        .get(0)
-        .ID;
-  }
-
-  /**
-   * Intended for aligning to the processor
-   *
-   * @param processorTagID a valid processor tag ID
-   * @return null if no processor tag of the ID specified is found, otherwise a valid robot pose
-   *     aligned with the center of the nearest processor tag
-   */
-  private static Pose2d getNearestAlign(int processorTagID) {
-    // `Optional` here means there may not be a tag with the specified ID, again must be handled
-    Optional<Pose3d> tagPose = RobotConstants.kAprilTagFieldLayout.getTagPose(processorTagID);
-
-    if (tagPose.isEmpty()) return null;
-
-    Pose2d aprilTagPose = tagPose.get().toPose2d();
+    // `Optional` means the Alliance may not exist yet, which must be handled to proceed
+    Optional<Alliance> alliance = DriverStation.getAlliance();
 
-    Pose2d resultPose = aprilTagPose.plus(kProcessorAlignTransform);
+    if (alliance.isEmpty()) return -1;
 
-    return resultPose;
+    return FieldGeometry.getProcessorID(alliance.get() == Alliance.Red);
   }
 
   /** Drives to align against the center of the nearest processor, no manual driving */
@@ -7,7 +7,6 @@ import static edu.wpi.first.units.Units.Meter;
 import static edu.wpi.first.units.Units.Meters;
 
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.math.geometry.Pose3d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
@@ -16,31 +15,19 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
-import frc.robot.RobotConstants;
 import frc.robot.subsystems.drivetrain.SwerveDrive;
 import frc.robot.subsystems.drivetrain.SwerveDrive.AlignmentSetpoint;
 import frc.robot.subsystems.leds.Leds;
-import frc.robot.util.AprilTagUtil;
+import frc.robot.util.FieldGeometry;
+import frc.robot.util.FieldGeometry.AlignmentPoses;
 import frc.robot.util.MyAlliance;
 import frc.robot.util.ReefPosition;
 import frc.robot.util.TunableConstant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 public class ReefAlign {
-  /*
-    Maps reef AprilTag ("tag") ID to left, center, and right alignment poses,
-    loads only the tags on alliance reef as determined at robot initialization
-  */
-  public static final Map<Integer, Pose2d> leftAlignPoses = new HashMap<>();
-  public static final Map<Integer, Pose2d> centerAlignPoses = new HashMap<>();
-  public static final Map<Integer, Pose2d> rightAlignPoses = new HashMap<>();
-
   private static final Distance kLeftAlignDistance = Inches.of(-8.85); // -9.1
   private static final Distance kReefDistance = Inches.of(17.5);
   private static final Distance kRightAlignDistance = Inches.of(3.6); // 5.4
@@ -54,11 +41,19 @@ public class ReefAlign {
   private static final Transform2d kRightAlignTransform =
       new Transform2d(kReefDistance, kRightAlignDistance, kReefAlignmentRotation);
 
-  private static final List<Integer> kBlueReefTagIDs = List.of(17, 18, 19, 20, 21, 22);
-  private static final List<Integer> kRedReefTagIDs = List.of(6, 7, 8, 9, 10, 11);
-
-  private static final List<Pose2d> blueReefTags = AprilTagUtil.tagIDsToPoses(kBlueReefTagIDs);
-  private static final List<Pose2d> redReefTags = AprilTagUtil.tagIDsToPoses(kRedReefTagIDs);
+  /*
+    Maps reef AprilTag ("tag") ID to left, center, and right alignment poses for the reefs of
+    both alliances, precomputed once when this class loads
+  */
+  public static final AlignmentPoses leftAlignPoses =
+      FieldGeometry.createAlignmentPoses(
+          kLeftAlignTransform, FieldGeometry.kBlueReefTagIDs, FieldGeometry.kRedReefTagIDs);
+  public static final AlignmentPoses centerAlignPoses =
+      FieldGeometry.createAlignmentPoses(
+          kCenterAlignTransform, FieldGeometry.kBlueReefTagIDs, FieldGeometry.kRedReefTagIDs);
+  public static final AlignmentPoses rightAlignPoses =
+      FieldGeometry.createAlignmentPoses(
+          kRightAlignTransform, FieldGeometry.kBlueReefTagIDs, FieldGeometry.kRedReefTagIDs);
 
   // TODO: use units
   public static final Pose2d kRedCenterAlignPos = new Pose2d(13, 4, Rotation2d.kZero);
@@ -69,25 +64,6 @@ public class ReefAlign {
   public static final Distance kMaxAlignmentDeadbandThreshold =
       Meters.of(5); // distance to trigger alignment
 
-  /**
-   * This method is run when DriverStation connects to save computations mid-match, only the poses
-   * on the alliance reef are loaded
-   */
-  public static void loadReefAlignmentPoses() {
-    for (int i = 0; i < kBlueReefTagIDs.size(); i++) {
-      int blueTagID = kBlueReefTagIDs.get(i);
-      int redTagID = kRedReefTagIDs.get(i);
-
-      leftAlignPoses.computeIfAbsent(blueTagID, ReefAlign::getNearestLeftAlign);
-      centerAlignPoses.computeIfAbsent(blueTagID, ReefAlign::getNearestCenterAlign);
-      rightAlignPoses.computeIfAbsent(blueTagID, ReefAlign::getNearestRightAlign);
-
-      leftAlignPoses.computeIfAbsent(redTagID, ReefAlign::getNearestLeftAlign);
-      centerAlignPoses.computeIfAbsent(redTagID, ReefAlign::getNearestCenterAlign);
-      rightAlignPoses.computeIfAbsent(redTagID, ReefAlign::getNearestRightAlign);
-    }
-  }
-
   /**
    * Finds the pose of the nearest reef tag on the alliance reef
    *
@@ -95,15 +71,7 @@ public class ReefAlign {
    * @return null if robot alliance is unknown, otherwise a valid reef tag pose
    */
   public static Pose2d getNearestReefPose(Pose2d robotPose) {
-    // `Optional` means the Alliance may not exist yet, which must be handled to proceed
-    final Optional<Alliance> alliance = DriverStation.getAlliance();
-
-    if (alliance.isEmpty()) return null;
-
-    final List<Pose2d> tagsToCheck =
-        alliance.get().equals(Alliance.Red) ? redReefTags : blueReefTags;
-
-    return robotPose.nearest(tagsToCheck);
+    return FieldGeometry.getTagPose(getNearestReefID(robotPose));
   }
 
   public static Pose2d getNearestReefPoseFullField(Pose2d robotPose) {
@@ -112,11 +80,8 @@ public class ReefAlign {
 
     if (alliance.isEmpty()) return null;
 
-    final List<Pose2d> tagsToCheck = new ArrayList<>();
-    tagsToCheck.addAll(redReefTags);
-    tagsToCheck.addAll(blueReefTags);
-
-    return robotPose.nearest(tagsToCheck);
+    return FieldGeometry.getTagPose(
+        FieldGeometry.getNearestReefIDFullField(robotPose.getX(), robotPose.getY()));
   }
 
   /**
@@ -126,74 +91,26 @@ public class ReefAlign {
    * @return -1 if robot alliance is unknown, otherwise a valid reef tag ID
    */
   public static int getNearestReefID(Pose2d robotPose) {
-    Pose2d nearest = getNearestReefPose(robotPose);
-
-    // handle the null that getNearestReefPose() may return when robot alliance is unknown
-    if (nearest == null) return -1;
-
-    return RobotConstants.kAprilTagFieldLayout.getTags().stream()
-        .filter(tag -> tag.pose.toPose2d().equals(nearest))
-        .toList()
-        .get(0)
-        .ID;
-  }
-
-  /**
-   * Intended for aligning to the reef for removing algae
-   *
-   * @param reefTagID a valid reef tag ID
-   * @return null if no reef tag of the ID specified is found, otherwise a valid robot pose aligned
-   *     with the center of the nearest reef tag
-   */
-  private static Pose2d getNearestCenterAlign(int reefTagID) {
-    // `Optional` here means there may not be a tag with the specified ID, again must be handled
-    Optional<Pose3d> tagPose = RobotConstants.kAprilTagFieldLayout.getTagPose(reefTagID);
-
-    if (tagPose.isEmpty()) return null;
-
-    Pose2d aprilTagPose = tagPose.get().toPose2d();
-
-    Pose2d resultPose = aprilTagPose.plus(kCenterAlignTransform);
-
-    return resultPose;
-  }
-
-  /**
-   * Intended for aligning to the left side reef bars for scoring coral
-   *
-   * @param reefTagID a valid reef tag ID
-   * @return null if no reef tag of the ID specified is found, otherwise a valid robot pose aligned
-   *     with the center of the nearest reef tag
-   */
-  private static Pose2d getNearestLeftAlign(int reefTagID) {
-    Optional<Pose3d> tagPose = RobotConstants.kAprilTagFieldLayout.getTagPose(reefTagID);
-
-    if (tagPose.isEmpty()) return null;
-
-    Pose2d aprilTagPose = tagPose.get().toPose2d();
+    // `Optional` means the Alliance may not exist yet, which must be handled to proceed
+    final Optional<Alliance> alliance = DriverStation.getAlliance();
 
-    Pose2d resultPose = aprilTagPose.plus(kLeftAlignTransform);
+    if (alliance.isEmpty()) return -1;
 
-    return resultPose;
+    return FieldGeometry.getNearestReefID(
+        robotPose.getX(), robotPose.getY(), alliance.get() == Alliance.Red);
   }
 
   /**
-   * Intended for aligning to the right side reef bars for scoring coral
-   *
-   * @param reefTagID a valid reef tag ID
-   * @return null if no reef tag of the ID specified is found, otherwise a valid robot pose aligned
-   *     with the center of the nearest reef tag
+   * @param robotPose the pose of the robot to find the nearest reef for
+   * @return the pose {@link #alignToReef(SwerveDrive, Supplier)} aligns to from this robot pose
    */
-  private static Pose2d getNearestRightAlign(int reefTagID) {
-    Optional<Pose3d> tagPose = RobotConstants.kAprilTagFieldLayout.getTagPose(reefTagID);
-
-    if (tagPose.isEmpty()) return null;
-
-    Pose2d aprilTagPose = tagPose.get().toPose2d();
-
-    Pose2d resultPose = aprilTagPose.plus(kRightAlignTransform);
-
-    return resultPose;
+  public static Pose2d getReefAlignPose(Pose2d robotPose, ReefPosition reefPosition) {
+    return switch (reefPosition) {
+      case ALGAE -> centerAlignPoses.get(getNearestReefID(robotPose));
+      case LEFT -> leftAlignPoses.get(getNearestReefID(robotPose));
+      case RIGHT -> rightAlignPoses.get(getNearestReefID(robotPose));
+      default -> robotPose; // more or less a no-op
+    };
   }
 
   public static Command alignToReef(
@@ -201,17 +118,9 @@ public class ReefAlign {
     return Commands.runOnce(() -> Leds.getInstance().isReefAligning = true)
         .andThen(
             swerveDrive.driveToFieldPose(
-                () -> {
-                  Pose2d target =
-                      switch (targetReefPosition.get()) {
-                        case ALGAE -> centerAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        case LEFT -> leftAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        case RIGHT -> rightAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        default -> swerveDrive.getPose(); // more or less a no-op
-                      };
-
-                  return new AlignmentSetpoint(target, true);
-                }))
+                () ->
+                    new AlignmentSetpoint(
+                        getReefAlignPose(swerveDrive.getPose(), targetReefPosition.get()), true)))
         .finallyDo(() -> Leds.getInstance().isReefAligning = false);
   }
 
@@ -221,19 +130,12 @@ public class ReefAlign {
         .andThen(
             swerveDrive.driveToFieldPose(
                 () -> {
-                  Pose2d target =
-                      switch (targetReefPosition.get()) {
-                        case ALGAE -> centerAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        case LEFT -> leftAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        case RIGHT -> rightAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                        default -> swerveDrive.getPose(); // more or less a no-op
-                      };
-
-                  target =
-                      target.plus(
-                          new Transform2d(
-                              new Translation2d(kIntermediateDistance, Meters.zero()),
-                              Rotation2d.kZero));
+                  final Pose2d target =
+                      getReefAlignPose(swerveDrive.getPose(), targetReefPosition.get())
+                          .plus(
+                              new Transform2d(
+                                  new Translation2d(kIntermediateDistance, Meters.zero()),
+                                  Rotation2d.kZero));
                   return new AlignmentSetpoint(target, false);
                 }))
         .finallyDo(() -> Leds.getInstance().isReefAligning = false);
@@ -243,13 +145,7 @@ public class ReefAlign {
       SwerveDrive swerveDrive, Supplier<ReefPosition> targetReefPosition) {
     return swerveDrive.driveToFieldPose(
         () -> {
-          Pose2d target =
-              switch (targetReefPosition.get()) {
-                case ALGAE -> centerAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                case LEFT -> leftAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                case RIGHT -> rightAlignPoses.get(getNearestReefID(swerveDrive.getPose()));
-                default -> swerveDrive.getPose(); // more or less a no-op
-              };
+          Pose2d target = getReefAlignPose(swerveDrive.getPose(), targetReefPosition.get());
 
           Translation2d translationError =
               swerveDrive.getPose().relativeTo(target).getTranslation();
@@ -0,0 +1,64 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.CANBus;
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.VirtualSubsystem;
+
+/*
+ * Logs how loaded each CAN bus is and how stale each Phoenix device's data is, so we can see how
+ * much headroom is left before adding more devices or signals.
+ */
+@Logged
+public class CanBusMonitor extends VirtualSubsystem {
+  @NotLogged private final CANBus[] buses;
+
+  private final String[] busNames;
+  // fraction of the bus bandwidth in use, 0 to 1
+  private final double[] busUtilization;
+  private final int[] transmitErrorCount;
+  private final int[] receiveErrorCount;
+  private final int[] busOffCount;
+  private final int[] transmitBufferFullCount;
+
+  private String[] deviceNames = new String[0];
+  // seconds since each device's signals were last received
+  private double[] signalAges = new double[0];
+
+  public CanBusMonitor(CANBus... buses) {
+    this.buses = buses;
+
+    this.busNames = new String[buses.length];
+    for (int i = 0; i < buses.length; i++) {
+      // the roboRIO bus has an empty name
+      busNames[i] = buses[i].getName().isEmpty() ? "rio" : buses[i].getName();
+    }
+
+    this.busUtilization = new double[buses.length];
+    this.transmitErrorCount = new int[buses.length];
+    this.receiveErrorCount = new int[buses.length];
+    this.busOffCount = new int[buses.length];
+    this.transmitBufferFullCount = new int[buses.length];
+  }
+
+  @Override
+  public void periodic() {
+    for (int i = 0; i < buses.length; i++) {
+      final var status = buses[i].getStatus();
+      busUtilization[i] = status.BusUtilization;
+      transmitErrorCount[i] = status.TEC;
+      receiveErrorCount[i] = status.REC;
+      busOffCount[i] = status.BusOffCount;
+      transmitBufferFullCount[i] = status.TxFullCount;
+    }
+
+    // devices register as subsystems are constructed, so pick up any added since last loop
+    if (deviceNames.length != PhoenixSignalHub.getDeviceNames().length) {
+      deviceNames = PhoenixSignalHub.getDeviceNames();
+      signalAges = new double[deviceNames.length];
+    }
+    PhoenixSignalHub.getSignalAges(signalAges);
+  }
+}
@@ -4,101 +4,337 @@ package frc.robot.subsystems;
 import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Meters;
-import static edu.wpi.first.units.Units.RPM;
+import static edu.wpi.first.units.Units.MetersPerSecond;
+import static edu.wpi.first.units.Units.Radians;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutDistance;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
-import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.subsystems.SuperstructureMotionPlanner.Plan;
 import frc.robot.subsystems.coralendeffector.CoralEndEffector;
 import frc.robot.subsystems.coralendeffector.CoralEndEffectorConstants;
 import frc.robot.subsystems.elevator.Elevator;
 import frc.robot.subsystems.elevator.ElevatorConstants;
 import frc.robot.subsystems.elevatorarm.ElevatorArm;
 import frc.robot.util.TunableConstant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 @Logged
 public class CoralSuperstructure {
+  private static final double kSlowedHeightMeters = ElevatorConstants.kSlowedHeight.in(Meters);
+  private static final double kTippingSafeSpeed =
+      ElevatorConstants.kTippingSafeSpeed.in(MetersPerSecond);
+  // starts the final raise a bit early to cover loop and control latency
+  private static final double kPreraiseLeadSeconds = 0.1;
+  // a profiled command starting this soon after another one last ran takes over its plan
+  private static final double kPlanHandoffSeconds = 0.05;
+  // times travel for autos, where nothing else is near the elevator
+  private static final SuperstructureMotionPlanner kTravelPlanner =
+      new SuperstructureMotionPlanner(List.of());
+  // the time to raise from the prealign state to each setpoint, indexed by ordinal
+  private static final double[] kRaiseSeconds = new double[CoralScorerSetpoint.values().length];
+
+  static {
+    for (CoralScorerSetpoint setpoint : CoralScorerSetpoint.values()) {
+      kRaiseSeconds[setpoint.ordinal()] =
+          getTravelSeconds(
+              getPrealignHeightMeters(setpoint),
+              setpoint.getArmAngleRadians(),
+              setpoint.getElevatorHeightMeters(),
+              setpoint.getArmAngleRadians());
+    }
+  }
 
   @NotLogged private Elevator elevator;
   @NotLogged private ElevatorArm arm;
   @NotLogged private CoralEndEffector endEffector;
 
-  private Distance targetHeight = CoralScorerSetpoint.NEUTRAL.getElevatorHeight();
-  private Angle targetAngle = CoralScorerSetpoint.NEUTRAL.getArmAngle();
+  // updated in place every loop so tracking the target doesn't allocate
+  private final MutDistance targetHeight =
+      Meters.mutable(CoralScorerSetpoint.NEUTRAL.getElevatorHeightMeters());
+  private final MutAngle targetAngle =
+      Radians.mutable(CoralScorerSetpoint.NEUTRAL.getArmAngleRadians());
+
+  // whether preraise() has started the final raise
+  private boolean isPreraised = false;
+
+  // the setpoint supplier's value for this loop, read with the height and reused for the angle
+  @NotLogged private CoralScorerSetpoint loopSetpoint = CoralScorerSetpoint.NEUTRAL;
+
+  @NotLogged private final SuperstructureMotionPlanner planner;
+  @NotLogged private BooleanSupplier isAlgaePivotInCollisionZone = () -> false;
+  // the motion goToSetpointProfiled() is following, null until it starts or after a gap
+  @NotLogged private Plan plan;
+  @NotLogged private double planStartTimestamp;
+  @NotLogged private double lastFollowTimestamp = Double.NEGATIVE_INFINITY;
+  @NotLogged private double plannedGoalHeightMeters;
+  @NotLogged private double plannedGoalAngleRadians;
+  @NotLogged private boolean wasAlgaePivotInCollisionZone = false;
+  // sampled from the plan along with the elevator height each loop
+  private double plannedAngleRadians;
+  private double plannedHeightVelocity;
 
   public CoralSuperstructure(Elevator elevator, ElevatorArm arm, CoralEndEffector endEffector) {
     this.elevator = elevator;
     this.arm = arm;
     this.endEffector = endEffector;
+
+    this.planner =
+        new SuperstructureMotionPlanner(
+            List.of(
+                SuperstructureMotionPlanner.belowDangerHeight(
+                    "AlgaePivot", () -> isAlgaePivotInCollisionZone.getAsBoolean())));
+  }
+
+  /**
+   * Keeps profiled motions above the elevator's danger height while the algae pivot is in the way
+   *
+   * @param inCollisionZone whether the algae pivot is in the space below the danger height
+   */
+  public void avoidAlgaePivot(BooleanSupplier inCollisionZone) {
+    this.isAlgaePivotInCollisionZone = inCollisionZone;
   }
 
   // moves the entire elevator+arm superstructure to a desired state; this should be the go-to way
   // of moving the superstructure, aside from the default subsystem commands
   public Command goToSetpointPID(Supplier<CoralScorerSetpoint> setpoint) {
+    // the elevator's command runs first in the group, so the arm reuses this loop's setpoint
     return goToSetpointPID(
-        () -> setpoint.get().getElevatorHeight(), () -> setpoint.get().getArmAngle());
+        () -> readSetpoint(setpoint).getElevatorHeightMeters(),
+        () -> loopSetpoint.getArmAngleRadians());
   }
 
   public Command goToSetpointPID(Supplier<Distance> height, Supplier<Angle> angle) {
+    return goToSetpointPID(() -> height.get().in(Meters), () -> angle.get().in(Radians));
+  }
+
+  // each supplier is read once per loop, and its value is both tracked as the target and sent to
+  // the mechanism
+  public Command goToSetpointPID(DoubleSupplier heightMeters, DoubleSupplier angleRadians) {
     return elevator
-        .goToHeight(() -> height.get())
-        .alongWith(arm.goToAnglePID(() -> angle.get()))
-        .deadlineFor(
-            Commands.run(
-                () -> {
-                  targetHeight = height.get();
-                  targetAngle = angle.get();
-                }));
+        .goToHeight(() -> trackTargetHeight(heightMeters.getAsDouble()))
+        .alongWith(arm.goToAnglePID(() -> trackTargetAngle(angleRadians.getAsDouble())));
   }
 
   public Command goToSetpointProfiled(Supplier<CoralScorerSetpoint> setpoint) {
+    // the height is read before the angle each loop, so the angle reuses this loop's setpoint
     return goToSetpointProfiled(
-        () -> setpoint.get().getElevatorHeight(), () -> setpoint.get().getArmAngle());
+        () -> readSetpoint(setpoint).getElevatorHeightMeters(),
+        () -> loopSetpoint.getArmAngleRadians());
   }
 
   public Command goToSetpointProfiled(Supplier<Distance> height, Supplier<Angle> angle) {
+    return goToSetpointProfiled(() -> height.get().in(Meters), () -> angle.get().in(Radians));
+  }
+
+  /**
+   * Moves the elevator and arm together along a motion from the {@link
+   * SuperstructureMotionPlanner}, so both finish at the same time without passing through a
+   * collision zone. The motion is replanned from where it is and how fast it is going whenever the
+   * setpoint changes. Taking over from another profiled command keeps its plan, so the motion
+   * carries on instead of restarting from rest. NOTE: this command NEVER ends
+   */
+  public Command goToSetpointProfiled(DoubleSupplier heightMeters, DoubleSupplier angleRadians) {
+    // the elevator gets the planned height and velocity directly instead of profiling to it again,
+    // so it stays on the plan; the arm follows the angle sampled along with them, at most a loop
+    // behind
     return elevator
-        .goToHeight(height)
-        .alongWith(arm.goToAngleProfiled(() -> angle.get()))
-        .deadlineFor(
-            Commands.run(
-                () -> {
-                  targetHeight = height.get();
-                  targetAngle = angle.get();
-                }));
+        .followHeight(
+            () -> followPlan(heightMeters.getAsDouble(), angleRadians.getAsDouble()),
+            () -> plannedHeightVelocity)
+        .alongWith(arm.goToAnglePID(() -> plannedAngleRadians))
+        .beforeStarting(
+            () -> {
+              // anything else that ran in between may have moved the mechanism off the plan
+              if (Timer.getFPGATimestamp() - lastFollowTimestamp > kPlanHandoffSeconds) {
+                plan = null;
+                plannedAngleRadians = arm.getAngleRadians();
+                plannedHeightVelocity = 0;
+              }
+            });
+  }
+
+  // replans when the goal or the blocked zones change, then samples the plan for this loop
+  private double followPlan(double heightMeters, double angleRadians) {
+    trackTargetHeight(heightMeters);
+    trackTargetAngle(angleRadians);
+
+    final double now = Timer.getFPGATimestamp();
+    final double planSeconds = now - planStartTimestamp;
+    final boolean isAlgaePivotBlocking = isAlgaePivotInCollisionZone.getAsBoolean();
+    if (plan == null
+        || heightMeters != plannedGoalHeightMeters
+        || angleRadians != plannedGoalAngleRadians
+        || isAlgaePivotBlocking != wasAlgaePivotInCollisionZone) {
+      // a new plan starts where the last one was and as fast, so the setpoints don't jump
+      final double fromHeightMeters =
+          plan == null ? elevator.getHeightMeters() : plan.getHeightMeters(planSeconds);
+      final double fromAngleRadians =
+          plan == null ? arm.getAngleRadians() : plan.getAngleRadians(planSeconds);
+      final double fromHeightVelocity = plan == null ? 0 : plan.getHeightVelocity(planSeconds);
+      final double fromAngleVelocity = plan == null ? 0 : plan.getAngleVelocity(planSeconds);
+      plan =
+          planner.plan(
+              fromHeightMeters,
+              fromAngleRadians,
+              fromHeightVelocity,
+              fromAngleVelocity,
+              heightMeters,
+              angleRadians);
+      planStartTimestamp = now;
+      plannedGoalHeightMeters = heightMeters;
+      plannedGoalAngleRadians = angleRadians;
+      wasAlgaePivotInCollisionZone = isAlgaePivotBlocking;
+    }
+    lastFollowTimestamp = now;
+
+    plannedAngleRadians = plan.getAngleRadians(now - planStartTimestamp);
+    plannedHeightVelocity = plan.getHeightVelocity(now - planStartTimestamp);
+    return plan.getHeightMeters(now - planStartTimestamp);
+  }
+
+  /** @return the time left on the motion goToSetpointProfiled() is following, in seconds */
+  public double getPlannedSecondsRemaining() {
+    if (plan == null) return 0;
+    return Math.max(0, plan.getTotalSeconds() - (Timer.getFPGATimestamp() - planStartTimestamp));
+  }
+
+  /**
+   * Holds the elevator at its prealign height for a setpoint, then starts the final raise when it
+   * would finish just as the robot arrives at its scoring pose. The raise only starts while the
+   * drivetrain is slow enough not to tip with the elevator up, and once started it never drops back
+   * down. NOTE: this command NEVER ends
+   *
+   * @param secondsToArrival the time until the robot arrives at its scoring pose, or NaN if
+   *     unknown, in which case the raise starts once the robot is at its scoring pose
+   * @param atScoringPose whether the robot is at its scoring pose
+   * @param driveSpeedMetersPerSecond the linear speed of the drivetrain
+   */
+  public Command preraise(
+      Supplier<CoralScorerSetpoint> setpoint,
+      DoubleSupplier secondsToArrival,
+      BooleanSupplier atScoringPose,
+      DoubleSupplier driveSpeedMetersPerSecond) {
+    return goToSetpointProfiled(
+            () ->
+                preraiseHeight(
+                    readSetpoint(setpoint),
+                    secondsToArrival,
+                    atScoringPose,
+                    driveSpeedMetersPerSecond),
+            () -> loopSetpoint.getArmAngleRadians())
+        .beforeStarting(() -> isPreraised = false);
+  }
+
+  private double preraiseHeight(
+      CoralScorerSetpoint setpoint,
+      DoubleSupplier secondsToArrival,
+      BooleanSupplier atScoringPose,
+      DoubleSupplier driveSpeedMetersPerSecond) {
+    final double heightMeters = setpoint.getElevatorHeightMeters();
+    if (!isPreraised) {
+      final boolean isSafe =
+          heightMeters <= kSlowedHeightMeters
+              || driveSpeedMetersPerSecond.getAsDouble() <= kTippingSafeSpeed;
+      // the arrival is unknown once the driver takes over the alignment, so raise on arrival
+      final double arrivalSeconds = secondsToArrival.getAsDouble();
+      final boolean isArriving =
+          Double.isNaN(arrivalSeconds)
+              ? atScoringPose.getAsBoolean()
+              : arrivalSeconds <= getRaiseSeconds(setpoint) + kPreraiseLeadSeconds;
+      isPreraised = isSafe && isArriving;
+    }
+
+    return isPreraised ? heightMeters : getPrealignHeightMeters(setpoint);
+  }
+
+  /**
+   * @return the height the elevator waits at before raising to a setpoint, in meters
+   */
+  public static double getPrealignHeightMeters(CoralScorerSetpoint setpoint) {
+    return Math.min(
+        CoralScorerSetpoint.PREALIGN.getElevatorHeightMeters(), setpoint.getElevatorHeightMeters());
+  }
+
+  /**
+   * @return the time to raise from the prealign height to a setpoint at its arm angle, in seconds
+   */
+  public static double getRaiseSeconds(CoralScorerSetpoint setpoint) {
+    return kRaiseSeconds[setpoint.ordinal()];
+  }
+
+  /**
+   * @return the time for the elevator and arm to move between two states together, in seconds
+   */
+  public static double getTravelSeconds(
+      double fromHeightMeters,
+      double fromAngleRadians,
+      double toHeightMeters,
+      double toAngleRadians) {
+    return kTravelPlanner
+        .plan(fromHeightMeters, fromAngleRadians, toHeightMeters, toAngleRadians)
+        .getTotalSeconds();
+  }
+
+  // reads a setpoint supplier once for this loop
+  private CoralScorerSetpoint readSetpoint(Supplier<CoralScorerSetpoint> setpoint) {
+    loopSetpoint = setpoint.get();
+    return loopSetpoint;
+  }
+
+  private double trackTargetHeight(double heightMeters) {
+    targetHeight.mut_replace(heightMeters, Meters);
+    return heightMeters;
+  }
+
+  private double trackTargetAngle(double angleRadians) {
+    targetAngle.mut_replace(angleRadians, Radians);
+    return angleRadians;
   }
 
   public Command stopIntake() {
-    return endEffector.runAtVelocity(() -> RPM.zero());
+    return endEffector.runAtVelocity(() -> 0);
   }
 
   public void goToSetpoint(CoralScorerSetpoint setpoint) {
-    goToSetpoint(setpoint.getElevatorHeight(), setpoint.getArmAngle());
+    goToSetpoint(setpoint.getElevatorHeightMeters(), setpoint.getArmAngleRadians());
   }
 
   public void goToSetpoint(Distance height, Angle ang) {
-    elevator.goToHeight(height);
-    arm.goToAngle(ang);
+    goToSetpoint(height.in(Meters), ang.in(Radians));
+  }
+
+  public void goToSetpoint(double heightMeters, double angleRadians) {
+    elevator.goToHeight(heightMeters);
+    arm.goToAngle(angleRadians);
   }
 
   public boolean atTargetState() {
-    return elevator.atSetpoint() && arm.atGoal();
+    return getPlannedSecondsRemaining() == 0 && elevator.atSetpoint() && arm.atGoal();
   }
 
   public boolean atTargetState(Distance height, Angle angle) {
-    return elevator.atHeight(height) && arm.atAngle(angle);
+    return atTargetState(height.in(Meters), angle.in(Radians));
+  }
+
+  public boolean atTargetState(double heightMeters, double angleRadians) {
+    return elevator.atHeight(heightMeters) && arm.atAngle(angleRadians);
   }
 
   public boolean atTargetState(CoralScorerSetpoint setpoint) {
-    return atTargetState(setpoint.getElevatorHeight(), setpoint.getArmAngle());
+    return atTargetState(setpoint.getElevatorHeightMeters(), setpoint.getArmAngleRadians());
   }
 
   public Command feedCoral() {
-    return goToSetpointPID(() -> CoralScorerSetpoint.FEED_CORAL)
+    return goToSetpointProfiled(() -> CoralScorerSetpoint.FEED_CORAL)
         .alongWith(endEffector.intakeCoral());
   }
 
@@ -118,6 +354,16 @@ public class CoralSuperstructure {
     return targetAngle;
   }
 
+  @NotLogged // already logged as a Distance
+  public double getTargetHeightMeters() {
+    return targetHeight.in(Meters);
+  }
+
+  @NotLogged // already logged as an Angle
+  public double getTargetAngleRadians() {
+    return targetAngle.in(Radians);
+  }
+
   public boolean hasCoral() {
     return endEffector.hasCoral();
   }
@@ -131,10 +377,10 @@ public class CoralSuperstructure {
             "/CoralSuperstructure/ElevatorHeight",
             CoralScorerSetpoint.L4.getElevatorHeight().in(Meters));
 
-    return arm.goToAnglePID(() -> CoralScorerSetpoint.PREALIGN.getArmAngle())
+    return arm.goToAnglePID(() -> CoralScorerSetpoint.PREALIGN.getArmAngleRadians())
         .until(arm::atSetpoint)
-        .andThen(elevator.goToHeight(() -> Meters.of(height.get())).until(elevator::atSetpoint))
-        .andThen(arm.goToAngleProfiled(() -> Degrees.of(armAngle.get())));
+        .andThen(elevator.goToHeight(() -> height.get()).until(elevator::atSetpoint))
+        .andThen(arm.goToAngleProfiled(() -> Math.toRadians(armAngle.get())));
   }
 
   @NotLogged
@@ -163,9 +409,15 @@ public class CoralSuperstructure {
     private Distance elevatorHeight; // the height of the elevator to got
     private Angle armAngle; // the angle the arm should go to
 
+    // converted once so the control loop can use them without unit conversions
+    private final double elevatorHeightMeters;
+    private final double armAngleRadians;
+
     CoralScorerSetpoint(Distance elevatorHeight, Angle armAngle) {
       this.armAngle = armAngle;
       this.elevatorHeight = elevatorHeight;
+      this.elevatorHeightMeters = elevatorHeight.in(Meters);
+      this.armAngleRadians = armAngle.in(Radians);
     }
 
     public Distance getElevatorHeight() {
@@ -175,5 +427,13 @@ public class CoralSuperstructure {
     public Angle getArmAngle() {
       return armAngle;
     }
+
+    public double getElevatorHeightMeters() {
+      return elevatorHeightMeters;
+    }
+
+    public double getArmAngleRadians() {
+      return armAngleRadians;
+    }
   }
 }
@@ -0,0 +1,609 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems;
+
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.MetersPerSecond;
+import static edu.wpi.first.units.Units.MetersPerSecondPerSecond;
+import static edu.wpi.first.units.Units.Radians;
+
+import frc.robot.subsystems.elevator.ElevatorConstants;
+import frc.robot.subsystems.elevatorarm.ElevatorArmConstants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Plans coordinated elevator and arm motions between two superstructure states.
+ *
+ * <p>A direct move gives each axis its own trapezoid profile and lowers the faster one's cruise
+ * velocity until it lasts as long as the slower one, so both start and finish together in the time
+ * of the slower axis alone. Plans start from the velocity the superstructure already has, so a
+ * motion replanned partway through carries on smoothly instead of restarting from rest. When the
+ * direct move would cross a collision zone, the motion is routed through the corners of the zones
+ * instead, as a chain of straight lines in (height, angle) space that both axes follow with one
+ * shared profile, taking the fastest chain of collision-free lines.
+ *
+ * <p>Plans are immutable and the planner keeps no state of its own, so it can be used from any
+ * thread.
+ */
+public class SuperstructureMotionPlanner {
+  private static final double kMinHeightMeters =
+      ElevatorConstants.kElevatorMinimumHeight.in(Meters);
+  private static final double kMaxHeightMeters =
+      ElevatorConstants.kElevatorMaximumHeight.in(Meters);
+  private static final double kMinAngleRadians = ElevatorArmConstants.kMinAngle.in(Radians);
+  private static final double kMaxAngleRadians = ElevatorArmConstants.kMaxAngle.in(Radians);
+  private static final double kDangerHeightMeters =
+      ElevatorConstants.kElevatorDangerHeight.in(Meters);
+
+  private static final double kElevatorMaxVelocity =
+      ElevatorConstants.kMaxVelocity.in(MetersPerSecond);
+  private static final double kElevatorMaxAcceleration =
+      ElevatorConstants.kMaxAcceleration.in(MetersPerSecondPerSecond);
+  // the arm's profile is in degrees
+  private static final double kArmMaxVelocity =
+      Math.toRadians(ElevatorArmConstants.kArmConstraints.maxVelocity);
+  private static final double kArmMaxAcceleration =
+      Math.toRadians(ElevatorArmConstants.kArmConstraints.maxAcceleration);
+
+  // how far outside a zone the waypoints around it are placed
+  private static final double kHeightMarginMeters = 0.02;
+  private static final double kAngleMarginRadians = Degrees.of(2).in(Radians);
+  // a direct move is checked against the zones as this many straight pieces
+  private static final int kCollisionCheckPieces = 32;
+
+  /**
+   * A rectangle of (height, angle) states the superstructure must not pass through. Bounds may be
+   * infinite for zones that extend past the joint limits.
+   *
+   * @param isActive whether the zone is currently blocked, read once per plan
+   */
+  public record CollisionZone(
+      String name,
+      double minHeightMeters,
+      double maxHeightMeters,
+      double minAngleRadians,
+      double maxAngleRadians,
+      BooleanSupplier isActive) {
+    public boolean contains(double heightMeters, double angleRadians) {
+      return heightMeters >= minHeightMeters
+          && heightMeters <= maxHeightMeters
+          && angleRadians >= minAngleRadians
+          && angleRadians <= maxAngleRadians;
+    }
+
+    // whether the straight line between two states passes through the zone, by clipping the line
+    // against each edge of the zone
+    boolean intersects(
+        double fromHeightMeters,
+        double fromAngleRadians,
+        double toHeightMeters,
+        double toAngleRadians) {
+      final double deltaHeight = toHeightMeters - fromHeightMeters;
+      final double deltaAngle = toAngleRadians - fromAngleRadians;
+      final double[] directions = {-deltaHeight, deltaHeight, -deltaAngle, deltaAngle};
+      final double[] distances = {
+        fromHeightMeters - minHeightMeters,
+        maxHeightMeters - fromHeightMeters,
+        fromAngleRadians - minAngleRadians,
+        maxAngleRadians - fromAngleRadians
+      };
+
+      double enter = 0;
+      double exit = 1;
+      for (int i = 0; i < directions.length; i++) {
+        if (directions[i] == 0) {
+          // parallel to this edge, so the line is either always inside it or never
+          if (distances[i] < 0) return false;
+          continue;
+        }
+        final double t = distances[i] / directions[i];
+        if (directions[i] < 0) enter = Math.max(enter, t);
+        else exit = Math.min(exit, t);
+        if (enter > exit) return false;
+      }
+      return true;
+    }
+  }
+
+  // NOTE: the chassis isn't a zone yet. The arm's reach into the chassis at low carriage heights
+  // hasn't been measured, and guessed bounds outside every setpoint never affected a plan. Add
+  // zones for it here once the geometry is measured on the robot.
+
+  /**
+   * @param isBlocked whether something else is in the space below the elevator's danger height,
+   *     see {@link frc.robot.subsystems.elevator.Elevator#inCollisionZone()}
+   * @return a zone covering every angle below the elevator's danger height
+   */
+  public static CollisionZone belowDangerHeight(String name, BooleanSupplier isBlocked) {
+    return new CollisionZone(
+        name,
+        Double.NEGATIVE_INFINITY,
+        kDangerHeightMeters,
+        Double.NEGATIVE_INFINITY,
+        Double.POSITIVE_INFINITY,
+        isBlocked);
+  }
+
+  /**
+   * A trapezoid profile of progress from 0 to 1, from a start velocity to rest. A start velocity
+   * too fast to stop by the end is slowed to one that just stops there.
+   *
+   * @param maxVelocity the maximum rate of progress, per second
+   * @param maxAcceleration the maximum change in the rate of progress, per second squared
+   * @param startVelocity the rate of progress at the start, per second, negative if moving away
+   */
+  public record Progress(double maxVelocity, double maxAcceleration, double startVelocity) {
+    // the number of halvings when fitting a profile to a longer time
+    private static final int kFitIterations = 40;
+
+    public Progress {
+      // progress over no distance has infinite constraints and can't carry a velocity
+      startVelocity =
+          Double.isInfinite(maxVelocity)
+              ? 0
+              : Math.min(startVelocity, Math.sqrt(2 * maxAcceleration));
+    }
+
+    public Progress(double maxVelocity, double maxAcceleration) {
+      this(maxVelocity, maxAcceleration, 0);
+    }
+
+    // the constraints on progress along a signed distance, from an axis' own constraints and
+    // velocity
+    static Progress along(
+        double distance, double startVelocity, double maxVelocity, double maxAcceleration) {
+      return new Progress(
+          maxVelocity / Math.abs(distance),
+          maxAcceleration / Math.abs(distance),
+          startVelocity / distance);
+    }
+
+    public double totalSeconds() {
+      return totalSeconds(maxVelocity, maxAcceleration, startVelocity);
+    }
+
+    // the same profile with its cruise velocity lowered so it lasts at least some time; a start
+    // so fast it can only just stop by the end can't be slowed down
+    Progress fittedTo(double seconds) {
+      if (totalSeconds() >= seconds) return this;
+      double slower = 0;
+      double faster = maxVelocity;
+      for (int i = 0; i < kFitIterations; i++) {
+        final double velocity = (slower + faster) / 2;
+        if (totalSeconds(velocity, maxAcceleration, startVelocity) > seconds) slower = velocity;
+        else faster = velocity;
+      }
+      return new Progress(faster, maxAcceleration, startVelocity);
+    }
+
+    // the progress, from 0 to 1, some time into the profile
+    double at(double seconds) {
+      final double totalSeconds = totalSeconds();
+      if (seconds >= totalSeconds) return 1;
+      if (seconds <= 0) return 0;
+
+      final double peakVelocity = peakVelocity();
+      final double firstSeconds = Math.abs(peakVelocity - startVelocity) / maxAcceleration;
+      if (seconds < firstSeconds) {
+        final double acceleration =
+            peakVelocity >= startVelocity ? maxAcceleration : -maxAcceleration;
+        return startVelocity * seconds + 0.5 * acceleration * seconds * seconds;
+      }
+      final double lastSeconds = peakVelocity / maxAcceleration;
+      if (seconds < totalSeconds - lastSeconds) {
+        return 0.5 * (startVelocity + peakVelocity) * firstSeconds
+            + peakVelocity * (seconds - firstSeconds);
+      }
+      final double secondsLeft = totalSeconds - seconds;
+      return 1 - 0.5 * maxAcceleration * secondsLeft * secondsLeft;
+    }
+
+    // the rate of progress, per second, some time into the profile
+    double velocityAt(double seconds) {
+      final double totalSeconds = totalSeconds();
+      if (seconds >= totalSeconds) return 0;
+      if (seconds <= 0) return startVelocity;
+
+      final double peakVelocity = peakVelocity();
+      final double firstSeconds = Math.abs(peakVelocity - startVelocity) / maxAcceleration;
+      if (seconds < firstSeconds) {
+        return peakVelocity >= startVelocity
+            ? startVelocity + maxAcceleration * seconds
+            : startVelocity - maxAcceleration * seconds;
+      }
+      if (seconds < totalSeconds - peakVelocity / maxAcceleration) return peakVelocity;
+      return maxAcceleration * (totalSeconds - seconds);
+    }
+
+    private double peakVelocity() {
+      return peakVelocity(maxVelocity, maxAcceleration, startVelocity);
+    }
+
+    // the cruise velocity, or the highest velocity reached if the profile is too short to cruise
+    private static double peakVelocity(
+        double maxVelocity, double maxAcceleration, double startVelocity) {
+      if (startVelocity > maxVelocity) return maxVelocity;
+      return Math.min(
+          maxVelocity, Math.sqrt(maxAcceleration + 0.5 * startVelocity * startVelocity));
+    }
+
+    // the time to change from the start to the peak velocity, cruise, and then slow to rest
+    private static double totalSeconds(
+        double maxVelocity, double maxAcceleration, double startVelocity) {
+      if (Double.isInfinite(maxVelocity)) return 0;
+      final double peakVelocity = peakVelocity(maxVelocity, maxAcceleration, startVelocity);
+      final double firstSeconds = Math.abs(peakVelocity - startVelocity) / maxAcceleration;
+      final double firstProgress = 0.5 * (startVelocity + peakVelocity) * firstSeconds;
+      final double lastProgress = 0.5 * peakVelocity * peakVelocity / maxAcceleration;
+      final double cruiseSeconds = Math.max(0, 1 - firstProgress - lastProgress) / peakVelocity;
+      return firstSeconds + cruiseSeconds + peakVelocity / maxAcceleration;
+    }
+  }
+
+  /**
+   * One move from a state, moving or at rest, to a state at rest. Each axis follows its own
+   * progress profile, fitted to last as long as the slower one so both finish together; a
+   * straight move shares one profile between both axes.
+   */
+  public record Move(
+      double fromHeightMeters,
+      double fromAngleRadians,
+      double toHeightMeters,
+      double toAngleRadians,
+      Progress heightProgress,
+      Progress angleProgress) {
+    // each axis on its own profile, so the move takes as long as the slower axis alone
+    static Move direct(
+        double fromHeightMeters,
+        double fromAngleRadians,
+        double fromHeightVelocity,
+        double fromAngleVelocity,
+        double toHeightMeters,
+        double toAngleRadians) {
+      final Progress heightProgress =
+          Progress.along(
+              toHeightMeters - fromHeightMeters,
+              fromHeightVelocity,
+              kElevatorMaxVelocity,
+              kElevatorMaxAcceleration);
+      final Progress angleProgress =
+          Progress.along(
+              toAngleRadians - fromAngleRadians,
+              fromAngleVelocity,
+              kArmMaxVelocity,
+              kArmMaxAcceleration);
+      final double totalSeconds =
+          Math.max(heightProgress.totalSeconds(), angleProgress.totalSeconds());
+      return new Move(
+          fromHeightMeters,
+          fromAngleRadians,
+          toHeightMeters,
+          toAngleRadians,
+          heightProgress.fittedTo(totalSeconds),
+          angleProgress.fittedTo(totalSeconds));
+    }
+
+    // a straight line, with the constraints on progress along it from whichever axis is slower;
+    // it starts with as much of the start velocity as both axes share along the line
+    static Move straight(
+        double fromHeightMeters,
+        double fromAngleRadians,
+        double fromHeightVelocity,
+        double fromAngleVelocity,
+        double toHeightMeters,
+        double toAngleRadians) {
+      final double heightDistance = toHeightMeters - fromHeightMeters;
+      final double angleDistance = toAngleRadians - fromAngleRadians;
+      final Progress progress =
+          new Progress(
+              Math.min(
+                  kElevatorMaxVelocity / Math.abs(heightDistance),
+                  kArmMaxVelocity / Math.abs(angleDistance)),
+              Math.min(
+                  kElevatorMaxAcceleration / Math.abs(heightDistance),
+                  kArmMaxAcceleration / Math.abs(angleDistance)),
+              sharedVelocity(
+                  heightDistance == 0 ? Double.NaN : fromHeightVelocity / heightDistance,
+                  angleDistance == 0 ? Double.NaN : fromAngleVelocity / angleDistance));
+      return new Move(
+          fromHeightMeters, fromAngleRadians, toHeightMeters, toAngleRadians, progress, progress);
+    }
+
+    // the rate of progress neither axis exceeds, or rest if they move in different directions;
+    // NaN for an axis that doesn't move
+    private static double sharedVelocity(double heightVelocity, double angleVelocity) {
+      if (Double.isNaN(heightVelocity)) return Double.isNaN(angleVelocity) ? 0 : angleVelocity;
+      if (Double.isNaN(angleVelocity)) return heightVelocity;
+      if (Math.signum(heightVelocity) != Math.signum(angleVelocity)) return 0;
+      return Math.abs(heightVelocity) < Math.abs(angleVelocity) ? heightVelocity : angleVelocity;
+    }
+
+    public double totalSeconds() {
+      return Math.max(heightProgress.totalSeconds(), angleProgress.totalSeconds());
+    }
+
+    double heightMeters(double seconds) {
+      return fromHeightMeters + (toHeightMeters - fromHeightMeters) * heightProgress.at(seconds);
+    }
+
+    double angleRadians(double seconds) {
+      return fromAngleRadians + (toAngleRadians - fromAngleRadians) * angleProgress.at(seconds);
+    }
+
+    double heightVelocity(double seconds) {
+      return (toHeightMeters - fromHeightMeters) * heightProgress.velocityAt(seconds);
+    }
+
+    double angleVelocity(double seconds) {
+      return (toAngleRadians - fromAngleRadians) * angleProgress.velocityAt(seconds);
+    }
+  }
+
+  /** A chain of moves, each starting when the one before it ends */
+  public static final class Plan {
+    private final List<Move> moves;
+    private final double[] startSeconds;
+    private final double totalSeconds;
+
+    Plan(List<Move> moves) {
+      this.moves = List.copyOf(moves);
+      this.startSeconds = new double[moves.size()];
+      double seconds = 0;
+      for (int i = 0; i < moves.size(); i++) {
+        startSeconds[i] = seconds;
+        seconds += moves.get(i).totalSeconds();
+      }
+      this.totalSeconds = seconds;
+    }
+
+    public List<Move> getMoves() {
+      return moves;
+    }
+
+    public double getTotalSeconds() {
+      return totalSeconds;
+    }
+
+    public double getGoalHeightMeters() {
+      return moves.get(moves.size() - 1).toHeightMeters();
+    }
+
+    public double getGoalAngleRadians() {
+      return moves.get(moves.size() - 1).toAngleRadians();
+    }
+
+    /**
+     * @param seconds the time since the plan started
+     * @return the planned elevator height at that time, in meters
+     */
+    public double getHeightMeters(double seconds) {
+      final int move = moveAt(seconds);
+      return moves.get(move).heightMeters(seconds - startSeconds[move]);
+    }
+
+    /**
+     * @param seconds the time since the plan started
+     * @return the planned elevator velocity at that time, in meters per second
+     */
+    public double getHeightVelocity(double seconds) {
+      final int move = moveAt(seconds);
+      return moves.get(move).heightVelocity(seconds - startSeconds[move]);
+    }
+
+    /**
+     * @param seconds the time since the plan started
+     * @return the planned arm angle at that time, in radians
+     */
+    public double getAngleRadians(double seconds) {
+      final int move = moveAt(seconds);
+      return moves.get(move).angleRadians(seconds - startSeconds[move]);
+    }
+
+    /**
+     * @param seconds the time since the plan started
+     * @return the planned arm velocity at that time, in radians per second
+     */
+    public double getAngleVelocity(double seconds) {
+      final int move = moveAt(seconds);
+      return moves.get(move).angleVelocity(seconds - startSeconds[move]);
+    }
+
+    private int moveAt(double seconds) {
+      int move = 0;
+      while (move < moves.size() - 1 && seconds >= startSeconds[move + 1]) move++;
+      return move;
+    }
+  }
+
+  private final List<CollisionZone> zones;
+
+  public SuperstructureMotionPlanner(List<CollisionZone> zones) {
+    this.zones = List.copyOf(zones);
+  }
+
+  /**
+   * Plans the fastest collision-free motion between two states at rest.
+   *
+   * @return a plan with at least one move
+   */
+  public Plan plan(
+      double fromHeightMeters,
+      double fromAngleRadians,
+      double toHeightMeters,
+      double toAngleRadians) {
+    return plan(fromHeightMeters, fromAngleRadians, 0, 0, toHeightMeters, toAngleRadians);
+  }
+
+  /**
+   * Plans the fastest collision-free motion from a moving state to one at rest. A goal inside a
+   * collision zone is moved out of it along the elevator, to the nearest height that is clear. If
+   * no collision-free motion exists, the plan is a single direct move.
+   *
+   * @param fromHeightVelocity the elevator's velocity at the start, in meters per second
+   * @param fromAngleVelocity the arm's velocity at the start, in radians per second
+   * @return a plan with at least one move
+   */
+  public Plan plan(
+      double fromHeightMeters,
+      double fromAngleRadians,
+      double fromHeightVelocity,
+      double fromAngleVelocity,
+      double toHeightMeters,
+      double toAngleRadians) {
+    final List<CollisionZone> active = new ArrayList<>();
+    for (CollisionZone zone : zones) {
+      if (zone.isActive().getAsBoolean()) active.add(zone);
+    }
+
+    final double goalHeightMeters = clearHeight(active, toHeightMeters, toAngleRadians);
+    final Move direct =
+        Move.direct(
+            fromHeightMeters,
+            fromAngleRadians,
+            fromHeightVelocity,
+            fromAngleVelocity,
+            goalHeightMeters,
+            toAngleRadians);
+    if (!crossesZone(active, direct)) return new Plan(List.of(direct));
+
+    // the nodes are the start, the goal, and the clear corners around each zone
+    final List<double[]> nodes = new ArrayList<>();
+    nodes.add(new double[] {fromHeightMeters, fromAngleRadians});
+    nodes.add(new double[] {goalHeightMeters, toAngleRadians});
+    for (CollisionZone zone : active) {
+      final double[] heights = {
+        zone.minHeightMeters() - kHeightMarginMeters, zone.maxHeightMeters() + kHeightMarginMeters
+      };
+      final double[] angles = {
+        zone.minAngleRadians() - kAngleMarginRadians, zone.maxAngleRadians() + kAngleMarginRadians
+      };
+      for (double heightMeters : heights) {
+        for (double angleRadians : angles) {
+          if (isReachable(heightMeters, angleRadians)
+              && !isBlocked(active, heightMeters, angleRadians)) {
+            nodes.add(new double[] {heightMeters, angleRadians});
+          }
+        }
+      }
+    }
+
+    // dijkstra from the start, with the time of each move as its cost
+    final int count = nodes.size();
+    final double[] seconds = new double[count];
+    final int[] previous = new int[count];
+    final boolean[] done = new boolean[count];
+    Arrays.fill(seconds, Double.POSITIVE_INFINITY);
+    Arrays.fill(previous, -1);
+    seconds[0] = 0;
+
+    for (int visited = 0; visited < count; visited++) {
+      int closest = -1;
+      for (int i = 0; i < count; i++) {
+        if (!done[i] && (closest == -1 || seconds[i] < seconds[closest])) closest = i;
+      }
+      if (Double.isInfinite(seconds[closest]) || closest == 1) break;
+      done[closest] = true;
+
+      final double[] from = nodes.get(closest);
+      for (int i = 0; i < count; i++) {
+        if (done[i]) continue;
+        final double[] to = nodes.get(i);
+        // the start may already be in a zone, and is always allowed to leave it
+        if (crossesZone(active, from, to, closest == 0)) continue;
+        final double moveSeconds =
+            straight(closest == 0, from, to, fromHeightVelocity, fromAngleVelocity)
+                .totalSeconds();
+        if (seconds[closest] + moveSeconds < seconds[i]) {
+          seconds[i] = seconds[closest] + moveSeconds;
+          previous[i] = closest;
+        }
+      }
+    }
+
+    if (previous[1] == -1) return new Plan(List.of(direct));
+
+    final List<Move> moves = new ArrayList<>();
+    for (int node = 1; node != 0; node = previous[node]) {
+      final double[] from = nodes.get(previous[node]);
+      final double[] to = nodes.get(node);
+      moves.add(
+          0, straight(previous[node] == 0, from, to, fromHeightVelocity, fromAngleVelocity));
+    }
+    return new Plan(moves);
+  }
+
+  // a straight move between two nodes; only a move from the start begins with its velocity
+  private static Move straight(
+      boolean isFromStart,
+      double[] from,
+      double[] to,
+      double heightVelocity,
+      double angleVelocity) {
+    return isFromStart
+        ? Move.straight(from[0], from[1], heightVelocity, angleVelocity, to[0], to[1])
+        : Move.straight(from[0], from[1], 0, 0, to[0], to[1]);
+  }
+
+  // moves a height out of every zone it is in, to whichever side of the zone is closer and
+  // reachable
+  private static double clearHeight(
+      List<CollisionZone> zones, double heightMeters, double angleRadians) {
+    for (CollisionZone zone : zones) {
+      if (!zone.contains(heightMeters, angleRadians)) continue;
+      final double below = zone.minHeightMeters() - kHeightMarginMeters;
+      final double above = zone.maxHeightMeters() + kHeightMarginMeters;
+      final boolean canGoBelow = isReachable(below, angleRadians);
+      final boolean canGoAbove = isReachable(above, angleRadians);
+      if (canGoBelow && (!canGoAbove || heightMeters - below < above - heightMeters)) {
+        heightMeters = below;
+      } else if (canGoAbove) {
+        heightMeters = above;
+      }
+    }
+    return heightMeters;
+  }
+
+  private static boolean isReachable(double heightMeters, double angleRadians) {
+    return heightMeters >= kMinHeightMeters
+        && heightMeters <= kMaxHeightMeters
+        && angleRadians >= kMinAngleRadians
+        && angleRadians <= kMaxAngleRadians;
+  }
+
+  private static boolean isBlocked(
+      List<CollisionZone> zones, double heightMeters, double angleRadians) {
+    for (CollisionZone zone : zones) {
+      if (zone.contains(heightMeters, angleRadians)) return true;
+    }
+    return false;
+  }
+
+  // whether a direct move's path crosses a zone the start isn't in, checked piece by piece
+  private static boolean crossesZone(List<CollisionZone> zones, Move move) {
+    final double[] start = {move.fromHeightMeters(), move.fromAngleRadians()};
+    final double totalSeconds = move.totalSeconds();
+    double[] from = start;
+    for (int piece = 1; piece <= kCollisionCheckPieces; piece++) {
+      final double seconds = totalSeconds * piece / kCollisionCheckPieces;
+      final double[] to = {move.heightMeters(seconds), move.angleRadians(seconds)};
+      for (CollisionZone zone : zones) {
+        if (zone.contains(start[0], start[1])) continue;
+        if (zone.intersects(from[0], from[1], to[0], to[1])) return true;
+      }
+      from = to;
+    }
+    return false;
+  }
+
+  private static boolean crossesZone(
+      List<CollisionZone> zones, double[] from, double[] to, boolean isLeavingStart) {
+    for (CollisionZone zone : zones) {
+      if (isLeavingStart && zone.contains(from[0], from[1])) continue;
+      if (zone.intersects(from[0], from[1], to[0], to[1])) return true;
+    }
+    return false;
+  }
+}
@@ -8,6 +8,7 @@ import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.controller.ArmFeedforward;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.filter.Debouncer;
@@ -20,6 +21,7 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotConstants;
 import frc.robot.subsystems.AlgaeSuperstructure.AlgaeSetpoint;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -27,6 +29,8 @@ import java.util.function.Supplier;
 // the mechanism that intakes algae low and pivots back to hang from the deep cage
 @Logged
 public class AlgaeIntakePivot extends SubsystemBase {
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("AlgaeIntakePivot");
 
   private AlgaeIntakePivotIO io;
   private AlgaeIntakePivotInputs inputs;
@@ -206,7 +210,9 @@ public class AlgaeIntakePivot extends SubsystemBase {
 
   @Override
   public void periodic() { // updating inputs
+    profilerSection.start();
     io.updateInputs(inputs);
+    profilerSection.stop();
   }
 
   public boolean atSetpoint() {
@@ -218,7 +224,6 @@ public class AlgaeIntakePivot extends SubsystemBase {
   }
 
   public boolean inCollisionZone() {
-    if (inputs.pivotAngle == null || inputs.pivotVelocity == null) return false;
     Angle effectiveAngle =
         inputs.pivotAngle.plus(
             inputs.pivotVelocity.times(
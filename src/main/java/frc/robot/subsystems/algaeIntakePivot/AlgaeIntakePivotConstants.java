@@ -4,6 +4,7 @@ package frc.robot.subsystems.algaeIntakePivot;
 import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.DegreesPerSecond;
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Volts;
 
@@ -12,6 +13,7 @@ import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.units.measure.Voltage;
 
 @Logged
@@ -52,4 +54,7 @@ public class AlgaeIntakePivotConstants {
   public static final double kPivotPositionConversionFactor = 360 / kPivotGearing;
   public static final double kPivotVelocityConversionFactor = kPivotPositionConversionFactor / 60;
   public static final Voltage kNominalVoltage = Volts.of(12);
+
+  // CAN status signal rates; every other signal is disabled
+  public static final Frequency kSignalUpdateFrequency = Hertz.of(100);
 }
@@ -14,9 +14,9 @@ public class AlgaeIntakePivotIOIdeal implements AlgaeIntakePivotIO {
   public static final AlgaeIntakePivotConfig config = new AlgaeIntakePivotConfig(0, 0, 0, 0);
 
   public void updateInputs(AlgaeIntakePivotInputs inputs) {
-    inputs.pivotAngle = Degrees.of(0);
-    inputs.pivotVelocity = DegreesPerSecond.of(0);
-    inputs.pivotCurrent = Amps.zero();
+    inputs.pivotAngle.mut_replace(0, Degrees);
+    inputs.pivotVelocity.mut_replace(0, DegreesPerSecond);
+    inputs.pivotCurrent.mut_replace(0, Amps);
   }
 
   public void setPivotVoltage(Voltage volts) {}
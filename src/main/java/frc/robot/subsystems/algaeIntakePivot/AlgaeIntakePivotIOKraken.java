@@ -1,17 +1,29 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakePivot;
 
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+import static edu.wpi.first.units.Units.Volts;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
-import com.ctre.phoenix6.controls.Follower;
-import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.util.CoalescingTalonFX;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.TalonFXLogger;
 
 @Logged
 public class AlgaeIntakePivotIOKraken implements AlgaeIntakePivotIO {
@@ -25,10 +37,18 @@ public class AlgaeIntakePivotIOKraken implements AlgaeIntakePivotIO {
       new TalonFX(
           AlgaeIntakePivotConstants.kPivotMotorRightId); // corresponds to the right pivot motor
 
-  VoltageOut voltageRequest = new VoltageOut(0); // used to set voltage
-  Follower followRequest =
-      new Follower(
-          AlgaeIntakePivotConstants.kPivotMotorLeftId, AlgaeIntakePivotConstants.kRightInverted);
+  // only send requests when the setpoint changes
+  private final CoalescingTalonFX leftWriter = new CoalescingTalonFX(pivotMotorLeft);
+  private final CoalescingTalonFX rightWriter = new CoalescingTalonFX(pivotMotorRight);
+
+  // cached signals, refreshed once per loop by PhoenixSignalHub
+  @NotLogged private final StatusSignal<Angle> pivotAngle = pivotMotorLeft.getPosition(false);
+
+  @NotLogged
+  private final StatusSignal<AngularVelocity> pivotVelocity = pivotMotorLeft.getVelocity(false);
+
+  @NotLogged
+  private final StatusSignal<Current> pivotCurrent = pivotMotorLeft.getStatorCurrent(false);
 
   public AlgaeIntakePivotIOKraken() {
     pivotMotorLeft // sets up and creates left pivot motor
@@ -72,18 +92,35 @@ public class AlgaeIntakePivotIOKraken implements AlgaeIntakePivotIO {
         .apply(
             new FeedbackConfigs()
                 .withSensorToMechanismRatio(AlgaeIntakePivotConstants.kPivotGearing));
+
+    // the follow request stays applied, so it only needs to be sent once
+    rightWriter.follow(pivotMotorLeft, AlgaeIntakePivotConstants.kRightInverted);
+
+    PhoenixSignalHub.register(pivotMotorLeft, pivotAngle, pivotVelocity, pivotCurrent);
+
+    // keep only the signals read here, the ones the follower and logger need, and disable the rest
+    TalonFXLogger.setTelemetryUpdateFrequency(pivotMotorLeft);
+    TalonFXLogger.setTelemetryUpdateFrequency(pivotMotorRight);
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        AlgaeIntakePivotConstants.kSignalUpdateFrequency,
+        pivotAngle,
+        pivotVelocity,
+        pivotCurrent,
+        // the right motor follows the left motor's output
+        pivotMotorLeft.getDutyCycle(false),
+        pivotMotorLeft.getMotorVoltage(false),
+        pivotMotorLeft.getTorqueCurrent(false));
+    ParentDevice.optimizeBusUtilizationForAll(pivotMotorLeft, pivotMotorRight);
   }
 
   public void setPivotVoltage(Voltage volts) {
-    pivotMotorLeft.setControl(
-        voltageRequest.withOutput(volts)); // kraken implementation of setvoltage
-    pivotMotorRight.setControl(followRequest);
+    leftWriter.setVoltage(volts.in(Volts)); // kraken implementation of setvoltage
   }
 
   public void updateInputs(AlgaeIntakePivotInputs inputs) { // updates inputs
-    inputs.pivotAngle = pivotMotorLeft.getPosition().getValue();
-    inputs.pivotVelocity = pivotMotorLeft.getVelocity().getValue();
-    inputs.pivotCurrent = pivotMotorLeft.getStatorCurrent().getValue();
+    inputs.pivotAngle.mut_replace(pivotAngle.getValueAsDouble(), Rotations);
+    inputs.pivotVelocity.mut_replace(pivotVelocity.getValueAsDouble(), RotationsPerSecond);
+    inputs.pivotCurrent.mut_replace(pivotCurrent.getValueAsDouble(), Amps);
   }
 
   public void resetEncoder(Angle angle) {
@@ -1,10 +1,8 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakePivot;
 
-import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.Radians;
-import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
@@ -45,8 +43,7 @@ public class AlgaeIntakePivotIOSim implements AlgaeIntakePivotIO {
 
   public void updateInputs(AlgaeIntakePivotInputs inputs) { // gets info to update inputs
     pivotSim.update(0.02);
-    inputs.pivotAngle = Radians.of(pivotSim.getAngleRads());
-    inputs.pivotVelocity = RadiansPerSecond.of(pivotSim.getVelocityRadPerSec());
-    inputs.pivotCurrent = Amps.of(pivotSim.getCurrentDrawAmps());
+    inputs.update(
+        pivotSim.getAngleRads(), pivotSim.getVelocityRadPerSec(), pivotSim.getCurrentDrawAmps());
   }
 }
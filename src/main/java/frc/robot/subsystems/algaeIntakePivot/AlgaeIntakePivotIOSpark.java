@@ -15,6 +15,8 @@ import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.util.CoalescingSparkMax;
+import frc.robot.util.SparkMaxLogger;
 
 // spark implementation of real mechanism
 
@@ -31,8 +33,13 @@ public class AlgaeIntakePivotIOSpark implements AlgaeIntakePivotIO {
   private SparkMax pivotMotorRight =
       new SparkMax(AlgaeIntakePivotConstants.kPivotMotorRightId, MotorType.kBrushless);
 
+  // only send voltages when they change, the right motor follows through its config
+  private final CoalescingSparkMax leftWriter = new CoalescingSparkMax(pivotMotorLeft);
+
   public AlgaeIntakePivotIOSpark() {
     configureMotors(); // configures motors once algae spark object
+
+    SparkMaxLogger.setLogDivisor(pivotMotorRight, SparkMaxLogger.kFollowerLogDivisor);
   }
 
   public void configureMotors() {
@@ -68,13 +75,13 @@ public class AlgaeIntakePivotIOSpark implements AlgaeIntakePivotIO {
   }
 
   public void setPivotVoltage(Voltage volts) {
-    pivotMotorLeft.setVoltage(volts);
+    leftWriter.setVoltage(volts.in(Volts));
   }
 
   public void updateInputs(AlgaeIntakePivotInputs inputs) {
-    inputs.pivotAngle = Degrees.of(pivotMotorLeft.getEncoder().getPosition());
-    inputs.pivotVelocity = DegreesPerSecond.of(pivotMotorLeft.getEncoder().getVelocity());
-    inputs.pivotCurrent = Amps.of(pivotMotorLeft.getOutputCurrent());
+    inputs.pivotAngle.mut_replace(pivotMotorLeft.getEncoder().getPosition(), Degrees);
+    inputs.pivotVelocity.mut_replace(pivotMotorLeft.getEncoder().getVelocity(), DegreesPerSecond);
+    inputs.pivotCurrent.mut_replace(pivotMotorLeft.getOutputCurrent(), Amps);
   }
 
   public void resetEncoder(Angle angle) {
@@ -1,14 +1,29 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakePivot;
 
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.DegreesPerSecond;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutAngularVelocity;
+import edu.wpi.first.units.measure.MutCurrent;
 
+// The measures are updated in place every loop, so copy() one to hold on to its value
 @Logged
 public class AlgaeIntakePivotInputs {
-  public Angle pivotAngle; // current pivot angle
-  public AngularVelocity pivotVelocity; // current pivot velocity
-  public Current pivotCurrent; // current of ONE of the pivot motors
+  public final MutAngle pivotAngle = Degrees.mutable(0); // current pivot angle
+  public final MutAngularVelocity pivotVelocity =
+      DegreesPerSecond.mutable(0); // current pivot velocity
+  public final MutCurrent pivotCurrent = Amps.mutable(0); // current of ONE of the pivot motors
+
+  // refills every input in place from raw sensor values
+  public void update(double angleRadians, double velocityRadiansPerSecond, double currentAmps) {
+    pivotAngle.mut_replace(angleRadians, Radians);
+    pivotVelocity.mut_replace(velocityRadiansPerSecond, RadiansPerSecond);
+    pivotCurrent.mut_replace(currentAmps, Amps);
+  }
 }
@@ -5,6 +5,7 @@ import static edu.wpi.first.units.Units.RPM;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.units.measure.AngularVelocity;
@@ -12,12 +13,15 @@ import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
 import java.util.function.Supplier;
 
 // the same mechanism as algaeIntakeClimb but this controls the rollers instead of the pivot
 @Logged
 public class AlgaeIntakeRollers extends SubsystemBase {
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("AlgaeIntakeRollers");
 
   private AlgaeIntakeRollersIO io;
   private AlgaeIntakeRollersInputs inputs;
@@ -115,6 +119,8 @@ public class AlgaeIntakeRollers extends SubsystemBase {
 
   @Override // updates inputs constatly
   public void periodic() {
+    profilerSection.start();
     io.updateInputs(inputs);
+    profilerSection.stop();
   }
 }
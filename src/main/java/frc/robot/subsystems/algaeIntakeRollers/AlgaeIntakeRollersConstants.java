@@ -1,9 +1,11 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakeRollers;
 
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.units.measure.Voltage;
 
 @Logged
@@ -30,4 +32,7 @@ public class AlgaeIntakeRollersConstants {
   public static final double kRollerVelocityConversionFactor =
       kRollerPositionConversionFactor / 60; // ask mech
   public static final Voltage kNominalVoltage = Volts.of(12);
+
+  // CAN status signal rates; every other signal is disabled
+  public static final Frequency kSignalUpdateFrequency = Hertz.of(50);
 }
@@ -11,7 +11,7 @@ public class AlgaeIntakeRollersIOIdeal implements AlgaeIntakeRollersIO {
   public static final AlgaeIntakeRollersConfig config = new AlgaeIntakeRollersConfig(0, 0, 0, 0);
 
   public void updateInputs(AlgaeIntakeRollersInputs inputs) {
-    inputs.rollerVelocity = RPM.of(0);
+    inputs.rollerVelocity.mut_replace(0, RPM);
     inputs.hasAlgae = false;
   }
 
@@ -1,16 +1,24 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakeRollers;
 
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+import static edu.wpi.first.units.Units.Volts;
+
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
-import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DigitalInput;
+import frc.robot.util.CoalescingTalonFX;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.TalonFXLogger;
 
 // spark implementation of real mechanism
 @Logged
@@ -22,10 +30,22 @@ public class AlgaeIntakeRollersIOKraken implements AlgaeIntakeRollersIO {
 
   private TalonFX rollerMotor = new TalonFX(AlgaeIntakeRollersConstants.kMotorId);
 
-  private VoltageOut voltageRequest = new VoltageOut(0);
+  // only send requests when the setpoint changes
+  private final CoalescingTalonFX rollerWriter = new CoalescingTalonFX(rollerMotor);
+
+  // cached signal, refreshed once per loop by PhoenixSignalHub
+  @NotLogged
+  private final StatusSignal<AngularVelocity> rollerVelocity = rollerMotor.getVelocity(false);
 
   public AlgaeIntakeRollersIOKraken() {
     configureMotors(); // configures motors once algae kraken object is created
+
+    PhoenixSignalHub.register(rollerMotor, rollerVelocity);
+
+    // keep only the signals read here and by the logger, and disable the rest
+    TalonFXLogger.setTelemetryUpdateFrequency(rollerMotor);
+    rollerVelocity.setUpdateFrequency(AlgaeIntakeRollersConstants.kSignalUpdateFrequency);
+    rollerMotor.optimizeBusUtilization();
   }
 
   public void configureMotors() {
@@ -54,11 +74,11 @@ public class AlgaeIntakeRollersIOKraken implements AlgaeIntakeRollersIO {
   }
 
   public void setRollerVoltage(Voltage volts) {
-    rollerMotor.setControl(voltageRequest.withOutput(volts));
+    rollerWriter.setVoltage(volts.in(Volts));
   }
 
   public void updateInputs(AlgaeIntakeRollersInputs inputs) {
     inputs.hasAlgae = algaeSensor.get(); // gets info for updating inputs
-    inputs.rollerVelocity = rollerMotor.getVelocity().getValue();
+    inputs.rollerVelocity.mut_replace(rollerVelocity.getValueAsDouble(), RotationsPerSecond);
   }
 }
@@ -1,7 +1,6 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakeRollers;
 
-import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
@@ -35,8 +34,8 @@ public class AlgaeIntakeRollersIOSim implements AlgaeIntakeRollersIO {
 
   public void updateInputs(AlgaeIntakeRollersInputs inputs) {
     rollerSim.update(0.02);
-    inputs.rollerVelocity =
-        RadiansPerSecond.of(rollerSim.getAngularVelocityRadPerSec()); // gets input info
-    inputs.hasAlgae = SmartDashboard.getBoolean("SimInputs/AlgaeIntakeRollers/HasAlgae", false);
+    inputs.update(
+        rollerSim.getAngularVelocityRadPerSec(),
+        SmartDashboard.getBoolean("SimInputs/AlgaeIntakeRollers/HasAlgae", false));
   }
 }
@@ -12,6 +12,7 @@ import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DigitalInput;
+import frc.robot.util.CoalescingSparkMax;
 
 // spark implementation of real mechanism
 @Logged
@@ -24,6 +25,9 @@ public class AlgaeIntakeRollersIOSpark implements AlgaeIntakeRollersIO {
   private SparkMax rollerMotorLeft =
       new SparkMax(AlgaeIntakeRollersConstants.kMotorId, MotorType.kBrushless);
 
+  // only send voltages when they change
+  private final CoalescingSparkMax rollerWriter = new CoalescingSparkMax(rollerMotorLeft);
+
   public AlgaeIntakeRollersIOSpark() {
     configureMotors(); // configures motors once algae spark object is created
   }
@@ -39,11 +43,11 @@ public class AlgaeIntakeRollersIOSpark implements AlgaeIntakeRollersIO {
   }
 
   public void setRollerVoltage(Voltage volts) {
-    rollerMotorLeft.setVoltage(volts); // sets sim voltage
+    rollerWriter.setVoltage(volts.in(Volts)); // sets sim voltage
   }
 
   public void updateInputs(AlgaeIntakeRollersInputs inputs) {
     inputs.hasAlgae = algaeSensor.get(); // gets info for updating inputs
-    inputs.rollerVelocity = RPM.of(rollerMotorLeft.getEncoder().getVelocity());
+    inputs.rollerVelocity.mut_replace(rollerMotorLeft.getEncoder().getVelocity(), RPM);
   }
 }
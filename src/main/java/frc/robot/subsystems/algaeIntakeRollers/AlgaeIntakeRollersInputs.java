@@ -1,11 +1,22 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.algaeIntakeRollers;
 
+import static edu.wpi.first.units.Units.RPM;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.MutAngularVelocity;
 
+// The measures are updated in place every loop, so copy() one to hold on to its value
 @Logged
 public class AlgaeIntakeRollersInputs {
-  public AngularVelocity rollerVelocity; // speed that the rollers are spinning
+  public final MutAngularVelocity rollerVelocity =
+      RPM.mutable(0); // speed that the rollers are spinning
   public boolean hasAlgae; // if the mechanism has algae
+
+  // refills every input in place from raw sensor values
+  public void update(double velocityRadiansPerSecond, boolean hasAlgae) {
+    rollerVelocity.mut_replace(velocityRadiansPerSecond, RadiansPerSecond);
+    this.hasAlgae = hasAlgae;
+  }
 }
@@ -6,6 +6,7 @@ import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.controller.ArmFeedforward;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.units.measure.Angle;
@@ -16,12 +17,15 @@ import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
 import java.util.function.Supplier;
 
 // deep climb mechanism
 @Logged
 public class Climber extends SubsystemBase {
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("Climber");
 
   private ClimberIO io;
   private ClimberInputs inputs;
@@ -194,6 +198,8 @@ public class Climber extends SubsystemBase {
 
   @Override
   public void periodic() { // updating inputs
+    profilerSection.start();
     io.updateInputs(inputs);
+    profilerSection.stop();
   }
 }
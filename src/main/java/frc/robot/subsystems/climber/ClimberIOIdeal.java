@@ -16,9 +16,9 @@ public class ClimberIOIdeal implements ClimberIO {
   public static final ClimberConfig config = new ClimberConfig(0, 0, 0, 0);
 
   public void updateInputs(ClimberInputs inputs) {
-    inputs.climbAngle = Degrees.of(0);
-    inputs.climbVelocity = DegreesPerSecond.of(0);
-    inputs.climbCurrent = Amps.zero();
+    inputs.climbAngle.mut_replace(0, Degrees);
+    inputs.climbVelocity.mut_replace(0, DegreesPerSecond);
+    inputs.climbCurrent.mut_replace(0, Amps);
   }
 
   public void setClimbVoltage(Voltage volts) {}
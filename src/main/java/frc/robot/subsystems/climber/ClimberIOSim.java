@@ -4,7 +4,6 @@ package frc.robot.subsystems.climber;
 import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.Radians;
-import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
@@ -67,9 +66,8 @@ public class ClimberIOSim implements ClimberIO {
 
   public void updateInputs(ClimberInputs inputs) { // gets info to update inputs
     climbSim.update(0.02);
-    inputs.climbAngle = Radians.of(climbSim.getAngleRads());
-    inputs.climbVelocity = RadiansPerSecond.of(climbSim.getVelocityRadPerSec());
-    inputs.climbCurrent = Amps.of(climbSim.getCurrentDrawAmps());
+    inputs.update(
+        climbSim.getAngleRads(), climbSim.getVelocityRadPerSec(), climbSim.getCurrentDrawAmps());
   }
 
   public void resetEncoder(Angle angle) {
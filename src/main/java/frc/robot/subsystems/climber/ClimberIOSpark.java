@@ -18,6 +18,8 @@ import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.Servo;
+import frc.robot.util.CoalescingServo;
+import frc.robot.util.CoalescingSparkMax;
 
 /*
  * Spark implementation of the real climber subsystem
@@ -32,6 +34,10 @@ public class ClimberIOSpark implements ClimberIO {
 
   private final Servo climbServo = new Servo(ClimberConstants.kServoPort);
 
+  // the climber commands set the motor and servo every loop, so only send them when they change
+  private final CoalescingSparkMax climbWriter = new CoalescingSparkMax(climbMotor);
+  private final CoalescingServo servoWriter = new CoalescingServo(climbServo);
+
   public void configureMotors() {
     climbMotor.configure( // configures single motor
         new SparkMaxConfig()
@@ -52,17 +58,17 @@ public class ClimberIOSpark implements ClimberIO {
 
   // sets climb current
   public void setClimbCurrent(Current current) {
-    climbMotor.getClosedLoopController().setReference(current.in(Amps), ControlType.kCurrent);
+    climbWriter.setReference(current.in(Amps), ControlType.kCurrent);
   }
 
   // sets climb voltage
   public void setClimbVoltage(Voltage volts) {
-    climbMotor.setVoltage(volts);
+    climbWriter.setVoltage(volts.in(Volts));
   }
 
   // sets servo to a specified position
   public void setLockServoAngle(Angle angle) {
-    climbServo.setAngle(angle.in(Degrees));
+    servoWriter.setAngle(angle.in(Degrees));
   }
 
   public void updateInputs(ClimberInputs inputs) {
@@ -70,9 +76,9 @@ public class ClimberIOSpark implements ClimberIO {
     double rawAngle = climbMotor.getEncoder().getPosition();
 
     // Update inputs with the modulus-adjusted angle
-    inputs.climbAngle = Degrees.of(rawAngle);
-    inputs.climbVelocity = DegreesPerSecond.of(climbMotor.getEncoder().getVelocity());
-    inputs.climbCurrent = Amps.of(climbMotor.getOutputCurrent());
+    inputs.climbAngle.mut_replace(rawAngle, Degrees);
+    inputs.climbVelocity.mut_replace(climbMotor.getEncoder().getVelocity(), DegreesPerSecond);
+    inputs.climbCurrent.mut_replace(climbMotor.getOutputCurrent(), Amps);
   }
 
   public void resetEncoder(Angle angle) {
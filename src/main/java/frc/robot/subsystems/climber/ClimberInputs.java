@@ -1,14 +1,28 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.climber;
 
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.DegreesPerSecond;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutAngularVelocity;
+import edu.wpi.first.units.measure.MutCurrent;
 
+// The measures are updated in place every loop, so copy() one to hold on to its value
 @Logged
 public class ClimberInputs {
-  public Current climbCurrent; // current that the climb will be running
-  public Angle climbAngle; // climb angle
-  public AngularVelocity climbVelocity; // climb velocity
+  public final MutCurrent climbCurrent = Amps.mutable(0); // current that the climb will be running
+  public final MutAngle climbAngle = Degrees.mutable(0); // climb angle
+  public final MutAngularVelocity climbVelocity = DegreesPerSecond.mutable(0); // climb velocity
+
+  // refills every input in place from raw sensor values
+  public void update(double angleRadians, double velocityRadiansPerSecond, double currentAmps) {
+    climbAngle.mut_replace(angleRadians, Radians);
+    climbVelocity.mut_replace(velocityRadiansPerSecond, RadiansPerSecond);
+    climbCurrent.mut_replace(currentAmps, Amps);
+  }
 }
@@ -2,11 +2,13 @@
 package frc.robot.subsystems.coralendeffector;
 
 import static edu.wpi.first.units.Units.RPM;
-import static edu.wpi.first.units.Units.Volts;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.RobotBase;
@@ -14,12 +16,20 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.subsystems.leds.Leds;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 // coral end effector subsystem (now a coral / algae end effector mechanism)
 @Logged
 public class CoralEndEffector extends SubsystemBase {
+  private static final double kCoralStallRadiansPerSecond =
+      CoralEndEffectorConstants.kCoralStallRPM.in(RadiansPerSecond);
+
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("CoralEndEffector");
+
   private CoralEndEffectorInputs inputs;
   private CoralEndEffectorIO io;
 
@@ -49,24 +59,35 @@ public class CoralEndEffector extends SubsystemBase {
   // constantly updates inputs
   @Override
   public void periodic() {
+    profilerSection.start();
     io.updateInputs(inputs);
+    profilerSection.stop();
   }
 
   // run the end effector at a certain specified velocity using PIDFF control
   // Will only run once; For a continuous method, see runAtVelocity(Supplier<AngularVelocity>)
   public void runAtVelocity(AngularVelocity velocity) {
+    runAtVelocity(velocity.in(RadiansPerSecond));
+  }
+
+  // same as runAtVelocity(AngularVelocity), but takes the velocity in radians per second
+  public void runAtVelocity(double velocityRadiansPerSecond) {
+    final double velocityRPM =
+        Units.radiansPerSecondToRotationsPerMinute(velocityRadiansPerSecond);
     double output =
-        endEffectorController.calculate(inputs.velocity.in(RPM), velocity.in(RPM))
-            + feedforward.calculate(velocity.in(RPM));
-    io.setVoltage(Volts.of(output));
+        endEffectorController.calculate(inputs.velocity.in(RPM), velocityRPM)
+            + feedforward.calculate(velocityRPM);
+    io.setVoltage(output);
   }
 
   // continuously run the end effector at a certain velocity supplied by the velocity supplier
   public Command runAtVelocity(Supplier<AngularVelocity> velocity) {
-    return run(
-        () -> {
-          runAtVelocity(velocity.get());
-        });
+    return runAtVelocity(() -> velocity.get().in(RadiansPerSecond));
+  }
+
+  // continuously run the end effector at a velocity in radians per second, read once per loop
+  public Command runAtVelocity(DoubleSupplier velocityRadiansPerSecond) {
+    return run(() -> runAtVelocity(velocityRadiansPerSecond.getAsDouble()));
   }
 
   // shortcut to intake coral
@@ -93,13 +114,7 @@ public class CoralEndEffector extends SubsystemBase {
 
   // stalls coral if we have a coral; this should be the default command
   public Command stallCoralIfDetected() {
-    return runAtVelocity(
-        () -> {
-          if (hasCoral()) {
-            return CoralEndEffectorConstants.kCoralStallRPM;
-          }
-          return RPM.of(0);
-        });
+    return runAtVelocity(() -> hasCoral() ? kCoralStallRadiansPerSecond : 0);
   }
 
   // tune PIDFF of end effector
@@ -114,7 +129,7 @@ public class CoralEndEffector extends SubsystemBase {
         () -> {
           endEffectorController.setPID(kP.get(), kI.get(), kD.get());
           feedforward = new SimpleMotorFeedforward(0, kV.get());
-          runAtVelocity(RPM.of(targetRPM.get()));
+          runAtVelocity(Units.rotationsPerMinuteToRadiansPerSecond(targetRPM.get()));
         });
   }
 }
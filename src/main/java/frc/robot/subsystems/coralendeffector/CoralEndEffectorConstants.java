@@ -25,6 +25,9 @@ public class CoralEndEffectorConstants {
   public static final AngularVelocity kCoralStallRPM = RPM.of(500);
   public static final AngularVelocity kAlgaeKnockRPM = RPM.of(-3000);
 
+  // dashboard toggle that stands in for the coral sensor in simulation
+  public static final String kSimHasCoralKey = "/SimInputs/CoralEndEffector/HasCoral";
+
   // Tuned constants
   public static final Distance kDetectionRange = Millimeters.of(100);
 
@@ -1,6 +1,8 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.coralendeffector;
 
+import static edu.wpi.first.units.Units.Volts;
+
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.units.measure.Voltage;
 
@@ -9,5 +11,9 @@ import edu.wpi.first.units.measure.Voltage;
 public interface CoralEndEffectorIO {
   default void updateInputs(CoralEndEffectorInputs inputs) {}
 
-  default void setVoltage(Voltage voltage) {}
+  default void setVoltage(Voltage voltage) {
+    setVoltage(voltage.in(Volts));
+  }
+
+  default void setVoltage(double volts) {}
 }
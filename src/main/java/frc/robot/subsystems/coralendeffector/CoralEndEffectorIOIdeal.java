@@ -17,8 +17,8 @@ public class CoralEndEffectorIOIdeal implements CoralEndEffectorIO {
   // All input default values are off or false
   @Override
   public void updateInputs(CoralEndEffectorInputs inputs) {
-    inputs.voltage = Volts.of(0);
+    inputs.voltage.mut_replace(0, Volts);
     inputs.hasCoral = false;
-    inputs.velocity = RPM.of(0);
+    inputs.velocity.mut_replace(0, RPM);
   }
 }
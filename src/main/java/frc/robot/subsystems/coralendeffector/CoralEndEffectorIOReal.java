@@ -12,7 +12,7 @@ import com.revrobotics.spark.SparkLowLevel.MotorType;
 import com.revrobotics.spark.SparkMax;
 import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Voltage;
+import frc.robot.util.CoalescingSparkMax;
 
 // implementation of the CoralEndEffectorIO that controls the real coral end effector using a
 // SparkMax motoro
@@ -22,6 +22,7 @@ public class CoralEndEffectorIOReal implements CoralEndEffectorIO {
   public static CoralEndEffectorConfig config = new CoralEndEffectorConfig(0.00007, 0, 0, 0.0022);
 
   private SparkMax motor; // motor controlling the end effector wheels
+  private CoalescingSparkMax motorWriter; // only sends voltages when they change
   private TimeOfFlight
       coralDistSensor; // TOF distance sensor for detecting whether or not there is a coral in the
 
@@ -36,6 +37,7 @@ public class CoralEndEffectorIOReal implements CoralEndEffectorIO {
             .smartCurrentLimit(CoralEndEffectorConstants.kCurrentLimit),
         ResetMode.kResetSafeParameters,
         PersistMode.kPersistParameters);
+    motorWriter = new CoalescingSparkMax(motor);
 
     // init distance sensor
     coralDistSensor = new TimeOfFlight(CoralEndEffectorConstants.kCoralSensorId);
@@ -43,16 +45,16 @@ public class CoralEndEffectorIOReal implements CoralEndEffectorIO {
 
   // sets voltage of the coral intake wheels
   @Override
-  public void setVoltage(Voltage voltage) {
-    motor.setVoltage(voltage);
+  public void setVoltage(double volts) {
+    motorWriter.setVoltage(volts);
   }
 
   // update inputs from the coral intake sensors
   @Override
   public void updateInputs(CoralEndEffectorInputs inputs) {
-    inputs.voltage = Volts.of(motor.getBusVoltage());
+    inputs.voltage.mut_replace(motor.getBusVoltage(), Volts);
     inputs.hasCoral =
         coralDistSensor.getRange() < CoralEndEffectorConstants.kDetectionRange.in(Millimeter);
-    inputs.velocity = RPM.of(this.motor.getEncoder().getVelocity());
+    inputs.velocity.mut_replace(this.motor.getEncoder().getVelocity(), RPM);
   }
 }
@@ -1,13 +1,10 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.coralendeffector;
 
-import static edu.wpi.first.units.Units.RPM;
-import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.math.system.plant.LinearSystemId;
-import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.simulation.DCMotorSim;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
@@ -28,19 +25,20 @@ class CoralEndEffectorIOSim implements CoralEndEffectorIO {
           DCMotor.getNEO(1));
 
   public CoralEndEffectorIOSim() {
-    SmartDashboard.putBoolean("/SimInputs/CoralEndEffector/HasCoral", false);
+    SmartDashboard.putBoolean(CoralEndEffectorConstants.kSimHasCoralKey, false);
   }
 
   @Override
   public void updateInputs(CoralEndEffectorInputs inputs) {
     simulation.update(0.02);
-    inputs.voltage = Volts.of(simulation.getInputVoltage());
-    inputs.velocity = RPM.of(simulation.getAngularVelocityRPM());
-    inputs.hasCoral = SmartDashboard.getBoolean("/SimInputs/CoralEndEffector/HasCoral", false);
+    inputs.update(
+        simulation.getInputVoltage(),
+        simulation.getAngularVelocityRPM(),
+        SmartDashboard.getBoolean(CoralEndEffectorConstants.kSimHasCoralKey, false));
   }
 
   @Override
-  public void setVoltage(Voltage voltage) {
-    simulation.setInputVoltage(voltage.in(Volts));
+  public void setVoltage(double volts) {
+    simulation.setInputVoltage(volts);
   }
 }
@@ -1,15 +1,28 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.coralendeffector;
 
+import static edu.wpi.first.units.Units.RPM;
+import static edu.wpi.first.units.Units.Volts;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.units.measure.MutAngularVelocity;
+import edu.wpi.first.units.measure.MutVoltage;
 
 // below are inputs that the coral end effector will receive
+// The measures are updated in place every loop, so copy() one to hold on to its value
 @Logged
 public class CoralEndEffectorInputs {
-  public Voltage voltage; // voltage the end effector motor is currently being commanded to run at
+  public final MutVoltage voltage =
+      Volts.mutable(0); // voltage the end effector motor is currently being commanded to run at
   public boolean
       hasCoral; // whether or not the end effector has a coral in it, measured by a distance sensor
-  public AngularVelocity velocity; // the angular velocity of the end effector wheels
+  public final MutAngularVelocity velocity =
+      RPM.mutable(0); // the angular velocity of the end effector wheels
+
+  // refills every input in place from raw sensor values
+  public void update(double volts, double velocityRPM, boolean hasCoral) {
+    voltage.mut_replace(volts, Volts);
+    velocity.mut_replace(velocityRPM, RPM);
+    this.hasCoral = hasCoral;
+  }
 }
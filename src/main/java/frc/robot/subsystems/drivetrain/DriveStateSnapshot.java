@@ -0,0 +1,114 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.drivetrain;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Drivetrain state captured once per loop at the start of the drivetrain's periodic(). Every
+ * SwerveDrive getter reads from here, so all consumers within a loop see the same state and the
+ * drivetrain is only queried once. Module arrays are preallocated and copied into in place, so
+ * capturing does not allocate beyond the source's own objects.
+ */
+public class DriveStateSnapshot {
+  private Pose2d pose = Pose2d.kZero;
+  private Rotation2d heading = Rotation2d.kZero;
+  private final ChassisSpeeds speeds = new ChassisSpeeds();
+  private SwerveModuleState[] moduleStates = new SwerveModuleState[0];
+  private SwerveModuleState[] targetModuleStates = new SwerveModuleState[0];
+  private SwerveModulePosition[] modulePositions = new SwerveModulePosition[0];
+  private double timestampSeconds = 0;
+
+  /**
+   * Copies the latest drivetrain state into this snapshot
+   *
+   * @param pose the estimated field pose
+   * @param speeds the measured robot relative speeds
+   * @param heading the raw gyro heading, not adjusted for operator perspective
+   * @param moduleStates the measured module states
+   * @param targetModuleStates the requested module states
+   * @param modulePositions the measured module positions
+   * @param timestampSeconds the time the state was sampled at
+   */
+  public void update(
+      Pose2d pose,
+      ChassisSpeeds speeds,
+      Rotation2d heading,
+      SwerveModuleState[] moduleStates,
+      SwerveModuleState[] targetModuleStates,
+      SwerveModulePosition[] modulePositions,
+      double timestampSeconds) {
+    this.pose = pose;
+    this.heading = heading;
+    this.timestampSeconds = timestampSeconds;
+
+    this.speeds.vxMetersPerSecond = speeds.vxMetersPerSecond;
+    this.speeds.vyMetersPerSecond = speeds.vyMetersPerSecond;
+    this.speeds.omegaRadiansPerSecond = speeds.omegaRadiansPerSecond;
+
+    this.moduleStates = copyStates(moduleStates, this.moduleStates);
+    this.targetModuleStates = copyStates(targetModuleStates, this.targetModuleStates);
+
+    if (this.modulePositions.length != modulePositions.length) {
+      this.modulePositions = new SwerveModulePosition[modulePositions.length];
+      for (int i = 0; i < modulePositions.length; i++) {
+        this.modulePositions[i] = new SwerveModulePosition();
+      }
+    }
+    for (int i = 0; i < modulePositions.length; i++) {
+      this.modulePositions[i].distanceMeters = modulePositions[i].distanceMeters;
+      this.modulePositions[i].angle = modulePositions[i].angle;
+    }
+  }
+
+  private static SwerveModuleState[] copyStates(
+      SwerveModuleState[] source, SwerveModuleState[] destination) {
+    if (destination.length != source.length) {
+      destination = new SwerveModuleState[source.length];
+      for (int i = 0; i < source.length; i++) {
+        destination[i] = new SwerveModuleState();
+      }
+    }
+    for (int i = 0; i < source.length; i++) {
+      destination[i].speedMetersPerSecond = source[i].speedMetersPerSecond;
+      destination[i].angle = source[i].angle;
+    }
+    return destination;
+  }
+
+  // used after an odometry reset, before the drivetrain has reported the new pose back
+  public void setPose(Pose2d pose) {
+    this.pose = pose;
+  }
+
+  public Pose2d getPose() {
+    return pose;
+  }
+
+  public Rotation2d getHeading() {
+    return heading;
+  }
+
+  public ChassisSpeeds getSpeeds() {
+    return speeds;
+  }
+
+  public SwerveModuleState[] getModuleStates() {
+    return moduleStates;
+  }
+
+  public SwerveModuleState[] getTargetModuleStates() {
+    return targetModuleStates;
+  }
+
+  public SwerveModulePosition[] getModulePositions() {
+    return modulePositions;
+  }
+
+  public double getTimestampSeconds() {
+    return timestampSeconds;
+  }
+}
@@ -6,6 +6,7 @@ import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
 import static edu.wpi.first.units.Units.RadiansPerSecond;
+import static edu.wpi.first.units.Units.Seconds;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
@@ -13,6 +14,7 @@ import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.LinearVelocity;
+import edu.wpi.first.units.measure.Time;
 import edu.wpi.first.wpilibj.RobotBase;
 
 @Logged
@@ -50,4 +52,9 @@ public class DrivetrainConstants {
 
   public static final Distance kAlignmentSetpointTranslationTolerance = Meters.of(0.01);
   public static final Angle kAlignmentSetpointRotationTolerance = Degrees.of(2.0);
+
+  // odometry pose history for vision gating and latency compensation
+  public static final Time kPoseHistoryWindow = Seconds.of(2);
+  // enough for the window at the 250 Hz CAN FD odometry rate
+  public static final int kPoseHistoryCapacity = 512;
 }
@@ -3,7 +3,6 @@ package frc.robot.subsystems.drivetrain;
 
 import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Meters;
-import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.Seconds;
 
 import com.ctre.phoenix6.Utils;
@@ -11,6 +10,7 @@ import com.ctre.phoenix6.hardware.CANcoder;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.ctre.phoenix6.swerve.SwerveDrivetrain;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 import com.ctre.phoenix6.swerve.SwerveDrivetrainConstants;
 import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
 import com.ctre.phoenix6.swerve.SwerveModule.ModuleRequest;
@@ -37,7 +37,9 @@ import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.RobotConstants;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.MyAlliance;
+import frc.robot.util.PoseHistory;
 import java.util.function.DoubleSupplier;
 
 /*
@@ -68,12 +70,29 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
           .withRotationalDeadband(0.1);
   // .withRotationalDeadband(0.25);
 
+  // updated from the CTRE odometry thread at the odometry frequency, so guard every access
   private final SwerveDrivePoseEstimator reefPoseEstimator;
+  @NotLogged private final Object reefPoseEstimatorLock = new Object();
+  @NotLogged private volatile Pose2d reefVisionPose;
 
   private final Field2d poseField = new Field2d();
 
   private AlignmentSetpoint alignmentSetpoint = new AlignmentSetpoint(Pose2d.kZero, true);
 
+  // getState() copies out of the odometry thread under its lock, so only do it once per loop
+  @NotLogged private final DriveStateSnapshot stateSnapshot = new DriveStateSnapshot();
+
+  // written from the odometry thread for every odometry sample; the heading is the gyro's, not the
+  // fused pose's, so vision is never gated against a heading it already corrected
+  @NotLogged
+  private final PoseHistory poseHistory =
+      new PoseHistory(
+          DrivetrainConstants.kPoseHistoryWindow.in(Seconds),
+          DrivetrainConstants.kPoseHistoryCapacity);
+
+  // turns the raw gyro yaw into a field heading; set whenever the pose is reset
+  @NotLogged private volatile double gyroToFieldRadians;
+
   public DrivetrainReal(
       SwerveDrivetrainConstants drivetrainConstants, SwerveModuleConstants<?, ?, ?>... modules) {
     // create CTRE Swervedrivetrain
@@ -81,10 +100,15 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
     configNeutralMode(NeutralModeValue.Brake);
     configureAutoBuilder();
     configurePoseControllers();
+    captureState();
+    gyroToFieldRadians =
+        stateSnapshot.getPose().getRotation().minus(stateSnapshot.getHeading()).getRadians();
 
     this.reefPoseEstimator =
         new SwerveDrivePoseEstimator(
             getKinematics(), getHeading(), getModulePositions(), getPose());
+    this.reefVisionPose = reefPoseEstimator.getEstimatedPosition();
+    registerTelemetry(this::onOdometryUpdate);
 
     SmartDashboard.putData("Drivetrain Pose Field", poseField);
   }
@@ -198,26 +222,26 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
 
   @Override
   public void driveToFieldPose(Pose2d pose) {
+    final var currentPose = getPose();
+
     ChassisSpeeds targetSpeeds =
         DriverStation.isAutonomous()
             ? ChassisSpeeds.discretize(
-                xPoseController.calculate(getPose().getX(), pose.getX())
+                xPoseController.calculate(currentPose.getX(), pose.getX())
                     + xPoseController.getSetpoint().velocity,
-                yPoseController.calculate(getPose().getY(), pose.getY())
+                yPoseController.calculate(currentPose.getY(), pose.getY())
                     + yPoseController.getSetpoint().velocity,
                 thetaController.calculate(
-                        getPose().getRotation().getRadians(), pose.getRotation().getRadians())
+                        currentPose.getRotation().getRadians(), pose.getRotation().getRadians())
                     + thetaController.getSetpoint().velocity,
                 RobotConstants.kRobotLoopPeriod.in(Seconds))
             : ChassisSpeeds.discretize(
-                xPoseController.calculate(getPose().getX(), pose.getX()),
-                yPoseController.calculate(getPose().getY(), pose.getY()),
+                xPoseController.calculate(currentPose.getX(), pose.getX()),
+                yPoseController.calculate(currentPose.getY(), pose.getY()),
                 thetaController.calculate(
-                    getPose().getRotation().getRadians(), pose.getRotation().getRadians()),
+                    currentPose.getRotation().getRadians(), pose.getRotation().getRadians()),
                 RobotConstants.kRobotLoopPeriod.in(Seconds));
 
-    final var currentPose = getPose();
-
     if (currentPose.getTranslation().getDistance(alignmentSetpoint.pose().getTranslation())
         < DrivetrainConstants.kAlignmentSetpointTranslationTolerance.in(Meters))
       targetSpeeds = new ChassisSpeeds(0, 0, targetSpeeds.omegaRadiansPerSecond);
@@ -272,6 +296,16 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
             < rotTol.in(Degrees);
   }
 
+  @Override
+  public void resetPose(Pose2d pose) {
+    super.resetPose(pose);
+    // the odometry thread has not seen the reset yet, so don't report the old pose this loop
+    stateSnapshot.setPose(pose);
+    gyroToFieldRadians = pose.getRotation().minus(stateSnapshot.getHeading()).getRadians();
+    // poses from before the reset would not line up with the ones after it
+    poseHistory.clear();
+  }
+
   @Override
   public void setSwerveModuleStates(SwerveModuleState[] states) {
     for (int i = 0; i < super.getModules().length; i++) {
@@ -282,43 +316,53 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
   @Logged(name = "MeasuredModuleStates")
   @Override
   public SwerveModuleState[] getMeasuredModuleStates() {
-    return super.getState().ModuleStates;
+    return stateSnapshot.getModuleStates();
   }
 
   @Logged(name = "MeasuredModulePositions")
   @Override
   public SwerveModulePosition[] getModulePositions() {
-    return super.getState().ModulePositions;
+    return stateSnapshot.getModulePositions();
   }
 
   @Logged(name = "TargetModuleStates")
   @Override
   public SwerveModuleState[] getTargetModuleStates() {
-    return super.getState().ModuleTargets;
+    return stateSnapshot.getTargetModuleStates();
   }
 
   @Logged(name = "ReefVisionEstimatedPose")
   @Override
   public Pose2d getReefVisionPose() {
-    return reefPoseEstimator.getEstimatedPosition();
+    return reefVisionPose;
   }
 
   @Logged(name = "MeasuredRobotPose")
   @Override
   public Pose2d getPose() {
-    return super.getState().Pose;
+    return stateSnapshot.getPose();
   }
 
   @Logged(name = "MeasuredRobotRelativeChassisSpeeds")
   @Override
   public ChassisSpeeds getChassisSpeeds() {
-    return super.getState().Speeds;
+    return stateSnapshot.getSpeeds();
   }
 
   @Logged(name = "MeasuredHeadingRad")
   @Override
   public Rotation2d getHeading() {
-    return new Rotation2d(super.getPigeon2().getYaw().getValue().in(Radians));
+    return stateSnapshot.getHeading();
+  }
+
+  @Override
+  public DriveStateSnapshot getStateSnapshot() {
+    return stateSnapshot;
+  }
+
+  @Override
+  public PoseHistory getPoseHistory() {
+    return poseHistory;
   }
 
   @Override
@@ -329,7 +373,11 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
   @Override
   public void addReefVisionMeasurement(
       Pose2d visionRobotPose, double timeStampSeconds, Matrix<N3, N1> standardDeviations) {
-    reefPoseEstimator.addVisionMeasurement(visionRobotPose, timeStampSeconds, standardDeviations);
+    synchronized (reefPoseEstimatorLock) {
+      reefPoseEstimator.addVisionMeasurement(
+          visionRobotPose, timeStampSeconds, standardDeviations);
+      reefVisionPose = reefPoseEstimator.getEstimatedPosition();
+    }
   }
 
   @Override
@@ -339,11 +387,46 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
         visionRobotPose, Utils.fpgaToCurrentTime(timeStampSeconds), standardDeviations);
   }
 
+  // runs on the CTRE odometry thread for every odometry sample
+  private void onOdometryUpdate(SwerveDriveState state) {
+    // the reef estimator and pose history run on the FPGA timebase like vision timestamps
+    final double fpgaTimestamp = Utils.currentTimeToFPGATime(state.Timestamp);
+
+    poseHistory.addSample(
+        fpgaTimestamp,
+        state.Pose.getX(),
+        state.Pose.getY(),
+        state.RawHeading.getRadians() + gyroToFieldRadians);
+
+    synchronized (reefPoseEstimatorLock) {
+      reefVisionPose =
+          reefPoseEstimator.updateWithTime(
+              fpgaTimestamp, state.RawHeading, state.ModulePositions);
+    }
+  }
+
+  private void captureState() {
+    final var state = super.getState();
+    stateSnapshot.update(
+        state.Pose,
+        state.Speeds,
+        state.RawHeading,
+        state.ModuleStates,
+        state.ModuleTargets,
+        state.ModulePositions,
+        state.Timestamp);
+  }
+
   @NotLogged private Alliance lastAlliance;
 
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("Drivetrain");
+
   @Override
   public void periodic() {
-    reefPoseEstimator.update(getHeading(), getModulePositions());
+    profilerSection.start();
+    // subsystems run before commands, so everything this loop reads the same state
+    captureState();
 
     if (DriverStation.isDisabled()) {
       DriverStation.getAlliance()
@@ -357,5 +440,6 @@ public class DrivetrainReal extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder>
     }
 
     poseField.setRobotPose(getPose());
+    profilerSection.stop();
   }
 }
@@ -5,9 +5,11 @@ import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.Pounds;
+import static edu.wpi.first.units.Units.Seconds;
 
 import com.pathplanner.lib.util.DriveFeedforwards;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
@@ -23,10 +25,13 @@ import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.commands.ReefAlign;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PoseHistory;
 import frc.robot.util.SelfControlledSwerveDriveSimulationWrapper;
 import java.util.function.DoubleSupplier;
 import org.ironmaple.simulation.SimulatedArena;
@@ -47,6 +52,23 @@ public class DrivetrainSim implements SwerveDrive {
 
   private final SwerveDrivePoseEstimator reefPoseEstimator;
 
+  // maple-sim builds new arrays and poses on every getter call, so only query it once per loop
+  @NotLogged private final DriveStateSnapshot stateSnapshot = new DriveStateSnapshot();
+
+  // the heading is the gyro's, not the fused pose's, so vision is never gated against a heading it
+  // already corrected
+  @NotLogged
+  private final PoseHistory poseHistory =
+      new PoseHistory(
+          DrivetrainConstants.kPoseHistoryWindow.in(Seconds),
+          DrivetrainConstants.kPoseHistoryCapacity);
+
+  // turns the raw gyro yaw into a field heading; set whenever the pose is reset
+  @NotLogged private double gyroToFieldRadians;
+
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("Drivetrain");
+
   private final Pose2d kRedTopAutoStart = new Pose2d(10.2, 2.2, Rotation2d.kZero);
   private final Pose2d kRedBotAutoStart = new Pose2d(10.2, 5.8, Rotation2d.kZero);
 
@@ -87,6 +109,10 @@ public class DrivetrainSim implements SwerveDrive {
     field2d = new Field2d();
     SmartDashboard.putData("Drivetrain Pose Field", field2d);
 
+    captureState();
+    gyroToFieldRadians =
+        stateSnapshot.getPose().getRotation().minus(stateSnapshot.getHeading()).getRadians();
+
     this.reefPoseEstimator =
         new SwerveDrivePoseEstimator(
             simulatedDrive.getKinematics(), getHeading(), getModulePositions(), getPose());
@@ -172,23 +198,23 @@ public class DrivetrainSim implements SwerveDrive {
   public void driveToFieldPose(Pose2d pose) {
     if (pose == null) return;
 
+    final Pose2d currentPose = getPose();
+
     ChassisSpeeds targetSpeeds =
         DriverStation.isAutonomous()
             ? new ChassisSpeeds(
-                xPoseController.calculate(getPose().getX(), pose.getX())
+                xPoseController.calculate(currentPose.getX(), pose.getX())
                     + xPoseController.getSetpoint().velocity,
-                yPoseController.calculate(getPose().getY(), pose.getY())
+                yPoseController.calculate(currentPose.getY(), pose.getY())
                     + yPoseController.getSetpoint().velocity,
                 thetaController.calculate(
-                        getPose().getRotation().getRadians(), pose.getRotation().getRadians())
+                        currentPose.getRotation().getRadians(), pose.getRotation().getRadians())
                     + thetaController.getSetpoint().velocity)
             : new ChassisSpeeds(
-                xPoseController.calculate(getPose().getX(), pose.getX()),
-                yPoseController.calculate(getPose().getY(), pose.getY()),
+                xPoseController.calculate(currentPose.getX(), pose.getX()),
+                yPoseController.calculate(currentPose.getY(), pose.getY()),
                 thetaController.calculate(
-                    getPose().getRotation().getRadians(), pose.getRotation().getRadians()));
-
-    final Pose2d currentPose = getPose();
+                    currentPose.getRotation().getRadians(), pose.getRotation().getRadians()));
 
     if (currentPose.getTranslation().getDistance(alignmentSetpoint.pose().getTranslation())
         < DrivetrainConstants.kAlignmentSetpointTranslationTolerance.in(Meters))
@@ -219,6 +245,9 @@ public class DrivetrainSim implements SwerveDrive {
   @Override
   public void resetPose(Pose2d pose) {
     simulatedDrive.resetOdometry(pose);
+    stateSnapshot.setPose(pose);
+    gyroToFieldRadians = pose.getRotation().minus(stateSnapshot.getHeading()).getRadians();
+    poseHistory.clear();
   }
 
   @Override
@@ -247,19 +276,19 @@ public class DrivetrainSim implements SwerveDrive {
   @Logged(name = "MeasuredModuleStates")
   @Override
   public SwerveModuleState[] getMeasuredModuleStates() {
-    return simulatedDrive.getMeasuredStates();
+    return stateSnapshot.getModuleStates();
   }
 
   @Logged(name = "MeasuredModulePositions")
   @Override
   public SwerveModulePosition[] getModulePositions() {
-    return simulatedDrive.getLatestModulePositions();
+    return stateSnapshot.getModulePositions();
   }
 
   @Logged(name = "TargetModuleStates")
   @Override
   public SwerveModuleState[] getTargetModuleStates() {
-    return simulatedDrive.getSetPointsOptimized();
+    return stateSnapshot.getTargetModuleStates();
   }
 
   @Logged(name = "ReefVisionEstimatedPose")
@@ -271,7 +300,7 @@ public class DrivetrainSim implements SwerveDrive {
   @Logged(name = "MeasuredRobotPose")
   @Override
   public Pose2d getPose() {
-    return simulatedDrive.getOdometryEstimatedPose();
+    return stateSnapshot.getPose();
   }
 
   @Logged(name = "ActualRobotPose")
@@ -282,13 +311,23 @@ public class DrivetrainSim implements SwerveDrive {
   @Logged(name = "MeasuredRobotRelativeChassisSpeeds")
   @Override
   public ChassisSpeeds getChassisSpeeds() {
-    return simulatedDrive.getMeasuredSpeedsRobotRelative(false);
+    return stateSnapshot.getSpeeds();
   }
 
   @Logged(name = "MeasuredHeading")
   @Override
   public Rotation2d getHeading() {
-    return simulatedDrive.getDriveTrainSimulation().getGyroSimulation().getGyroReading();
+    return stateSnapshot.getHeading();
+  }
+
+  @Override
+  public DriveStateSnapshot getStateSnapshot() {
+    return stateSnapshot;
+  }
+
+  @Override
+  public PoseHistory getPoseHistory() {
+    return poseHistory;
   }
 
   @Override
@@ -315,15 +354,35 @@ public class DrivetrainSim implements SwerveDrive {
 
   @Override
   public void periodic() {
+    profilerSection.start();
     // update simulated drive and arena
     SimulatedArena.getInstance().simulationPeriodic();
     simulatedDrive.periodic();
+    captureState();
+    // maple-sim has no odometry thread, so the history is sampled once per loop
+    poseHistory.addSample(
+        stateSnapshot.getTimestampSeconds(),
+        stateSnapshot.getPose().getX(),
+        stateSnapshot.getPose().getY(),
+        stateSnapshot.getHeading().getRadians() + gyroToFieldRadians);
 
     reefPoseEstimator.update(getHeading(), getModulePositions());
 
     // send simulation data to dashboard for testing
     field2d.setRobotPose(simulatedDrive.getActualPoseInSimulationWorld());
     field2d.getObject("odometry").setPose(getPose());
+    profilerSection.stop();
+  }
+
+  private void captureState() {
+    stateSnapshot.update(
+        simulatedDrive.getOdometryEstimatedPose(),
+        simulatedDrive.getMeasuredSpeedsRobotRelative(false),
+        simulatedDrive.getDriveTrainSimulation().getGyroSimulation().getGyroReading(),
+        simulatedDrive.getMeasuredStates(),
+        simulatedDrive.getSetPointsOptimized(),
+        simulatedDrive.getLatestModulePositions(),
+        Timer.getFPGATimestamp());
   }
 
   @Logged(name = "RobotLeftAligned")
@@ -7,6 +7,7 @@ import com.pathplanner.lib.config.RobotConfig;
 import com.pathplanner.lib.controllers.PPHolonomicDriveController;
 import com.pathplanner.lib.util.DriveFeedforwards;
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.geometry.Pose2d;
@@ -24,6 +25,7 @@ import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.robot.util.MyAlliance;
+import frc.robot.util.PoseHistory;
 import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
@@ -171,16 +173,17 @@ public interface SwerveDrive extends Subsystem {
   default Command driveToFieldPose(Supplier<AlignmentSetpoint> pose) {
     return runOnce(
             () -> {
+              final Pose2d currentPose = getPose();
               ChassisSpeeds speeds =
                   ChassisSpeeds.fromRobotRelativeSpeeds(
-                      getChassisSpeeds(), getPose().getRotation());
+                      getChassisSpeeds(), currentPose.getRotation());
 
-              xPoseController.reset(getPose().getTranslation().getX(), speeds.vxMetersPerSecond);
+              xPoseController.reset(currentPose.getX(), speeds.vxMetersPerSecond);
 
-              yPoseController.reset(getPose().getTranslation().getY(), speeds.vyMetersPerSecond);
+              yPoseController.reset(currentPose.getY(), speeds.vyMetersPerSecond);
 
               thetaController.reset(
-                  getPose().getRotation().getRadians(), speeds.omegaRadiansPerSecond);
+                  currentPose.getRotation().getRadians(), speeds.omegaRadiansPerSecond);
             })
         .andThen(
             run(
@@ -206,8 +209,31 @@ public interface SwerveDrive extends Subsystem {
 
   ChassisSpeeds getChassisSpeeds();
 
+  /**
+   * @return the speed the drivetrain is translating at, in meters per second
+   */
+  @NotLogged
+  default double getLinearSpeedMetersPerSecond() {
+    final ChassisSpeeds speeds = getChassisSpeeds();
+    return Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond);
+  }
+
   Rotation2d getHeading();
 
+  /**
+   * @return the drivetrain state captured at the start of this loop; the getters above read from
+   *     it
+   */
+  @NotLogged
+  DriveStateSnapshot getStateSnapshot();
+
+  /**
+   * @return the history of the robot's position and gyro heading in the field frame, on the FPGA
+   *     timebase
+   */
+  @NotLogged
+  PoseHistory getPoseHistory();
+
   AlignmentSetpoint getAlignmentSetpoint();
 
   /**
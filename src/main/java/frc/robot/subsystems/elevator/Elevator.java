@@ -6,22 +6,38 @@ import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.MutDistance;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 @Logged
 public class Elevator extends SubsystemBase {
+  private static final double kMinimumHeightMeters =
+      ElevatorConstants.kElevatorMinimumHeight.in(Meters);
+  private static final double kMaximumHeightMeters =
+      ElevatorConstants.kElevatorMaximumHeight.in(Meters);
+  private static final double kHeightToleranceMeters =
+      ElevatorConstants.kHeightTolerance.in(Meters);
+
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("Elevator");
+
   // Initialize all parts of Elevator Subsystem, as well as pid controller
   private ElevatorIO io;
   private ElevatorInputs inputs;
 
-  private Distance targetHeight = ElevatorConstants.kElevatorStartingHeight;
+  // updated in place so setting a new target doesn't allocate
+  private final MutDistance targetHeight =
+      Meters.mutable(ElevatorConstants.kElevatorStartingHeight.in(Meters));
 
   private boolean isHomed = false;
 
@@ -65,20 +81,46 @@ public class Elevator extends SubsystemBase {
 
   // Goes to height
   public void goToHeight(Distance targetHeight) {
-    this.targetHeight = targetHeight;
-    io.goToPosition(targetHeight);
+    goToHeight(targetHeight.in(Meters));
+  }
+
+  // Goes to a height in meters
+  public void goToHeight(double targetHeightMeters) {
+    this.targetHeight.mut_replace(targetHeightMeters, Meters);
+    io.goToPosition(targetHeightMeters);
   }
 
   // returns a Command to go to height
   public Command goToHeight(Supplier<Distance> targetHeight) {
+    return goToHeight(() -> targetHeight.get().in(Meters));
+  }
+
+  // returns a Command to go to a height in meters, without allocating every loop
+  public Command goToHeight(DoubleSupplier targetHeightMeters) {
     return run(
         () -> {
           double setpoint =
               MathUtil.clamp(
-                  targetHeight.get().in(Meters),
-                  ElevatorConstants.kElevatorMinimumHeight.in(Meters),
-                  ElevatorConstants.kElevatorMaximumHeight.in(Meters));
-          goToHeight(Meters.of(setpoint));
+                  targetHeightMeters.getAsDouble(), kMinimumHeightMeters, kMaximumHeightMeters);
+          goToHeight(setpoint);
+        });
+  }
+
+  // Follows a height in meters along a motion planned elsewhere, at a velocity in meters per second
+  public void followHeight(double targetHeightMeters, double velocityMetersPerSecond) {
+    this.targetHeight.mut_replace(targetHeightMeters, Meters);
+    io.followPosition(targetHeightMeters, velocityMetersPerSecond);
+  }
+
+  // returns a Command to follow a planned height; the height is read before the velocity each loop
+  public Command followHeight(
+      DoubleSupplier targetHeightMeters, DoubleSupplier velocityMetersPerSecond) {
+    return run(
+        () -> {
+          double setpoint =
+              MathUtil.clamp(
+                  targetHeightMeters.getAsDouble(), kMinimumHeightMeters, kMaximumHeightMeters);
+          followHeight(setpoint, velocityMetersPerSecond.getAsDouble());
         });
   }
 
@@ -123,26 +165,32 @@ public class Elevator extends SubsystemBase {
         .andThen(
             run(
                 () -> {
-                  goToHeight(Meters.of(targetHeight.get()));
+                  goToHeight(targetHeight.get());
                 }));
   }
 
   // Loops repeatedly
   public void periodic() {
+    profilerSection.start();
     // Constantly updates inputs
     io.updateInputs(inputs);
+    profilerSection.stop();
   }
 
   public Distance getHeight() {
     return inputs.height;
   }
 
+  @NotLogged // already logged as a Distance
+  public double getHeightMeters() {
+    return inputs.height.in(Meters);
+  }
+
   public boolean elevatorIsHomed() {
     return isHomed;
   }
 
   public boolean inCollisionZone() {
-    if (getHeight() == null) return false;
     return getHeight().compareTo(ElevatorConstants.kElevatorDangerHeight) < 0;
   }
 
@@ -154,8 +202,16 @@ public class Elevator extends SubsystemBase {
     return targetHeight;
   }
 
+  @NotLogged // already logged as a Distance
+  public double getTargetHeightMeters() {
+    return targetHeight.in(Meters);
+  }
+
   public boolean atHeight(Distance height) {
-    return Math.abs(inputs.height.in(Meters) - height.in(Meters))
-        < ElevatorConstants.kHeightTolerance.in(Meters);
+    return atHeight(height.in(Meters));
+  }
+
+  public boolean atHeight(double heightMeters) {
+    return Math.abs(inputs.height.in(Meters) - heightMeters) < kHeightToleranceMeters;
   }
 }
@@ -2,6 +2,7 @@
 package frc.robot.subsystems.elevator;
 
 import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
@@ -11,6 +12,7 @@ import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.units.measure.LinearAcceleration;
 import edu.wpi.first.units.measure.LinearVelocity;
 import edu.wpi.first.units.measure.Mass;
@@ -36,6 +38,8 @@ public class ElevatorConstants {
       Meters.of(0.9); // TODO: get this danger height
 
   public static final Distance kSlowedHeight = Inches.of(65);
+  // the fastest the drivetrain may move with the elevator above kSlowedHeight without tipping
+  public static final LinearVelocity kTippingSafeSpeed = MetersPerSecond.of(1.5);
 
   // controller config
   public static final Distance kHeightTolerance = Meters.of(0.1);
@@ -58,4 +62,7 @@ public class ElevatorConstants {
   public static final LinearVelocity kHomingVelocityThreshold = MetersPerSecond.of(0.5);
 
   public static final Voltage kNominalVoltage = Volts.of(12);
+
+  // CAN status signal rates; every other signal is disabled
+  public static final Frequency kSignalUpdateFrequency = Hertz.of(100);
 }
@@ -1,6 +1,9 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevator;
 
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Volts;
+
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.Voltage;
@@ -22,13 +25,29 @@ public interface ElevatorIO {
   default void updateInputs(ElevatorInputs inputs) {}
 
   // run the motor at a specific voltage
-  default void setVoltage(Voltage volts) {}
+  default void setVoltage(Voltage volts) {
+    setVoltage(volts.in(Volts));
+  }
+
+  // run the motor at a specific voltage, in volts
+  default void setVoltage(double volts) {}
 
   // set encoder position; doesn't run the motor
   default void resetEncoderPosition() {}
 
   // run elevator to position using onboard pid controller
-  default void goToPosition(Distance position) {}
+  default void goToPosition(Distance position) {
+    goToPosition(position.in(Meters));
+  }
+
+  // run elevator to a position in meters using onboard pid controller
+  default void goToPosition(double positionMeters) {}
+
+  // run elevator to a position in meters along a motion planned elsewhere, without profiling it
+  // again, using the planned velocity in meters per second as feedforward
+  default void followPosition(double positionMeters, double velocityMetersPerSecond) {
+    goToPosition(positionMeters);
+  }
 
   // set pid values of onboard pid controller
   default void setOnboardPID(ElevatorConfig config) {}
@@ -2,11 +2,11 @@
 package frc.robot.subsystems.elevator;
 
 import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.Voltage;
 
 @Logged
 // Ideal case for use when Elevator is disabled, doesn't actually control anything
@@ -18,14 +18,14 @@ public class ElevatorIOIdeal implements ElevatorIO {
   // Called repeatedly in periodic method in Elevator
   // doesn't do anything here
   public void updateInputs(ElevatorInputs inputs) {
-    inputs.height = ElevatorConstants.kElevatorStartingHeight;
-    inputs.velocity = MetersPerSecond.of(0);
-    inputs.current = Amps.of(0);
+    inputs.height.mut_replace(ElevatorConstants.kElevatorStartingHeight.in(Meters), Meters);
+    inputs.velocity.mut_replace(0, MetersPerSecond);
+    inputs.current.mut_replace(0, Amps);
   }
 
   // Sets power to motors in Volts (Both motors bc Right motor has not been setup to follow left
   // motor)
-  public void setVoltage(Voltage Volts) {}
+  public void setVoltage(double volts) {}
 
   // Sets encoder pos of left motor
   public void setEncoderPosition(Distance height) {}
@@ -1,18 +1,13 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevator;
 
-import static edu.wpi.first.units.Units.Amp;
 import static edu.wpi.first.units.Units.Kilogram;
 import static edu.wpi.first.units.Units.Meters;
-import static edu.wpi.first.units.Units.MetersPerSecond;
-import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.controller.ElevatorFeedforward;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.system.plant.DCMotor;
-import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.simulation.ElevatorSim;
 
 @Logged
@@ -45,15 +40,16 @@ public class ElevatorIOSim implements ElevatorIO {
   // Updates Inputs w/ values from sim (Also tells sim how often to update itself)
   public void updateInputs(ElevatorInputs inputs) {
     simMotor.update(0.02);
-    inputs.height = Meters.of(simMotor.getPositionMeters());
-    inputs.velocity = MetersPerSecond.of(simMotor.getVelocityMetersPerSecond());
-    inputs.current = Amp.of(simMotor.getCurrentDrawAmps());
-    inputs.atSetpoint = pidController.atSetpoint();
+    inputs.update(
+        simMotor.getPositionMeters(),
+        simMotor.getVelocityMetersPerSecond(),
+        simMotor.getCurrentDrawAmps(),
+        pidController.atSetpoint());
   }
 
   // Method that sets power of the motors w/volts
-  public void setVoltage(Voltage volts) {
-    simMotor.setInputVoltage(volts.in(Volts));
+  public void setVoltage(double volts) {
+    simMotor.setInputVoltage(volts);
   }
 
   // resets encoder position to its starting height
@@ -65,13 +61,22 @@ public class ElevatorIOSim implements ElevatorIO {
   }
 
   @Override
-  public void goToPosition(Distance dist) {
+  public void goToPosition(double positionMeters) {
     // TODO: referencing motor position specifically here is iffy, find a way to refactor
-    double motorOutput = pidController.calculate(simMotor.getPositionMeters(), dist.in(Meters));
+    double motorOutput = pidController.calculate(simMotor.getPositionMeters(), positionMeters);
 
     double ff = feedforward.calculate(motorOutput);
 
-    setVoltage(Volts.of(motorOutput + ff));
+    setVoltage(motorOutput + ff);
+  }
+
+  @Override
+  public void followPosition(double positionMeters, double velocityMetersPerSecond) {
+    double motorOutput = pidController.calculate(simMotor.getPositionMeters(), positionMeters);
+
+    double ff = feedforward.calculate(velocityMetersPerSecond);
+
+    setVoltage(motorOutput + ff);
   }
 
   @Override
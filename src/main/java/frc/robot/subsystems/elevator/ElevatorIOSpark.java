@@ -10,7 +10,6 @@ import com.revrobotics.spark.ClosedLoopSlot;
 import com.revrobotics.spark.SparkBase.ControlType;
 import com.revrobotics.spark.SparkBase.PersistMode;
 import com.revrobotics.spark.SparkBase.ResetMode;
-import com.revrobotics.spark.SparkClosedLoopController;
 import com.revrobotics.spark.SparkLowLevel.MotorType;
 import com.revrobotics.spark.SparkMax;
 import com.revrobotics.spark.config.ClosedLoopConfig;
@@ -19,8 +18,8 @@ import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
 import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.controller.ElevatorFeedforward;
-import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.Voltage;
+import frc.robot.util.CoalescingSparkMax;
+import frc.robot.util.SparkMaxLogger;
 
 @Logged
 // For when Elevator is real
@@ -34,25 +33,28 @@ public class ElevatorIOSpark implements ElevatorIO {
   public SparkMax elevatorMotorRight =
       new SparkMax(ElevatorConstants.kRightMotorID, MotorType.kBrushless);
 
-  private SparkClosedLoopController pidController = elevatorMotorRight.getClosedLoopController();
+  // only send setpoints when they change
+  private final CoalescingSparkMax rightWriter = new CoalescingSparkMax(elevatorMotorRight);
 
   private ElevatorFeedforward feedforward = new ElevatorFeedforward(0, 0, 0);
 
-  private Distance lastReference = Meters.of(0);
+  private double lastReferenceMeters = 0;
 
   // Constructor: Sets up motors
   public ElevatorIOSpark() {
     setupMotors();
     setOnboardPID(config);
+
+    SparkMaxLogger.setLogDivisor(elevatorMotorLeft, SparkMaxLogger.kFollowerLogDivisor);
   }
 
   // Updates inputs with values from encoder (Called periodically in periodic function later)
   public void updateInputs(ElevatorInputs inputs) {
-    inputs.height = Meters.of(elevatorMotorLeft.getEncoder().getPosition());
-    inputs.velocity = MetersPerSecond.of(elevatorMotorLeft.getEncoder().getVelocity());
-    inputs.current = Amps.of(elevatorMotorLeft.getOutputCurrent());
+    inputs.height.mut_replace(elevatorMotorLeft.getEncoder().getPosition(), Meters);
+    inputs.velocity.mut_replace(elevatorMotorLeft.getEncoder().getVelocity(), MetersPerSecond);
+    inputs.current.mut_replace(elevatorMotorLeft.getOutputCurrent(), Amps);
     inputs.atSetpoint =
-        Math.abs(elevatorMotorLeft.getEncoder().getPosition() - lastReference.in(Meters))
+        Math.abs(elevatorMotorLeft.getEncoder().getPosition() - lastReferenceMeters)
             < ElevatorConstants.kHeightTolerance.in(Meters);
     ;
   }
@@ -87,8 +89,8 @@ public class ElevatorIOSpark implements ElevatorIO {
   }
 
   // Sets power of motors w/voltage
-  public void setVoltage(Voltage Volts) {
-    elevatorMotorRight.setVoltage(Volts);
+  public void setVoltage(double volts) {
+    rightWriter.setVoltage(volts);
   }
 
   // resets encoder pos
@@ -103,11 +105,19 @@ public class ElevatorIOSpark implements ElevatorIO {
   }
 
   @Override
-  public void goToPosition(Distance position) {
+  public void goToPosition(double positionMeters) {
     double ffOutput = feedforward.calculate(0);
-    lastReference = position;
-    pidController.setReference(
-        position.in(Meters), ControlType.kPosition, ClosedLoopSlot.kSlot0, ffOutput);
+    lastReferenceMeters = positionMeters;
+    rightWriter.setReference(
+        positionMeters, ControlType.kPosition, ClosedLoopSlot.kSlot0, ffOutput);
+  }
+
+  @Override
+  public void followPosition(double positionMeters, double velocityMetersPerSecond) {
+    double ffOutput = feedforward.calculate(velocityMetersPerSecond);
+    lastReferenceMeters = positionMeters;
+    rightWriter.setReference(
+        positionMeters, ControlType.kPosition, ClosedLoopSlot.kSlot0, ffOutput);
   }
 
   @Override
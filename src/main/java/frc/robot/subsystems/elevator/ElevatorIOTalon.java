@@ -5,16 +5,16 @@ import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
 import static edu.wpi.first.units.Units.MetersPerSecondPerSecond;
-import static edu.wpi.first.units.Units.Volt;
 
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
 import com.ctre.phoenix6.configs.MotionMagicConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
 import com.ctre.phoenix6.configs.Slot0Configs;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.controls.Follower;
-import com.ctre.phoenix6.controls.MotionMagicVoltage;
+import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
 import com.ctre.phoenix6.signals.GravityTypeValue;
@@ -22,8 +22,13 @@ import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.ctre.phoenix6.signals.StaticFeedforwardSignValue;
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
+import frc.robot.util.CoalescingTalonFX;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.TalonFXLogger;
 
 @Logged
 // For when Elevator is real
@@ -39,25 +44,64 @@ public class ElevatorIOTalon implements ElevatorIO {
 
   public TalonFX elevatorMotorRight = new TalonFX(ElevatorConstants.kRightMotorID);
 
+  // only send requests when the setpoint changes
+  private final CoalescingTalonFX leftWriter = new CoalescingTalonFX(elevatorMotorLeft);
+  private final CoalescingTalonFX rightWriter = new CoalescingTalonFX(elevatorMotorRight);
+
+  // cached signals, refreshed once per loop by PhoenixSignalHub
+  @NotLogged private final StatusSignal<Angle> position = elevatorMotorRight.getPosition(false);
+
+  @NotLogged
+  private final StatusSignal<AngularVelocity> velocity = elevatorMotorRight.getVelocity(false);
+
+  @NotLogged
+  private final StatusSignal<Current> statorCurrent = elevatorMotorRight.getStatorCurrent(false);
+
+  @NotLogged
+  private final StatusSignal<Double> closedLoopError = elevatorMotorRight.getClosedLoopError(false);
+
   // Constructor: Sets up motors
   public ElevatorIOTalon() {
     setupMotors();
     setOnboardPID(config);
+
+    // the follow request stays applied, so it only needs to be sent once
+    leftWriter.follow(elevatorMotorRight, ElevatorConstants.kFollowerInverted);
+
+    PhoenixSignalHub.register(
+        elevatorMotorRight, position, velocity, statorCurrent, closedLoopError);
+    configureSignalRates();
+  }
+
+  // keeps only the signals read here, the ones the follower and logger need, and disables the rest
+  private void configureSignalRates() {
+    TalonFXLogger.setTelemetryUpdateFrequency(elevatorMotorLeft);
+    TalonFXLogger.setTelemetryUpdateFrequency(elevatorMotorRight);
+
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        ElevatorConstants.kSignalUpdateFrequency,
+        position,
+        velocity,
+        statorCurrent,
+        closedLoopError,
+        // the left motor follows the right motor's output
+        elevatorMotorRight.getDutyCycle(false),
+        elevatorMotorRight.getMotorVoltage(false),
+        elevatorMotorRight.getTorqueCurrent(false));
+
+    ParentDevice.optimizeBusUtilizationForAll(elevatorMotorLeft, elevatorMotorRight);
   }
 
   // Updates inputs with values from encoder (Called periodically in periodic function later)
   public void updateInputs(ElevatorInputs inputs) {
-    inputs.height =
-        Meters.of(
-            elevatorMotorRight.getPosition().getValueAsDouble()
-                * ElevatorConstants.kElevatorConversion.in(Meters));
-    inputs.velocity =
-        MetersPerSecond.of(
-            elevatorMotorRight.getVelocity().getValueAsDouble()
-                * ElevatorConstants.kElevatorConversion.in(Meters));
-    inputs.current = Amps.of(elevatorMotorRight.getStatorCurrent().getValueAsDouble());
+    inputs.height.mut_replace(
+        position.getValueAsDouble() * ElevatorConstants.kElevatorConversion.in(Meters), Meters);
+    inputs.velocity.mut_replace(
+        velocity.getValueAsDouble() * ElevatorConstants.kElevatorConversion.in(Meters),
+        MetersPerSecond);
+    inputs.current.mut_replace(statorCurrent.getValueAsDouble(), Amps);
     inputs.atSetpoint =
-        elevatorMotorRight.getClosedLoopError().getValueAsDouble()
+        closedLoopError.getValueAsDouble()
                 * ElevatorConstants.kElevatorConversion.in(Meters)
             < ElevatorConstants.kHeightTolerance.in(Meters);
   }
@@ -121,17 +165,19 @@ public class ElevatorIOTalon implements ElevatorIO {
   }
 
   // Sets power of motors w/voltage
-  public void setVoltage(Voltage Volts) {
-    elevatorMotorRight.setVoltage(Volts.in(Volt));
-    elevatorMotorLeft.setControl(
-        new Follower(elevatorMotorRight.getDeviceID(), ElevatorConstants.kFollowerInverted));
+  public void setVoltage(double volts) {
+    rightWriter.setVoltage(volts);
+  }
+
+  @Override
+  public void goToPosition(double positionMeters) {
+    rightWriter.setMotionMagicPosition(convertMetersToRot(positionMeters));
   }
 
   @Override
-  public void goToPosition(Distance position) {
-    elevatorMotorRight.setControl(new MotionMagicVoltage(convertMetersToRot(position.in(Meters))));
-    elevatorMotorLeft.setControl(
-        new Follower(elevatorMotorRight.getDeviceID(), ElevatorConstants.kFollowerInverted));
+  public void followPosition(double positionMeters, double velocityMetersPerSecond) {
+    rightWriter.setPosition(
+        convertMetersToRot(positionMeters), convertMetersToRot(velocityMetersPerSecond), 0, 0);
   }
 
   // resets encoder pos
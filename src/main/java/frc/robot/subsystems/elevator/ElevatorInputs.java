@@ -1,16 +1,31 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevator;
 
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.MetersPerSecond;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Current;
-import edu.wpi.first.units.measure.Distance;
-import edu.wpi.first.units.measure.LinearVelocity;
+import edu.wpi.first.units.measure.MutCurrent;
+import edu.wpi.first.units.measure.MutDistance;
+import edu.wpi.first.units.measure.MutLinearVelocity;
 
 @Logged
 // These are all the things that get "input" into the elevator class from encoders, motors, etc.
+// The measures are updated in place every loop, so copy() one to hold on to its value
 public class ElevatorInputs {
-  public Distance height = ElevatorConstants.kElevatorMinimumHeight;
-  public LinearVelocity velocity;
-  public Current current;
+  public final MutDistance height =
+      Meters.mutable(ElevatorConstants.kElevatorMinimumHeight.in(Meters));
+  public final MutLinearVelocity velocity = MetersPerSecond.mutable(0);
+  public final MutCurrent current = Amps.mutable(0);
   public boolean atSetpoint;
+
+  // refills every input in place from raw sensor values
+  public void update(
+      double heightMeters, double velocityMetersPerSecond, double currentAmps, boolean atSetpoint) {
+    height.mut_replace(heightMeters, Meters);
+    velocity.mut_replace(velocityMetersPerSecond, MetersPerSecond);
+    current.mut_replace(currentAmps, Amps);
+    this.atSetpoint = atSetpoint;
+  }
 }
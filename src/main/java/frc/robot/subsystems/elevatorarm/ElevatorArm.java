@@ -4,7 +4,6 @@ package frc.robot.subsystems.elevatorarm;
 import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.Seconds;
-import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.epilogue.NotLogged;
@@ -20,8 +19,10 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotConstants;
+import frc.robot.util.LoopProfiler;
 import frc.robot.util.TunableConstant;
 import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 // NOTE: Convention is: zeroed when coral intake CG is 90 degrees
@@ -32,6 +33,14 @@ import java.util.function.Supplier;
 // Elevator Arm subsystem - represents the arm/pivot on the elevator
 @Logged
 public class ElevatorArm extends SubsystemBase {
+  private static final double kCMOffsetRadians = ElevatorArmConstants.kCMOffset.in(Radians);
+  private static final double kAngleToleranceDegrees =
+      ElevatorArmConstants.kAngleTolerance.in(Degrees);
+  private static final double kLoopPeriodSeconds = RobotConstants.kRobotLoopPeriod.in(Seconds);
+
+  @NotLogged
+  private final LoopProfiler.Section profilerSection = LoopProfiler.section("ElevatorArm");
+
   // hardware abstraction for the arm
   private ElevatorArmIO io;
   private ElevatorArmInputs inputs;
@@ -41,11 +50,20 @@ public class ElevatorArm extends SubsystemBase {
   private ArmFeedforward feedforward;
   private TrapezoidProfile profile;
   private TrapezoidProfile.State setpointState = new TrapezoidProfile.State();
+  @NotLogged private final TrapezoidProfile.State goalState = new TrapezoidProfile.State();
   private double goalAngle;
   private boolean hasSeeded = false;
+  // whether goToAngle() follows a motion profile, for IOs with onboard control
+  private boolean isProfiled = true;
 
   // config for the arm
   private ElevatorArmConfig config;
+  // the gains and profile constraints last sent to an IO with onboard control
+  @NotLogged private ElevatorArmConfig onboardConfig;
+  @NotLogged private double onboardMaxVelocity = ElevatorArmConstants.kArmConstraints.maxVelocity;
+
+  @NotLogged
+  private double onboardMaxAcceleration = ElevatorArmConstants.kArmConstraints.maxAcceleration;
 
   // suppliers for game piece detection for variable feedforward for game pieces
   @NotLogged private BooleanSupplier hasCoral = () -> false;
@@ -74,6 +92,7 @@ public class ElevatorArm extends SubsystemBase {
   public ElevatorArm(ElevatorArmIO io, ElevatorArmConfig config) {
     this.io = io;
     this.config = config;
+    this.onboardConfig = config;
     this.inputs = new ElevatorArmInputs();
     this.pidController = new PIDController(config.kP(), config.kI(), config.kD());
     this.feedforward = new ArmFeedforward(0, config.kG(), 0);
@@ -87,11 +106,11 @@ public class ElevatorArm extends SubsystemBase {
    *
    * @return the amount of feedforward (in volts) to keep the arm with game piece up
    */
-  private double calculateGamepieceFeedforward(Angle targetAngle) {
+  private double calculateGamepieceFeedforward(double targetAngleRadians) {
     // calculate the amount of feedforward needed to keep a coral
     double output = 0;
     if (hasCoral.getAsBoolean()) {
-      output += config.kCoralFF() * Math.cos(targetAngle.in(Radians));
+      output += config.kCoralFF() * Math.cos(targetAngleRadians);
     }
     return output;
   }
@@ -103,20 +122,44 @@ public class ElevatorArm extends SubsystemBase {
    * @param angle the angle to command the arm to go to
    */
   public void goToAngle(Angle angle) {
-    setpointState =
-        profile.calculate(
-            RobotConstants.kRobotLoopPeriod.in(Seconds),
-            setpointState,
-            new TrapezoidProfile.State(angle.in(Degrees), 0));
+    goToAngle(angle.in(Radians));
+  }
 
+  /**
+   * Commands the arm to go to a desired angle without going through Measures. This needs to be run
+   * continuously
+   *
+   * @param angleRadians the angle to command the arm to go to, in radians
+   */
+  public void goToAngle(double angleRadians) {
+    goalState.position = Math.toDegrees(angleRadians);
+    goalState.velocity = 0;
+
+    if (io.hasOnboardControl()) {
+      // the motor controller runs the profile, PID and arm gravity feedforward itself, so only the
+      // goal is sent, with a held coral's feedforward at the setpoint the controller last reported
+      final double coralVolts = calculateGamepieceFeedforward(inputs.onboardSetpoint.in(Radians));
+      if (isProfiled) io.goToAngleProfiled(goalState.position, coralVolts);
+      else io.goToAngle(goalState.position, coralVolts);
+      setpointState.position = inputs.onboardSetpoint.in(Degrees);
+      return;
+    }
+
+    setpointState = profile.calculate(kLoopPeriodSeconds, setpointState, goalState);
+
+    final double setpointRadians = Math.toRadians(setpointState.position);
     double volts =
         pidController.calculate(inputs.angle.in(Degrees), setpointState.position)
-            + feedforward.calculate(
-                Degrees.of(setpointState.position).plus(ElevatorArmConstants.kCMOffset).in(Radians),
-                0)
-            + calculateGamepieceFeedforward(Degrees.of(setpointState.position));
+            + feedforward.calculate(setpointRadians + kCMOffsetRadians, 0)
+            + calculateGamepieceFeedforward(setpointRadians);
+
+    io.setVoltage(volts);
+  }
 
-    io.setVoltage(Volts.of(volts));
+  // records the goal for atGoal() and goes to it, reading the goal once per loop
+  private void goToGoal(double angleRadians) {
+    goalAngle = Math.toDegrees(angleRadians);
+    goToAngle(angleRadians);
   }
 
   /**
@@ -136,19 +179,35 @@ public class ElevatorArm extends SubsystemBase {
    * @return a command that runs the arm to the desired angle supplied by the Supplier<Angle>
    */
   public Command goToAngleProfiled(Supplier<Angle> angleSup) {
-    return run(() -> {
-          goalAngle = angleSup.get().in(Degrees);
-          goToAngle(angleSup.get());
-        })
-        .beforeStarting(() -> profile = new TrapezoidProfile(ElevatorArmConstants.kArmConstraints));
+    return goToAngleProfiled(() -> angleSup.get().in(Radians));
+  }
+
+  /**
+   * Creates a command that runs the arm to a certain angle NOTE: this command NEVER ends
+   *
+   * @param angleRadians A supplier that supplies the angle for the arm to go to, in radians
+   * @return a command that runs the arm to the desired angle
+   */
+  public Command goToAngleProfiled(DoubleSupplier angleRadians) {
+    return run(() -> goToGoal(angleRadians.getAsDouble()))
+        .beforeStarting(
+            () -> {
+              profile = new TrapezoidProfile(ElevatorArmConstants.kArmConstraints);
+              isProfiled = true;
+            });
   }
 
   public Command goToAnglePID(Supplier<Angle> angleSup) {
-    return run(() -> {
-          goalAngle = angleSup.get().in(Degrees);
-          goToAngle(angleSup.get());
-        })
-        .beforeStarting(() -> profile = new TrapezoidProfile(new Constraints(0, 0)));
+    return goToAnglePID(() -> angleSup.get().in(Radians));
+  }
+
+  public Command goToAnglePID(DoubleSupplier angleRadians) {
+    return run(() -> goToGoal(angleRadians.getAsDouble()))
+        .beforeStarting(
+            () -> {
+              profile = new TrapezoidProfile(new Constraints(0, 0));
+              isProfiled = false;
+            });
   }
 
   /**
@@ -180,7 +239,8 @@ public class ElevatorArm extends SubsystemBase {
   /**
    * Creates a Command that allows the user to tune the ElevatorArm using SmartDashboard
    *
-   * <p>Parameters: kP, kI, kD, kG, TargetAngle
+   * <p>Parameters: kP, kI, kD, kG, TargetAngle, MaxVelocity, MaxAcceleration. With onboard
+   * control, the gains and constraints are sent to the motor controller's own profile and PID
    *
    * @return the command used to tune
    */
@@ -190,8 +250,12 @@ public class ElevatorArm extends SubsystemBase {
     TunableConstant kD = new TunableConstant("/ElevatorArm/kD", config.kD());
     TunableConstant kG = new TunableConstant("/ElevatorArm/kG", config.kG());
     TunableConstant targetAngle = new TunableConstant("/ElevatorArm/TargetAngle", 0);
-    TunableConstant maxVelocity = new TunableConstant("/ElevatorArm/MaxVelocity", 0);
-    TunableConstant maxAcceleration = new TunableConstant("/ElevatorArm/MaxAcceleration", 0);
+    TunableConstant maxVelocity =
+        new TunableConstant(
+            "/ElevatorArm/MaxVelocity", ElevatorArmConstants.kArmConstraints.maxVelocity);
+    TunableConstant maxAcceleration =
+        new TunableConstant(
+            "/ElevatorArm/MaxAcceleration", ElevatorArmConstants.kArmConstraints.maxAcceleration);
 
     return run(
         () -> {
@@ -200,35 +264,62 @@ public class ElevatorArm extends SubsystemBase {
           this.profile =
               new TrapezoidProfile(
                   new TrapezoidProfile.Constraints(maxVelocity.get(), maxAcceleration.get()));
+          // applying configs blocks, so onboard gains are only sent when they change
+          final ElevatorArmConfig tuned =
+              new ElevatorArmConfig(kP.get(), kI.get(), kD.get(), kG.get(), config.kCoralFF());
+          if (io.hasOnboardControl() && !tuned.equals(onboardConfig)) {
+            io.setOnboardPID(tuned);
+            onboardConfig = tuned;
+          }
+          if (io.hasOnboardControl()
+              && (maxVelocity.get() != onboardMaxVelocity
+                  || maxAcceleration.get() != onboardMaxAcceleration)) {
+            onboardMaxVelocity = maxVelocity.get();
+            onboardMaxAcceleration = maxAcceleration.get();
+            io.setOnboardConstraints(
+                new TrapezoidProfile.Constraints(onboardMaxVelocity, onboardMaxAcceleration));
+          }
+          isProfiled = true;
           goalAngle = targetAngle.get();
-          goToAngle(Degrees.of(targetAngle.get()));
+          goToAngle(Math.toRadians(targetAngle.get()));
         });
   }
 
   /** periodic method of the ElevatorArm Just updates the inputs from the sensors for now */
   public void periodic() {
+    profilerSection.start();
     io.updateInputs(this.inputs);
+    profilerSection.stop();
   }
 
+  // with onboard control, the setpoint and error are the ones the motor controller reports
   public boolean atSetpoint() {
-    return pidController.atSetpoint();
+    return io.hasOnboardControl() ? inputs.atSetpoint : pidController.atSetpoint();
   }
 
   public boolean atGoal() {
-    return MathUtil.isNear(
-        setpointState.position, goalAngle, ElevatorArmConstants.kAngleTolerance.in(Degrees));
+    return MathUtil.isNear(setpointState.position, goalAngle, kAngleToleranceDegrees);
   }
 
   public Angle getAngle() {
     return inputs.angle;
   }
 
+  @NotLogged // already logged as an Angle
+  public double getAngleRadians() {
+    return inputs.angle.in(Radians);
+  }
+
   public double getSetpoint() {
     return setpointState.position;
   }
 
   public boolean atAngle(Angle angle) {
-    return Math.abs(inputs.angle.in(Degrees) - angle.in(Degrees))
-        < ElevatorArmConstants.kAngleTolerance.in(Degrees);
+    return atAngle(angle.in(Radians));
+  }
+
+  public boolean atAngle(double angleRadians) {
+    return Math.abs(inputs.angle.in(Degrees) - Math.toDegrees(angleRadians))
+        < kAngleToleranceDegrees;
   }
 }
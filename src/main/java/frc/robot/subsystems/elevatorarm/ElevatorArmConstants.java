@@ -2,12 +2,14 @@
 package frc.robot.subsystems.elevatorarm;
 
 import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.Meters;
 
 import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.wpilibj.RobotBase;
 
 public class ElevatorArmConstants {
@@ -60,4 +62,7 @@ public class ElevatorArmConstants {
       RobotBase.isReal()
           ? new Constraints(720, 1500) // real
           : new Constraints(720, 1500); // sim
+
+  // CAN status signal rates; every other signal is disabled
+  public static final Frequency kSignalUpdateFrequency = Hertz.of(100);
 }
@@ -1,7 +1,10 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevatorarm;
 
+import static edu.wpi.first.units.Units.Volts;
+
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
 import edu.wpi.first.units.measure.Voltage;
 
 // interface for facilitating hardware abstraction
@@ -11,7 +14,30 @@ public interface ElevatorArmIO {
   default void updateInputs(ElevatorArmInputs inputs) {}
 
   // sets voltage to the arm based on the provided voltage
-  default void setVoltage(Voltage volts) {}
+  default void setVoltage(Voltage volts) {
+    setVoltage(volts.in(Volts));
+  }
+
+  // sets voltage to the arm, in volts
+  default void setVoltage(double volts) {}
 
   default void seedEncoderValues() {}
+
+  // whether the motor controller runs the arm's profile and PID itself, see goToAngle()
+  default boolean hasOnboardControl() {
+    return false;
+  }
+
+  // runs the arm to an angle in degrees with the onboard motion profile, adding a feedforward in
+  // volts to the onboard gravity feedforward, e.g. for a held coral
+  default void goToAngleProfiled(double angleDegrees, double feedforwardVolts) {}
+
+  // runs the arm to an angle in degrees with only the onboard PID, adding a feedforward in volts
+  default void goToAngle(double angleDegrees, double feedforwardVolts) {}
+
+  // set pid values of onboard pid controller
+  default void setOnboardPID(ElevatorArmConfig config) {}
+
+  // set the onboard motion profile's constraints, in degrees per second and per second squared
+  default void setOnboardConstraints(Constraints constraints) {}
 }
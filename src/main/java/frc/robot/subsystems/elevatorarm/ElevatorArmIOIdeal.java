@@ -6,7 +6,6 @@ import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.RadiansPerSecond;
 
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Voltage;
 
 /**
  * Implementation of the ElevatorArmIO that does NOT control anything This is used for easily
@@ -17,10 +16,10 @@ public class ElevatorArmIOIdeal implements ElevatorArmIO {
   public static final ElevatorArmConfig config = new ElevatorArmConfig(0, 0, 0, 0, 0);
 
   public void updateInputs(ElevatorArmInputs inputs) {
-    inputs.angle = Radians.of(0);
-    inputs.velocity = RadiansPerSecond.of(0);
-    inputs.current = Amps.of(0);
+    inputs.angle.mut_replace(0, Radians);
+    inputs.velocity.mut_replace(0, RadiansPerSecond);
+    inputs.current.mut_replace(0, Amps);
   }
 
-  public void setVoltage(Voltage volts) {}
+  public void setVoltage(double volts) {}
 }
@@ -1,15 +1,11 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevatorarm;
 
-import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.Radians;
-import static edu.wpi.first.units.Units.RadiansPerSecond;
-import static edu.wpi.first.units.Units.Volts;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.system.plant.DCMotor;
-import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
 
 /** Implementation of the ElevatorArmIO that controls a simulated ElevatorArm */
@@ -34,13 +30,14 @@ public class ElevatorArmIOSim implements ElevatorArmIO {
   // update inputs from the arm simulation
   public void updateInputs(ElevatorArmInputs inputs) {
     simMotor.update(0.02);
-    inputs.angle = Radians.of(simMotor.getAngleRads() - ElevatorArmConstants.kCMOffset.in(Radians));
-    inputs.velocity = RadiansPerSecond.of(simMotor.getVelocityRadPerSec());
-    inputs.current = Amps.of(simMotor.getCurrentDrawAmps());
+    inputs.update(
+        simMotor.getAngleRads() - ElevatorArmConstants.kCMOffset.in(Radians),
+        simMotor.getVelocityRadPerSec(),
+        simMotor.getCurrentDrawAmps());
   }
 
   // set voltage to the arm simulation
-  public void setVoltage(Voltage volts) {
-    simMotor.setInputVoltage(volts.in(Volts));
+  public void setVoltage(double volts) {
+    simMotor.setInputVoltage(volts);
   }
 }
@@ -4,7 +4,6 @@ package frc.robot.subsystems.elevatorarm;
 import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Degrees;
 import static edu.wpi.first.units.Units.DegreesPerSecond;
-import static edu.wpi.first.units.Units.Volts;
 
 import com.revrobotics.spark.SparkBase.PersistMode;
 import com.revrobotics.spark.SparkBase.ResetMode;
@@ -15,7 +14,7 @@ import com.revrobotics.spark.config.EncoderConfig;
 import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
 import com.revrobotics.spark.config.SparkMaxConfig;
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Voltage;
+import frc.robot.util.CoalescingSparkMax;
 
 /**
  * Implementation of the ElevatorArmIO that controls a real ElevatorArm using a SparkMax motor
@@ -31,6 +30,9 @@ public class ElevatorArmIOSpark implements ElevatorArmIO {
   private SparkMax armMotor =
       new SparkMax(ElevatorArmConstants.kElevatorArmId, MotorType.kBrushless);
 
+  // sends voltages to the arm motor only when they change
+  private final CoalescingSparkMax armWriter = new CoalescingSparkMax(armMotor);
+
   // TODO: if elec uses a CANdi, use this for encoder output
   // absolute encoder from 0 to 360
   // private DutyCycleEncoder armEncoder =
@@ -73,19 +75,19 @@ public class ElevatorArmIOSpark implements ElevatorArmIO {
   public void updateInputs(ElevatorArmInputs inputs) {
     // inputs.angle = encoderCandi.getPWM1Position().getValue()
     // TODO: if pid ends up being too messy, seed
-    // inputs.angle = Degrees.of(armMotor.getAnalog().getPosition() - 180);
-    inputs.angle = Degrees.of(armMotor.getEncoder().getPosition());
-    inputs.velocity = DegreesPerSecond.of(armMotor.getEncoder().getVelocity());
-    inputs.current = Amps.of(armMotor.getOutputCurrent());
+    // inputs.angle.mut_replace(armMotor.getAnalog().getPosition() - 180, Degrees);
+    inputs.angle.mut_replace(armMotor.getEncoder().getPosition(), Degrees);
+    inputs.velocity.mut_replace(armMotor.getEncoder().getVelocity(), DegreesPerSecond);
+    inputs.current.mut_replace(armMotor.getOutputCurrent(), Amps);
   }
 
   // set voltage to the arm motor
-  public void setVoltage(Voltage volts) {
-    double voltsWithStall = volts.in(Volts);
+  public void setVoltage(double volts) {
+    double voltsWithStall = volts;
     // TODO: uncomment if arm gearbox exploding becomes an actual issue
     // if (armMotor.getOutputCurrent() > 40) voltsWithStall /= 60; // jank way to make the motor
     // essentially stop
-    armMotor.setVoltage(voltsWithStall);
+    armWriter.setVoltage(voltsWithStall);
   }
 
   public void seedEncoderValues() {
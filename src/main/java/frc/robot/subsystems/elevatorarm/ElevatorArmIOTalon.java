@@ -1,30 +1,55 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevatorarm;
 
-import static edu.wpi.first.units.Units.Volts;
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
 
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
+import com.ctre.phoenix6.configs.MotionMagicConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
 import com.ctre.phoenix6.configs.PWM1Configs;
-import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.configs.Slot0Configs;
 import com.ctre.phoenix6.hardware.CANdi;
+import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
+import com.ctre.phoenix6.signals.GravityTypeValue;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
+import frc.robot.util.CoalescingTalonFX;
+import frc.robot.util.PhoenixSignalHub;
+import frc.robot.util.TalonFXLogger;
 
 /**
  * Implementation of the ElevatorArmIO that controls a real ElevatorArm using a TalonFX Motor
- * Controller
+ * Controller. The CANdi's absolute encoder is fused with the rotor as the Talon's feedback sensor,
+ * and the arm's profile, PID and gravity feedforward run on the Talon instead of the roboRIO.
  */
 @Logged
 public class ElevatorArmIOTalon implements ElevatorArmIO {
 
-  // tuning config for the ElevatorArmIOReal
+  // tuning config for the ElevatorArmIOReal, per degree like the roboRIO controller
+  // NOTE: zero until the arm is characterized on this motor; ElevatorArmIOSpark's gains don't carry
+  // over, since kG in volts depends on the motor's torque constant. Tune them with
+  // ElevatorArm.tune(), which sends them to the Talon
   public static final ElevatorArmConfig config = new ElevatorArmConfig(0, 0, 0, 0, 0);
 
+  // the Talon's gains are per rotation of the arm
+  private static final double kDegreesPerRotation = 360;
+  private static final double kAngleToleranceRotations =
+      ElevatorArmConstants.kAngleTolerance.in(Rotations);
+  private static final int kSlot = 0;
+
   // the motor that is controlling the arm (using a TalonFX controller)
   private TalonFX armMotor = new TalonFX(ElevatorArmConstants.kElevatorArmId);
 
@@ -39,8 +64,21 @@ public class ElevatorArmIOTalon implements ElevatorArmIO {
   // CANdi device representing encoder
   private CANdi encoderCandi = new CANdi(ElevatorArmConstants.kEncoderCANdiId);
 
-  // request to control the arm motor using voltage
-  private VoltageOut voltageRequest = new VoltageOut(0);
+  // sends requests to the arm motor only when they change
+  private final CoalescingTalonFX armWriter = new CoalescingTalonFX(armMotor);
+
+  // cached signals, refreshed once per loop by PhoenixSignalHub
+  @NotLogged private final StatusSignal<Angle> angle = encoderCandi.getPWM1Position(false);
+
+  @NotLogged private final StatusSignal<AngularVelocity> velocity = armMotor.getVelocity(false);
+
+  @NotLogged private final StatusSignal<Current> current = armMotor.getTorqueCurrent(false);
+
+  @NotLogged
+  private final StatusSignal<Double> closedLoopReference = armMotor.getClosedLoopReference(false);
+
+  @NotLogged
+  private final StatusSignal<Double> closedLoopError = armMotor.getClosedLoopError(false);
 
   public ElevatorArmIOTalon() {
     // setup arm motor
@@ -59,11 +97,18 @@ public class ElevatorArmIOTalon implements ElevatorArmIO {
                     ElevatorArmConstants.kInverted
                         ? InvertedValue.CounterClockwise_Positive
                         : InvertedValue.Clockwise_Positive));
+    // the CANdi reads the arm itself, and fusing it with the rotor keeps the rotor's resolution
+    // NOTE: fused sensors need Phoenix Pro; use RemoteCANdiPWM1 on an unlicensed Talon
     armMotor
         .getConfigurator()
         .apply(
             new FeedbackConfigs()
-                .withSensorToMechanismRatio(ElevatorArmConstants.kElevatorArmGearing));
+                .withFeedbackRemoteSensorID(ElevatorArmConstants.kEncoderCANdiId)
+                .withFeedbackSensorSource(FeedbackSensorSourceValue.FusedCANdiPWM1)
+                .withSensorToMechanismRatio(1)
+                .withRotorToSensorRatio(ElevatorArmConstants.kElevatorArmGearing));
+    setOnboardConstraints(ElevatorArmConstants.kArmConstraints);
+    setOnboardPID(config);
 
     // setup encoder
     encoderCandi
@@ -71,23 +116,82 @@ public class ElevatorArmIOTalon implements ElevatorArmIO {
         .apply(
             new PWM1Configs()
                 .withAbsoluteSensorOffset(ElevatorArmConstants.kAbsoluteEncoderOffset));
+
+    PhoenixSignalHub.register(encoderCandi, angle);
+    PhoenixSignalHub.register(armMotor, velocity, current, closedLoopReference, closedLoopError);
+
+    // keep only the signals read here and by the logger, and disable the rest
+    TalonFXLogger.setTelemetryUpdateFrequency(armMotor);
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        ElevatorArmConstants.kSignalUpdateFrequency,
+        angle,
+        velocity,
+        current,
+        closedLoopReference,
+        closedLoopError);
+    ParentDevice.optimizeBusUtilizationForAll(armMotor, encoderCandi);
   }
 
   // update inputs from the arm motor
   public void updateInputs(ElevatorArmInputs inputs) {
     // TODO: see line 31
-    // inputs.angle = Degrees.of(encoder.get());
-    inputs.angle = encoderCandi.getPWM1Position().getValue();
-    inputs.velocity = armMotor.getVelocity().getValue();
-    inputs.current = armMotor.getTorqueCurrent().getValue();
+    // inputs.angle.mut_replace(encoder.get(), Degrees);
+    inputs.angle.mut_replace(angle.getValueAsDouble(), Rotations);
+    inputs.velocity.mut_replace(velocity.getValueAsDouble(), RotationsPerSecond);
+    inputs.current.mut_replace(current.getValueAsDouble(), Amps);
+    inputs.onboardSetpoint.mut_replace(closedLoopReference.getValueAsDouble(), Rotations);
+    inputs.atSetpoint = Math.abs(closedLoopError.getValueAsDouble()) < kAngleToleranceRotations;
   }
 
   // set voltage to the arm motor
-  public void setVoltage(Voltage volts) {
-    double voltsWithStall = volts.in(Volts);
+  public void setVoltage(double volts) {
+    double voltsWithStall = volts;
     // TODO: uncomment if arm gearbox exploding becomes an actual issue
     // if (armMotor.getOutputCurrent() > 40) voltsWithStall /= 60; // jank way to make the motor
     // essentially stop
-    armMotor.setControl(voltageRequest.withOutput(voltsWithStall));
+    armWriter.setVoltage(voltsWithStall);
+  }
+
+  @Override
+  public boolean hasOnboardControl() {
+    return true;
+  }
+
+  @Override
+  public void goToAngleProfiled(double angleDegrees, double feedforwardVolts) {
+    armWriter.setMotionMagicPosition(angleDegrees / kDegreesPerRotation, feedforwardVolts, kSlot);
+  }
+
+  @Override
+  public void goToAngle(double angleDegrees, double feedforwardVolts) {
+    armWriter.setPosition(angleDegrees / kDegreesPerRotation, 0, feedforwardVolts, kSlot);
+  }
+
+  @Override
+  public void setOnboardConstraints(Constraints constraints) {
+    armMotor
+        .getConfigurator()
+        .apply(
+            new MotionMagicConfigs()
+                .withMotionMagicCruiseVelocity(constraints.maxVelocity / kDegreesPerRotation)
+                .withMotionMagicAcceleration(constraints.maxAcceleration / kDegreesPerRotation));
+  }
+
+  @Override
+  public void setOnboardPID(ElevatorArmConfig conf) {
+    // the Talon's kG is applied at cos(position - offset), and the roboRIO's at
+    // cos(angle + kCMOffset); a held coral's feedforward is sent with each request instead, since
+    // it acts at the arm's angle without the offset
+    armMotor
+        .getConfigurator()
+        .apply(
+            new Slot0Configs()
+                .withGravityType(GravityTypeValue.Arm_Cosine)
+                .withGravityArmPositionOffset(
+                    ElevatorArmConstants.kCMOffset.unaryMinus().in(Rotations))
+                .withKP(conf.kP() * kDegreesPerRotation)
+                .withKI(conf.kI() * kDegreesPerRotation)
+                .withKD(conf.kD() * kDegreesPerRotation)
+                .withKG(conf.kG()));
   }
 }
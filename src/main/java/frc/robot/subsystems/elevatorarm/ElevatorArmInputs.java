@@ -1,15 +1,35 @@
 /* (C) Robolancers 2025 */
 package frc.robot.subsystems.elevatorarm;
 
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Degrees;
+import static edu.wpi.first.units.Units.DegreesPerSecond;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
+
 import edu.wpi.first.epilogue.Logged;
-import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.AngularVelocity;
-import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutAngularVelocity;
+import edu.wpi.first.units.measure.MutCurrent;
 
 // Defines the inputs from the sensors that the ElevatorArm subsystem will receive
+// The measures are updated in place every loop, so copy() one to hold on to its value
 @Logged
 public class ElevatorArmInputs {
-  public Angle angle = ElevatorArmConstants.kMinAngle; // the angle of the arm
-  public AngularVelocity velocity; // the velocity of the arm
-  public Current current; // the current draw of the arm
+  public final MutAngle angle =
+      Degrees.mutable(ElevatorArmConstants.kMinAngle.in(Degrees)); // the angle of the arm
+  public final MutAngularVelocity velocity = DegreesPerSecond.mutable(0); // the velocity of the arm
+  public final MutCurrent current = Amps.mutable(0); // the current draw of the arm
+
+  // only reported by IOs with onboard control
+  public final MutAngle onboardSetpoint =
+      Degrees.mutable(ElevatorArmConstants.kMinAngle.in(Degrees)); // the controller's setpoint
+  public boolean atSetpoint; // whether the controller's error is within tolerance
+
+  // refills the arm's state in place from raw sensor values
+  public void update(double angleRadians, double velocityRadiansPerSecond, double currentAmps) {
+    angle.mut_replace(angleRadians, Radians);
+    velocity.mut_replace(velocityRadiansPerSecond, RadiansPerSecond);
+    current.mut_replace(currentAmps, Amps);
+  }
 }
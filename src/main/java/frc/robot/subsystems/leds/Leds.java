@@ -108,10 +108,25 @@ public class Leds extends SubsystemBase {
       Angle armSetpoint,
       Pose2d driveCurrentPose,
       Pose2d driveSetpointPose) {
+    return calculateProgressBar(
+        elevatorCurrentHeight.in(Meters),
+        elevatorSetpoint.in(Meters),
+        armCurrentAngle.in(Radians),
+        armSetpoint.in(Radians),
+        driveCurrentPose,
+        driveSetpointPose);
+  }
+
+  public double calculateProgressBar(
+      double elevatorCurrentHeightMeters,
+      double elevatorSetpointMeters,
+      double armCurrentAngleRadians,
+      double armSetpointRadians,
+      Pose2d driveCurrentPose,
+      Pose2d driveSetpointPose) {
 
-    double elevatorError =
-        calculateError(elevatorCurrentHeight.in(Meters), elevatorSetpoint.in(Meters));
-    double armError = calculateError(armCurrentAngle.in(Radians), armSetpoint.in(Radians));
+    double elevatorError = calculateError(elevatorCurrentHeightMeters, elevatorSetpointMeters);
+    double armError = calculateError(armCurrentAngleRadians, armSetpointRadians);
     double driveTranslationError =
         driveCurrentPose.getTranslation().getDistance(driveSetpointPose.getTranslation());
     double driveRotationError =
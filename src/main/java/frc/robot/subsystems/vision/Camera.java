@@ -2,20 +2,26 @@
 package frc.robot.subsystems.vision;
 
 import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Seconds;
 
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.VecBuilder;
-import edu.wpi.first.math.geometry.Translation3d;
 import edu.wpi.first.math.numbers.N1;
 import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.wpilibj.Notifier;
 import frc.robot.RobotConstants;
 import frc.robot.subsystems.vision.VisionConstants.CameraConfig;
+import frc.robot.util.PoseHistory;
+import frc.robot.util.SpscRingBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.photonvision.EstimatedRobotPose;
 import org.photonvision.PhotonCamera;
 import org.photonvision.PhotonPoseEstimator;
 import org.photonvision.PhotonPoseEstimator.PoseStrategy;
+import org.photonvision.targeting.PhotonPipelineResult;
 
 @Logged
 public class Camera {
@@ -28,10 +34,27 @@ public class Camera {
 
   private final PhotonPoseEstimator poseEstimator;
 
-  // for logging
-  private VisionEstimate latestValidEstimate;
+  private final OdometryConsistencyGate consistencyGate;
+
+  // for logging; written by the ingestion thread on the real robot
+  private volatile VisionEstimate latestValidEstimate;
+
+  // estimates handed from the ingestion thread to the main loop
+  @NotLogged
+  private final SpscRingBuffer<VisionEstimate> pendingEstimates =
+      new SpscRingBuffer<>(VisionConstants.kPendingEstimateCapacity);
 
-  public Camera(CameraConfig config, PhotonCamera camera) {
+  @NotLogged private Notifier ingestionNotifier;
+  @NotLogged private final List<VisionEstimate> ingestedEstimates = new ArrayList<>();
+
+  // frame counters, only written by whichever thread polls the camera
+  private volatile int receivedFrames = 0;
+  // unread frames skipped because only the newest is used
+  private volatile int discardedFrames = 0;
+  // older unread frames that were turned into estimates instead of being skipped
+  private volatile int recoveredFrames = 0;
+
+  public Camera(CameraConfig config, PhotonCamera camera, PoseHistory poseHistory) {
     this.name = config.cameraName();
 
     this.usage = config.usage();
@@ -43,68 +66,146 @@ public class Camera {
             RobotConstants.kAprilTagFieldLayout,
             PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR,
             config.robotToCamera());
+
+    this.consistencyGate = new OdometryConsistencyGate(poseHistory);
   }
 
-  @NotLogged
-  public VisionEstimate tryLatestEstimate() {
-    if (!camera.isConnected()) return null;
+  /**
+   * Polls the camera on a background thread and queues its estimates for {@link
+   * #drainEstimates(List)}. After this, only the ingestion thread may call {@link
+   * #pollEstimates(List)}
+   */
+  public void startIngestion() {
+    if (ingestionNotifier != null) return;
+
+    ingestionNotifier = new Notifier(this::ingest);
+    ingestionNotifier.setName(name + " Ingestion");
+    ingestionNotifier.startPeriodic(VisionConstants.kCameraPollPeriod.in(Seconds));
+  }
+
+  private void ingest() {
+    ingestedEstimates.clear();
+    pollEstimates(ingestedEstimates);
+
+    for (int i = 0; i < ingestedEstimates.size(); i++) {
+      pendingEstimates.offer(ingestedEstimates.get(i));
+    }
+  }
+
+  /**
+   * Moves every estimate queued by the ingestion thread into {@code estimates}, oldest first. Only
+   * call this from the main loop
+   *
+   * @return the number of estimates added
+   */
+  public int drainEstimates(List<VisionEstimate> estimates) {
+    int drained = 0;
+
+    for (var estimate = pendingEstimates.poll();
+        estimate != null;
+        estimate = pendingEstimates.poll()) {
+      estimates.add(estimate);
+      drained++;
+    }
+
+    return drained;
+  }
+
+  // estimates dropped because the main loop fell behind the ingestion thread
+  public long getDroppedEstimates() {
+    return pendingEstimates.getDroppedCount();
+  }
+
+  /**
+   * Turns unread camera results into estimates and appends them to {@code estimates}, oldest
+   * first. Only the newest result is used unless {@link
+   * VisionConstants#kConsumeAllUnreadResults} is set
+   *
+   * @return the number of estimates added
+   */
+  public int pollEstimates(List<VisionEstimate> estimates) {
+    if (!camera.isConnected()) return 0;
 
     final var unreadResults = camera.getAllUnreadResults();
 
-    if (unreadResults.isEmpty()) return null;
-
-    final var latestResult = unreadResults.get(unreadResults.size() - 1);
-
-    if (!latestResult.hasTargets()) return null;
-
-    final var estimate = poseEstimator.update(latestResult);
-
-    return estimate
-        .filter(
-            poseEst ->
-                VisionConstants.kAllowedFieldArea.contains(
-                        poseEst.estimatedPose.getTranslation().toTranslation2d())
-                    && poseEst
-                        .estimatedPose
-                        .getMeasureZ()
-                        .isNear(Meters.zero(), VisionConstants.kAllowedFieldHeight))
-        .map(
-            photonEst -> {
-              final var visionEst =
-                  new VisionEstimate(photonEst, calculateStdDevs(photonEst), name, usage);
-              latestValidEstimate = visionEst;
-              return visionEst;
-            })
-        .orElse(null);
+    if (unreadResults.isEmpty()) return 0;
+
+    receivedFrames += unreadResults.size();
+
+    if (!VisionConstants.kConsumeAllUnreadResults) {
+      discardedFrames += unreadResults.size() - 1;
+
+      final var estimate = estimate(unreadResults.get(unreadResults.size() - 1));
+      if (estimate == null) return 0;
+
+      estimates.add(estimate);
+      return 1;
+    }
+
+    int added = 0;
+
+    // results arrive oldest first
+    for (int i = 0; i < unreadResults.size(); i++) {
+      final var estimate = estimate(unreadResults.get(i));
+      if (estimate == null) continue;
+
+      estimates.add(estimate);
+      added++;
+
+      // latest-only mode would have thrown this one away
+      if (i < unreadResults.size() - 1) recoveredFrames++;
+    }
+
+    return added;
+  }
+
+  private VisionEstimate estimate(PhotonPipelineResult result) {
+    if (!result.hasTargets()) return null;
+
+    final var estimate = poseEstimator.update(result);
+
+    final var visionEst =
+        estimate
+            .filter(
+                poseEst ->
+                    VisionConstants.kAllowedFieldArea.contains(
+                            poseEst.estimatedPose.getTranslation().toTranslation2d())
+                        && poseEst
+                            .estimatedPose
+                            .getMeasureZ()
+                            .isNear(Meters.zero(), VisionConstants.kAllowedFieldHeight))
+            .map(
+                photonEst ->
+                    new VisionEstimate(photonEst, calculateStdDevs(photonEst), name, usage))
+            .orElse(null);
+
+    if (visionEst == null || !consistencyGate.accept(visionEst)) return null;
+
+    latestValidEstimate = visionEst;
+    return visionEst;
   }
 
   // could be absolute nonsense, open to tuning constants for each robot camera config
   // assumes `result` has targets
-  @NotLogged
-  private Matrix<N3, N1> calculateStdDevs(EstimatedRobotPose visionPoseEstimate) {
+  // package-private for the jmh benchmarks
+  static Matrix<N3, N1> calculateStdDevs(EstimatedRobotPose visionPoseEstimate) {
+    final var targetsUsed = visionPoseEstimate.targetsUsed;
+
     // weighted average by ambiguity
-    final double avgTargetDistance =
-        visionPoseEstimate.targetsUsed.stream()
-                .mapToDouble(
-                    t -> {
-                      final double bestCameraToTargetDistance =
-                          t.getBestCameraToTarget()
-                              .getTranslation()
-                              .getDistance(new Translation3d());
-
-                      return bestCameraToTargetDistance;
-                    })
-                .reduce(0.0, Double::sum)
-            / (visionPoseEstimate.targetsUsed.size());
+    double totalTargetDistance = 0;
+    for (int i = 0; i < targetsUsed.size(); i++) {
+      totalTargetDistance += targetsUsed.get(i).getBestCameraToTarget().getTranslation().getNorm();
+    }
+    final double avgTargetDistance = totalTargetDistance / targetsUsed.size();
 
     final double translationStdDev =
         VisionConstants.kTranslationStdDevCoeff
             * Math.pow(avgTargetDistance, 3)
-            / Math.pow(visionPoseEstimate.targetsUsed.size(), 3);
+            / Math.pow(targetsUsed.size(), 3);
     final double rotationStdDev =
         VisionConstants.kRotationStdDevCoeff
             * Math.pow(avgTargetDistance, 3)
-            / Math.pow(visionPoseEstimate.targetsUsed.size(), 3);
+            / Math.pow(targetsUsed.size(), 3);
 
     return VecBuilder.fill(translationStdDev, translationStdDev, rotationStdDev);
   }
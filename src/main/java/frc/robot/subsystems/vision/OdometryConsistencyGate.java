@@ -0,0 +1,129 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.vision;
+
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Radians;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.util.Histogram;
+import frc.robot.util.PoseHistory;
+
+/*
+ * Rejects vision estimates that disagree with odometry at the estimate's timestamp before they can
+ * make the pose estimator replay. Heading is compared against the gyro yaw in the field frame, as
+ * recorded by the drivetrain's PoseHistory. Innovations are Mahalanobis distances, in standard
+ * deviations, using the estimate's std devs plus the expected odometry drift.
+ */
+@Logged
+public class OdometryConsistencyGate {
+  // 0 - 10 std devs in 0.1 std dev buckets
+  private static final double kHistogramRange = 10;
+  private static final int kHistogramBuckets = 100;
+
+  @NotLogged private final PoseHistory poseHistory;
+  @NotLogged private final double[] odometryPose = new double[3];
+  // refilled by the getters each time they are logged
+  @NotLogged private final double[] translationSummary = new double[4];
+  @NotLogged private final double[] headingSummary = new double[4];
+
+  @NotLogged
+  private final Histogram translationInnovations =
+      new Histogram(kHistogramRange, kHistogramBuckets);
+
+  @NotLogged
+  private final Histogram headingInnovations = new Histogram(kHistogramRange, kHistogramBuckets);
+
+  // logged through the synchronized getters since the gate runs on the ingestion thread
+  @NotLogged private int acceptedCount = 0;
+  @NotLogged private int rejectedCount = 0;
+  @NotLogged private int consecutiveRejections = 0;
+
+  public OdometryConsistencyGate(PoseHistory poseHistory) {
+    this.poseHistory = poseHistory;
+  }
+
+  /**
+   * @return whether the estimate is consistent enough with odometry to pass to the pose estimator
+   */
+  public synchronized boolean accept(VisionEstimate estimate) {
+    // nothing to compare against yet
+    if (!poseHistory.sample(estimate.estimate().timestampSeconds, odometryPose)) {
+      acceptedCount++;
+      return true;
+    }
+
+    final var pose = estimate.estimate().estimatedPose;
+    final var stdDevs = estimate.stdDevs();
+
+    final double odometryTranslationVariance =
+        square(VisionConstants.kOdometryTranslationStdDev.in(Meters));
+    final double odometryHeadingVariance =
+        square(VisionConstants.kOdometryHeadingStdDev.in(Radians));
+
+    final double dx = pose.getX() - odometryPose[PoseHistory.kX];
+    final double dy = pose.getY() - odometryPose[PoseHistory.kY];
+    final double dTheta =
+        Math.IEEEremainder(
+            pose.getRotation().getZ() - odometryPose[PoseHistory.kTheta], 2 * Math.PI);
+
+    final double translationInnovation =
+        Math.sqrt(
+            square(dx) / (square(stdDevs.get(0, 0)) + odometryTranslationVariance)
+                + square(dy) / (square(stdDevs.get(1, 0)) + odometryTranslationVariance));
+    final double headingInnovation =
+        Math.abs(dTheta) / Math.sqrt(square(stdDevs.get(2, 0)) + odometryHeadingVariance);
+
+    translationInnovations.record(translationInnovation);
+    headingInnovations.record(headingInnovation);
+
+    final boolean consistent =
+        translationInnovation <= VisionConstants.kMaxTranslationInnovation
+            && headingInnovation <= VisionConstants.kMaxHeadingInnovation;
+
+    if (consistent) consecutiveRejections = 0;
+
+    // vision is the only way to fix a bad starting pose or a wheel slip, so don't gate while
+    // disabled, and stop gating after a long run of rejections until odometry agrees again
+    if (consistent
+        || DriverStation.isDisabled()
+        || consecutiveRejections >= VisionConstants.kMaxConsecutiveRejections) {
+      acceptedCount++;
+      return true;
+    }
+
+    consecutiveRejections++;
+    rejectedCount++;
+    return false;
+  }
+
+  // p50, p95, p99 and max in std devs
+  public synchronized double[] getTranslationInnovation() {
+    return summarize(translationInnovations, translationSummary);
+  }
+
+  public synchronized double[] getHeadingInnovation() {
+    return summarize(headingInnovations, headingSummary);
+  }
+
+  public synchronized int getAcceptedCount() {
+    return acceptedCount;
+  }
+
+  public synchronized int getRejectedCount() {
+    return rejectedCount;
+  }
+
+  private static double[] summarize(Histogram histogram, double[] summary) {
+    summary[0] = histogram.getPercentile(0.50);
+    summary[1] = histogram.getPercentile(0.95);
+    summary[2] = histogram.getPercentile(0.99);
+    summary[3] = histogram.getMax();
+    return summary;
+  }
+
+  private static double square(double value) {
+    return value * value;
+  }
+}
@@ -4,28 +4,37 @@ package frc.robot.subsystems.vision;
 import edu.wpi.first.epilogue.Logged;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.util.PoseHistory;
 import frc.robot.util.VirtualSubsystem;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 @Logged
 public class Vision extends VirtualSubsystem {
+  // the estimators replay odometry for each measurement, so feed them in timestamp order
+  private static final Comparator<VisionEstimate> kTimestampOrder =
+      Comparator.comparingDouble(est -> est.estimate().timestampSeconds);
+
   private final VisionIO io;
 
-  private final Consumer<VisionEstimate> visionDataConsumer;
-  private final Consumer<VisionEstimate> reefVisionDataConsumer;
+  // one measurement per timestamp window for each pose estimator
+  private final VisionFusion visionFusion;
+  private final VisionFusion reefVisionFusion;
 
   public static Vision create(
       Supplier<Pose2d> robotPoseSupplier,
+      PoseHistory poseHistory,
       Consumer<VisionEstimate> visionDataConsumer,
       Consumer<VisionEstimate> reefVisionDataConsumer) {
     return RobotBase.isReal()
         ? new Vision(
-            new VisionIOReal(VisionConstants.kCameraConfigs),
+            new VisionIOReal(poseHistory, VisionConstants.kCameraConfigs),
             visionDataConsumer,
             reefVisionDataConsumer)
         : new Vision(
-            new VisionIOSim(robotPoseSupplier, VisionConstants.kCameraConfigs),
+            new VisionIOSim(robotPoseSupplier, poseHistory, VisionConstants.kCameraConfigs),
             visionDataConsumer,
             reefVisionDataConsumer);
   }
@@ -35,21 +44,20 @@ public class Vision extends VirtualSubsystem {
       Consumer<VisionEstimate> visionDataConsumer,
       Consumer<VisionEstimate> reefVisionDataConsumer) {
     this.io = io;
-    this.visionDataConsumer = visionDataConsumer;
-    this.reefVisionDataConsumer = reefVisionDataConsumer;
+    // every camera feeds the main estimator, only the reef cameras feed the reef estimator
+    this.visionFusion = new VisionFusion(null, visionDataConsumer);
+    this.reefVisionFusion = new VisionFusion(CameraUsage.REEF, reefVisionDataConsumer);
   }
 
   @Override
   public void periodic() {
     final var latestEstimates = io.getLatestEstimates();
 
-    for (final var est : latestEstimates) {
-      visionDataConsumer.accept(est);
+    // each camera's estimates are already in order, but cameras are interleaved
+    Arrays.sort(latestEstimates, kTimestampOrder);
 
-      if (est.sourceType() == CameraUsage.REEF) {
-        reefVisionDataConsumer.accept(est);
-      }
-    }
+    visionFusion.fuse(latestEstimates);
+    reefVisionFusion.fuse(latestEstimates);
   }
 
   public boolean areCamerasConnected() {
@@ -11,6 +11,7 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Transform3d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.Time;
 import frc.robot.RobotConstants;
@@ -130,11 +131,31 @@ public class VisionConstants {
           kOV9281);
 
   public static final CameraConfig[] kCameraConfigs = {
-    kElevatorTopCameraConfig, kElevatorBottomCameraConfig
-    // kFrontSwerveCameraConfig,
-    // kBackLeftSwerveCameraConfig
+    kElevatorTopCameraConfig,
+    kElevatorBottomCameraConfig,
+    kFrontSwerveCameraConfig,
+    kBackLeftSwerveCameraConfig
   };
 
+  // use every unread camera frame instead of only the newest one
+  public static final boolean kConsumeAllUnreadResults = true;
+
+  // odometry consistency gate; innovations are in standard deviations
+  public static final Distance kOdometryTranslationStdDev = Meters.of(0.1);
+  public static final Angle kOdometryHeadingStdDev = Degrees.of(3);
+  public static final double kMaxTranslationInnovation = 3.0;
+  public static final double kMaxHeadingInnovation = 3.0;
+  // after this many rejections in a row, trust vision until odometry agrees with it again
+  public static final int kMaxConsecutiveRejections = 15;
+
+  // estimates this close together are fused into one pose estimator measurement
+  public static final Time kFusionWindow = Milliseconds.of(10);
+
+  // real cameras are polled on their own threads, well above the camera frame rate
+  public static final Time kCameraPollPeriod = Milliseconds.of(5);
+  // about half a second of frames at 30 fps if the main loop stalls
+  public static final int kPendingEstimateCapacity = 16;
+
   // camera data filtering
   public static final Distance kAllowedFieldDistance =
       Meters.of(2.5); // allow field estimates 2.5 meters outside field
@@ -0,0 +1,150 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems.vision;
+
+import static edu.wpi.first.units.Units.Seconds;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+/*
+ * Combines estimates that land in the same timestamp window into one measurement, weighting each by
+ * the inverse of its variance. Every measurement makes the pose estimator rewind and replay its
+ * odometry, so this replays once per window instead of once per camera.
+ */
+@Logged
+public class VisionFusion {
+  // keeps a zero std dev from getting infinite weight
+  private static final double kMinVariance = 1e-9;
+
+  // which estimates this stage fuses; null fuses every estimate
+  private final CameraUsage usage;
+
+  private final Consumer<VisionEstimate> consumer;
+
+  // estimates in and measurements out during the last loop
+  private int estimateCount = 0;
+  private int measurementCount = 0;
+  private int replaysSaved = 0;
+  private long totalReplaysSaved = 0;
+
+  /**
+   * @param usage the camera usage to fuse estimates from, or null to fuse all estimates
+   * @param consumer receives the fused measurements
+   */
+  public VisionFusion(CameraUsage usage, Consumer<VisionEstimate> consumer) {
+    this.usage = usage;
+    this.consumer = consumer;
+  }
+
+  /**
+   * Fuses the estimates and passes one measurement per timestamp window to the consumer
+   *
+   * @param estimates the estimates to fuse, sorted by timestamp
+   */
+  public void fuse(VisionEstimate[] estimates) {
+    estimateCount = 0;
+    measurementCount = 0;
+
+    int windowStart = nextMatching(estimates, 0);
+
+    while (windowStart < estimates.length) {
+      final double windowEndTime =
+          estimates[windowStart].estimate().timestampSeconds
+              + VisionConstants.kFusionWindow.in(Seconds);
+
+      int windowSize = 0;
+      int windowEnd = windowStart;
+      while (windowEnd < estimates.length
+          && estimates[windowEnd].estimate().timestampSeconds <= windowEndTime) {
+        if (matches(estimates[windowEnd])) windowSize++;
+        windowEnd++;
+      }
+
+      consumer.accept(
+          windowSize == 1 ? estimates[windowStart] : combine(estimates, windowStart, windowEnd));
+
+      estimateCount += windowSize;
+      measurementCount++;
+
+      windowStart = nextMatching(estimates, windowEnd);
+    }
+
+    replaysSaved = estimateCount - measurementCount;
+    totalReplaysSaved += replaysSaved;
+  }
+
+  private boolean matches(VisionEstimate estimate) {
+    return usage == null || estimate.sourceType() == usage;
+  }
+
+  private int nextMatching(VisionEstimate[] estimates, int from) {
+    int index = from;
+    while (index < estimates.length && !matches(estimates[index])) index++;
+    return index;
+  }
+
+  // inverse-variance weighted mean of every matching estimate in [start, end)
+  private VisionEstimate combine(VisionEstimate[] estimates, int start, int end) {
+    double xWeightSum = 0, yWeightSum = 0, thetaWeightSum = 0;
+    double xSum = 0, ySum = 0, zSum = 0, sinSum = 0, cosSum = 0;
+    double timestampSum = 0;
+    int count = 0;
+
+    final var targetsUsed = new ArrayList<PhotonTrackedTarget>();
+    VisionEstimate first = null;
+
+    for (int i = start; i < end; i++) {
+      final var est = estimates[i];
+      if (!matches(est)) continue;
+      if (first == null) first = est;
+
+      final var pose = est.estimate().estimatedPose;
+      final double xWeight = 1 / Math.max(square(est.stdDevs().get(0, 0)), kMinVariance);
+      final double yWeight = 1 / Math.max(square(est.stdDevs().get(1, 0)), kMinVariance);
+      final double thetaWeight = 1 / Math.max(square(est.stdDevs().get(2, 0)), kMinVariance);
+
+      xSum += xWeight * pose.getX();
+      ySum += yWeight * pose.getY();
+      zSum += xWeight * pose.getZ();
+
+      // headings wrap, so average them as unit vectors
+      final double theta = pose.getRotation().getZ();
+      sinSum += thetaWeight * Math.sin(theta);
+      cosSum += thetaWeight * Math.cos(theta);
+
+      xWeightSum += xWeight;
+      yWeightSum += yWeight;
+      thetaWeightSum += thetaWeight;
+
+      timestampSum += est.estimate().timestampSeconds;
+      count++;
+
+      targetsUsed.addAll(est.estimate().targetsUsed);
+    }
+
+    final var fusedPose =
+        new Pose3d(
+            xSum / xWeightSum,
+            ySum / yWeightSum,
+            zSum / xWeightSum,
+            new Rotation3d(0, 0, Math.atan2(sinSum, cosSum)));
+
+    return new VisionEstimate(
+        new EstimatedRobotPose(
+            fusedPose, timestampSum / count, targetsUsed, first.estimate().strategy),
+        VecBuilder.fill(
+            Math.sqrt(1 / xWeightSum), Math.sqrt(1 / yWeightSum), Math.sqrt(1 / thetaWeightSum)),
+        "Fused",
+        first.sourceType());
+  }
+
+  private static double square(double value) {
+    return value * value;
+  }
+}
@@ -2,29 +2,46 @@
 package frc.robot.subsystems.vision;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
 import frc.robot.subsystems.vision.VisionConstants.CameraConfig;
+import frc.robot.util.PoseHistory;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
 import org.photonvision.PhotonCamera;
 
 @Logged
 public class VisionIOReal implements VisionIO {
+  private static final VisionEstimate[] kNoEstimates = new VisionEstimate[0];
+
   private final List<Camera> cameras;
 
-  public VisionIOReal(CameraConfig... configs) {
+  // reused every loop to collect the estimates drained from each camera
+  @NotLogged private final List<VisionEstimate> drainedEstimates = new ArrayList<>();
+
+  public VisionIOReal(PoseHistory poseHistory, CameraConfig... configs) {
     cameras =
         Stream.of(configs)
-            .map(config -> new Camera(config, new PhotonCamera(config.cameraName())))
+            .map(config -> new Camera(config, new PhotonCamera(config.cameraName()), poseHistory))
             .toList();
+
+    // every camera decodes and estimates on its own thread, so the main loop only drains queues
+    for (Camera camera : cameras) {
+      camera.startIngestion();
+    }
   }
 
   @Override
   public VisionEstimate[] getLatestEstimates() {
-    return cameras.stream()
-        .map(Camera::tryLatestEstimate)
-        .filter(Objects::nonNull)
-        .toArray(VisionEstimate[]::new);
+    drainedEstimates.clear();
+
+    for (int i = 0; i < cameras.size(); i++) {
+      cameras.get(i).drainEstimates(drainedEstimates);
+    }
+
+    return drainedEstimates.isEmpty()
+        ? kNoEstimates
+        : drainedEstimates.toArray(new VisionEstimate[drainedEstimates.size()]);
   }
 
   @Override
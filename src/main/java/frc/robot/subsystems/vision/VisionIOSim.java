@@ -6,9 +6,9 @@ import edu.wpi.first.epilogue.NotLogged;
 import edu.wpi.first.math.geometry.Pose2d;
 import frc.robot.RobotConstants;
 import frc.robot.subsystems.vision.VisionConstants.CameraConfig;
+import frc.robot.util.PoseHistory;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.photonvision.PhotonCamera;
@@ -26,7 +26,11 @@ public class VisionIOSim implements VisionIO {
 
   @NotLogged private final List<VisionTargetSim> targets;
 
-  public VisionIOSim(Supplier<Pose2d> robotPoseSupplier, CameraConfig... configs) {
+  // reused every loop to collect the estimates from each camera
+  @NotLogged private final List<VisionEstimate> polledEstimates = new ArrayList<>();
+
+  public VisionIOSim(
+      Supplier<Pose2d> robotPoseSupplier, PoseHistory poseHistory, CameraConfig... configs) {
     this.sim = new VisionSystemSim("main");
     sim.addAprilTags(RobotConstants.kAprilTagFieldLayout);
 
@@ -37,7 +41,7 @@ public class VisionIOSim implements VisionIO {
                   final var camera = new PhotonCamera(config.cameraName());
                   final var cameraSim = new PhotonCameraSim(camera, config.calib().simProperties());
                   sim.addCamera(cameraSim, config.robotToCamera());
-                  return new Camera(config, camera);
+                  return new Camera(config, camera, poseHistory);
                 })
             .toList();
 
@@ -50,10 +54,13 @@ public class VisionIOSim implements VisionIO {
   public VisionEstimate[] getLatestEstimates() {
     sim.update(robotPoseSupplier.get());
 
-    return cameras.stream()
-        .map(Camera::tryLatestEstimate)
-        .filter(Objects::nonNull)
-        .toArray(VisionEstimate[]::new);
+    polledEstimates.clear();
+
+    for (int i = 0; i < cameras.size(); i++) {
+      cameras.get(i).pollEstimates(polledEstimates);
+    }
+
+    return polledEstimates.toArray(new VisionEstimate[polledEstimates.size()]);
   }
 
   @Override
@@ -0,0 +1,26 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.wpilibj.Servo;
+
+/** Only writes a servo's angle when it changes, through a {@link WriteCoalescer} */
+@Logged
+public class CoalescingServo {
+  private static final int kAngleMode = 0;
+
+  @NotLogged private final Servo servo;
+
+  private final WriteCoalescer coalescer = new WriteCoalescer();
+
+  public CoalescingServo(Servo servo) {
+    this.servo = servo;
+  }
+
+  public void setAngle(double degrees) {
+    if (coalescer.shouldWrite(kAngleMode, degrees)) {
+      servo.setAngle(degrees);
+    }
+  }
+}
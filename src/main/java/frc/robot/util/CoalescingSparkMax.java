@@ -0,0 +1,55 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import com.revrobotics.spark.ClosedLoopSlot;
+import com.revrobotics.spark.SparkBase.ControlType;
+import com.revrobotics.spark.SparkMax;
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+
+/**
+ * Sends setpoints to a SparkMax through a {@link WriteCoalescer}, so a setpoint is only sent when
+ * it changes. REVLib has no request objects, so the control type and slot act as the mode.
+ */
+@Logged
+public class CoalescingSparkMax {
+  // voltage has its own mode since setVoltage() doesn't go through the closed loop controller
+  private static final int kVoltageMode = 0;
+  private static final int kSlotCount = ClosedLoopSlot.values().length;
+
+  // logged by its owner through SparkMaxLogger
+  @NotLogged private final SparkMax motor;
+
+  private final WriteCoalescer coalescer;
+
+  public CoalescingSparkMax(SparkMax motor) {
+    this(motor, WriteCoalescer.kDefaultEpsilon);
+  }
+
+  public CoalescingSparkMax(SparkMax motor, double epsilon) {
+    this.motor = motor;
+    this.coalescer = new WriteCoalescer(epsilon);
+  }
+
+  public void setVoltage(double volts) {
+    if (coalescer.shouldWrite(kVoltageMode, volts)) {
+      motor.setVoltage(volts);
+    }
+  }
+
+  public void setReference(double value, ControlType type) {
+    setReference(value, type, ClosedLoopSlot.kSlot0, 0);
+  }
+
+  public void setReference(
+      double value, ControlType type, ClosedLoopSlot slot, double arbFeedforward) {
+    final int mode = 1 + type.ordinal() * kSlotCount + slot.value;
+    if (coalescer.shouldWrite(mode, value, arbFeedforward)) {
+      motor.getClosedLoopController().setReference(value, type, slot, arbFeedforward);
+    }
+  }
+
+  public SparkMax getMotor() {
+    return motor;
+  }
+}
@@ -0,0 +1,135 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import com.ctre.phoenix6.controls.Follower;
+import com.ctre.phoenix6.controls.MotionMagicVoltage;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.hardware.TalonFX;
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+
+/**
+ * Sends control requests to a TalonFX through a {@link WriteCoalescer}. Holds one preallocated
+ * request per control mode so nothing is allocated per loop, and only sends when the setpoint
+ * changes. Closed loop requests with a different gain slot count as a different mode.
+ */
+@Logged
+public class CoalescingTalonFX {
+  private static final int kVoltageMode = 0;
+  private static final int kMotionMagicVoltageMode = 1;
+  private static final int kPositionVoltageMode = 2;
+  private static final int kClosedLoopRequests = 2;
+
+  // logged by its owner through TalonFXLogger
+  @NotLogged private final TalonFX motor;
+
+  @NotLogged private final VoltageOut voltageRequest = new VoltageOut(0);
+  @NotLogged private final MotionMagicVoltage motionMagicRequest = new MotionMagicVoltage(0);
+  @NotLogged private final PositionVoltage positionRequest = new PositionVoltage(0);
+
+  private final WriteCoalescer coalescer;
+
+  private boolean following = false;
+
+  public CoalescingTalonFX(TalonFX motor) {
+    this(motor, WriteCoalescer.kDefaultEpsilon);
+  }
+
+  public CoalescingTalonFX(TalonFX motor, double epsilon) {
+    this.motor = motor;
+    this.coalescer = new WriteCoalescer(epsilon);
+  }
+
+  public void setVoltage(double volts) {
+    if (coalescer.shouldWrite(kVoltageMode, volts)) {
+      motor.setControl(voltageRequest.withOutput(volts));
+    }
+  }
+
+  public void setMotionMagicPosition(double rotations) {
+    setMotionMagicPosition(rotations, 0);
+  }
+
+  /**
+   * @param rotations the position to profile to, in mechanism rotations
+   * @param slot the gain slot to use, from 0 to 2
+   */
+  public void setMotionMagicPosition(double rotations, int slot) {
+    setMotionMagicPosition(rotations, 0, slot);
+  }
+
+  /**
+   * @param rotations the position to profile to, in mechanism rotations
+   * @param feedforwardVolts an arbitrary feedforward added to the slot's own, in volts
+   * @param slot the gain slot to use, from 0 to 2
+   */
+  public void setMotionMagicPosition(double rotations, double feedforwardVolts, int slot) {
+    if (coalescer.shouldWrite(
+        closedLoopMode(kMotionMagicVoltageMode, slot), rotations, feedforwardVolts)) {
+      motor.setControl(
+          motionMagicRequest
+              .withPosition(rotations)
+              .withFeedForward(feedforwardVolts)
+              .withSlot(slot));
+    }
+  }
+
+  /**
+   * Goes straight to a position with only the onboard PID, without a motion profile
+   *
+   * @param rotations the position to go to, in mechanism rotations
+   * @param slot the gain slot to use, from 0 to 2
+   */
+  public void setPosition(double rotations, int slot) {
+    setPosition(rotations, 0, 0, slot);
+  }
+
+  /**
+   * Goes to a position along a motion profiled elsewhere, with only the onboard PID and the
+   * profile's velocity for the slot's velocity feedforward
+   *
+   * @param rotations the position to go to, in mechanism rotations
+   * @param rotationsPerSecond the profile's velocity at that position
+   * @param feedforwardVolts an arbitrary feedforward added to the slot's own, in volts
+   * @param slot the gain slot to use, from 0 to 2
+   */
+  public void setPosition(
+      double rotations, double rotationsPerSecond, double feedforwardVolts, int slot) {
+    if (coalescer.shouldWrite(
+        closedLoopMode(kPositionVoltageMode, slot),
+        rotations,
+        rotationsPerSecond,
+        feedforwardVolts)) {
+      motor.setControl(
+          positionRequest
+              .withPosition(rotations)
+              .withVelocity(rotationsPerSecond)
+              .withFeedForward(feedforwardVolts)
+              .withSlot(slot));
+    }
+  }
+
+  // slot 0 keeps each request's own mode id
+  private static int closedLoopMode(int requestMode, int slot) {
+    return requestMode + kClosedLoopRequests * slot;
+  }
+
+  /**
+   * Makes this motor follow the leader. The follow request stays applied on the device, so it is
+   * only sent the first time
+   *
+   * @param leader the motor to follow
+   * @param opposeLeaderDirection whether to spin opposite to the leader
+   */
+  public void follow(TalonFX leader, boolean opposeLeaderDirection) {
+    if (following) return;
+
+    motor.setControl(new Follower(leader.getDeviceID(), opposeLeaderDirection));
+    following = true;
+  }
+
+  public TalonFX getMotor() {
+    return motor;
+  }
+}
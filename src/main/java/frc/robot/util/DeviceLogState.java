@@ -0,0 +1,41 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+/**
+ * Per-device bookkeeping for the custom motor loggers: how often the device is logged and how
+ * long logging it took last time
+ */
+class DeviceLogState {
+  private int logDivisor;
+  private int loopsUntilLog = 0;
+
+  private long lastCostNanos = 0;
+
+  DeviceLogState(int logDivisor) {
+    this.logDivisor = logDivisor;
+  }
+
+  void setLogDivisor(int logDivisor) {
+    this.logDivisor = Math.max(1, logDivisor);
+    loopsUntilLog = 0;
+  }
+
+  // true once every logDivisor calls, starting with the first
+  boolean shouldLog() {
+    if (loopsUntilLog > 0) {
+      loopsUntilLog--;
+      return false;
+    }
+
+    loopsUntilLog = logDivisor - 1;
+    return true;
+  }
+
+  void recordCost(long startNanos) {
+    lastCostNanos = System.nanoTime() - startNanos;
+  }
+
+  double getLastCostMillis() {
+    return lastCostNanos / 1e6;
+  }
+}
@@ -0,0 +1,222 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import frc.robot.RobotConstants;
+
+/**
+ * Immutable index of the field's AprilTag geometry, built once when the class loads. Tag poses are
+ * stored in arrays indexed by tag ID and nearest-tag queries are answered with array lookups, so
+ * none of the query methods allocate.
+ */
+public final class FieldGeometry {
+  public static final int[] kBlueReefTagIDs = {17, 18, 19, 20, 21, 22};
+  public static final int[] kRedReefTagIDs = {6, 7, 8, 9, 10, 11};
+
+  public static final int[] kBlueStationTagIDs = {12, 13};
+  public static final int[] kRedStationTagIDs = {1, 2};
+
+  public static final int kBlueProcessorTagID = 16;
+  public static final int kRedProcessorTagID = 3;
+
+  // 1 degree sectors around each reef center
+  private static final int kReefSectorCount = 360;
+
+  private static final int kMaxTagID;
+
+  // tag poses indexed by tag ID; IDs not on the field are NaN / null
+  private static final double[] tagX;
+  private static final double[] tagY;
+  private static final double[] tagHeading;
+  private static final Pose2d[] tagPoses;
+
+  private static final double blueReefCenterX;
+  private static final double blueReefCenterY;
+  private static final double redReefCenterX;
+  private static final double redReefCenterY;
+
+  // reef face tag ID facing each sector around the reef center
+  private static final int[] blueReefSectors;
+  private static final int[] redReefSectors;
+
+  static {
+    int maxTagID = 0;
+    for (AprilTag tag : RobotConstants.kAprilTagFieldLayout.getTags()) {
+      maxTagID = Math.max(maxTagID, tag.ID);
+    }
+    kMaxTagID = maxTagID;
+
+    tagX = new double[kMaxTagID + 1];
+    tagY = new double[kMaxTagID + 1];
+    tagHeading = new double[kMaxTagID + 1];
+    tagPoses = new Pose2d[kMaxTagID + 1];
+
+    for (int id = 0; id <= kMaxTagID; id++) {
+      tagX[id] = Double.NaN;
+      tagY[id] = Double.NaN;
+      tagHeading[id] = Double.NaN;
+    }
+
+    for (AprilTag tag : RobotConstants.kAprilTagFieldLayout.getTags()) {
+      final Pose2d pose = tag.pose.toPose2d();
+      tagPoses[tag.ID] = pose;
+      tagX[tag.ID] = pose.getX();
+      tagY[tag.ID] = pose.getY();
+      tagHeading[tag.ID] = pose.getRotation().getRadians();
+    }
+
+    blueReefCenterX = averageOf(tagX, kBlueReefTagIDs);
+    blueReefCenterY = averageOf(tagY, kBlueReefTagIDs);
+    redReefCenterX = averageOf(tagX, kRedReefTagIDs);
+    redReefCenterY = averageOf(tagY, kRedReefTagIDs);
+
+    blueReefSectors = buildReefSectors(kBlueReefTagIDs, blueReefCenterX, blueReefCenterY);
+    redReefSectors = buildReefSectors(kRedReefTagIDs, redReefCenterX, redReefCenterY);
+  }
+
+  private FieldGeometry() {}
+
+  private static double averageOf(double[] values, int[] tagIDs) {
+    double sum = 0;
+    for (int id : tagIDs) {
+      sum += values[id];
+    }
+    return sum / tagIDs.length;
+  }
+
+  // assigns every sector around the reef center to the reef face whose tag is closest in bearing
+  private static int[] buildReefSectors(int[] tagIDs, double centerX, double centerY) {
+    final int[] sectors = new int[kReefSectorCount];
+
+    for (int sector = 0; sector < kReefSectorCount; sector++) {
+      final double sectorBearing = -Math.PI + (sector + 0.5) * (2 * Math.PI / kReefSectorCount);
+
+      double bestDifference = Double.POSITIVE_INFINITY;
+      for (int id : tagIDs) {
+        final double tagBearing = Math.atan2(tagY[id] - centerY, tagX[id] - centerX);
+        final double difference =
+            Math.abs(Math.IEEEremainder(tagBearing - sectorBearing, 2 * Math.PI));
+
+        if (difference < bestDifference) {
+          bestDifference = difference;
+          sectors[sector] = id;
+        }
+      }
+    }
+
+    return sectors;
+  }
+
+  private static int sectorOf(double x, double y, double centerX, double centerY) {
+    final double bearing = Math.atan2(y - centerY, x - centerX);
+    final int sector = (int) ((bearing + Math.PI) / (2 * Math.PI) * kReefSectorCount);
+    return Math.min(Math.max(sector, 0), kReefSectorCount - 1);
+  }
+
+  public static boolean isValidTagID(int tagID) {
+    return tagID >= 0 && tagID <= kMaxTagID && tagPoses[tagID] != null;
+  }
+
+  /**
+   * @return the 2d pose of the tag, or null if no tag with this ID is on the field
+   */
+  public static Pose2d getTagPose(int tagID) {
+    return isValidTagID(tagID) ? tagPoses[tagID] : null;
+  }
+
+  public static double getTagX(int tagID) {
+    return isValidTagID(tagID) ? tagX[tagID] : Double.NaN;
+  }
+
+  public static double getTagY(int tagID) {
+    return isValidTagID(tagID) ? tagY[tagID] : Double.NaN;
+  }
+
+  public static double getTagHeadingRadians(int tagID) {
+    return isValidTagID(tagID) ? tagHeading[tagID] : Double.NaN;
+  }
+
+  /**
+   * Finds the reef face the robot is in front of on one alliance's reef. The reef is a regular
+   * hexagon, so the face closest in bearing from the reef center is also the closest face
+   *
+   * @return the tag ID of the reef face
+   */
+  public static int getNearestReefID(double x, double y, boolean isRed) {
+    return isRed
+        ? redReefSectors[sectorOf(x, y, redReefCenterX, redReefCenterY)]
+        : blueReefSectors[sectorOf(x, y, blueReefCenterX, blueReefCenterY)];
+  }
+
+  /**
+   * Finds the nearest reef face on either alliance's reef, picking whichever reef center is closer
+   *
+   * @return the tag ID of the reef face
+   */
+  public static int getNearestReefIDFullField(double x, double y) {
+    final double blueDistance = square(x - blueReefCenterX) + square(y - blueReefCenterY);
+    final double redDistance = square(x - redReefCenterX) + square(y - redReefCenterY);
+    return getNearestReefID(x, y, redDistance < blueDistance);
+  }
+
+  /**
+   * @return the tag ID of the closer of the alliance's two coral stations
+   */
+  public static int getNearestStationID(double x, double y, boolean isRed) {
+    final int[] stationTagIDs = isRed ? kRedStationTagIDs : kBlueStationTagIDs;
+    final int first = stationTagIDs[0];
+    final int second = stationTagIDs[1];
+
+    final double firstDistance = square(x - tagX[first]) + square(y - tagY[first]);
+    final double secondDistance = square(x - tagX[second]) + square(y - tagY[second]);
+
+    return firstDistance <= secondDistance ? first : second;
+  }
+
+  /**
+   * @return the tag ID of the alliance's processor; each alliance only has one
+   */
+  public static int getProcessorID(boolean isRed) {
+    return isRed ? kRedProcessorTagID : kBlueProcessorTagID;
+  }
+
+  private static double square(double value) {
+    return value * value;
+  }
+
+  /**
+   * Precomputes alignment poses for a set of tags. Call this during static initialization only
+   *
+   * @param transform the tag-relative transform to the alignment pose
+   * @param tagIDGroups the tag IDs to compute alignment poses for
+   */
+  public static AlignmentPoses createAlignmentPoses(Transform2d transform, int[]... tagIDGroups) {
+    final Pose2d[] poses = new Pose2d[kMaxTagID + 1];
+
+    for (int[] tagIDs : tagIDGroups) {
+      for (int id : tagIDs) {
+        if (isValidTagID(id)) poses[id] = tagPoses[id].plus(transform);
+      }
+    }
+
+    return new AlignmentPoses(poses);
+  }
+
+  /** Alignment poses indexed by the tag ID they were derived from. */
+  public static final class AlignmentPoses {
+    private final Pose2d[] poses;
+
+    private AlignmentPoses(Pose2d[] poses) {
+      this.poses = poses;
+    }
+
+    /**
+     * @return the alignment pose for the tag, or null if none was computed for this ID
+     */
+    public Pose2d get(int tagID) {
+      return tagID >= 0 && tagID < poses.length ? poses[tagID] : null;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+/**
+ * Fixed-range histogram with preallocated linear buckets. Recording samples and reading
+ * percentiles never allocate, so it is safe to use from the robot loop.
+ */
+public class Histogram {
+  private final double bucketWidth;
+  // the last bucket collects every sample past the end of the range
+  private final long[] counts;
+
+  private long count = 0;
+  private double max = 0;
+
+  public Histogram(double rangeMax, int bucketCount) {
+    this.bucketWidth = rangeMax / bucketCount;
+    this.counts = new long[bucketCount + 1];
+  }
+
+  public void record(double value) {
+    int bucket = (int) (value / bucketWidth);
+    if (bucket < 0) bucket = 0;
+    if (bucket >= counts.length) bucket = counts.length - 1;
+
+    counts[bucket]++;
+    count++;
+    if (count == 1 || value > max) max = value;
+  }
+
+  /**
+   * Looks up a percentile from the bucket counts
+   *
+   * @param fraction the percentile as a fraction from 0 to 1 (0.95 for p95)
+   * @return the upper edge of the bucket containing the percentile, capped at the max sample
+   */
+  public double getPercentile(double fraction) {
+    if (count == 0) return 0;
+
+    final long rank = Math.max(1, (long) Math.ceil(fraction * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) return Math.min((i + 1) * bucketWidth, max);
+    }
+    return max;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void reset() {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = 0;
+    }
+    count = 0;
+    max = 0;
+  }
+}
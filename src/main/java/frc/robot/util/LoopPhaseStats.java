@@ -0,0 +1,69 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/**
+ * Latency summary for one profiled loop phase, in milliseconds. Mutable so the profiler can refill
+ * the same instances every publish instead of allocating new ones.
+ */
+public class LoopPhaseStats {
+  public static final LoopPhaseStatsStruct struct = new LoopPhaseStatsStruct();
+
+  public double p50;
+  public double p95;
+  public double p99;
+  public double max;
+  public long samples;
+
+  public void update(Histogram histogram) {
+    p50 = histogram.getPercentile(0.50);
+    p95 = histogram.getPercentile(0.95);
+    p99 = histogram.getPercentile(0.99);
+    max = histogram.getMax();
+    samples = histogram.getCount();
+  }
+
+  public static class LoopPhaseStatsStruct implements Struct<LoopPhaseStats> {
+    @Override
+    public Class<LoopPhaseStats> getTypeClass() {
+      return LoopPhaseStats.class;
+    }
+
+    @Override
+    public String getTypeName() {
+      return "LoopPhaseStats";
+    }
+
+    @Override
+    public int getSize() {
+      return kSizeDouble * 4 + kSizeInt64;
+    }
+
+    @Override
+    public String getSchema() {
+      return "double p50_ms;double p95_ms;double p99_ms;double max_ms;int64 samples";
+    }
+
+    @Override
+    public LoopPhaseStats unpack(ByteBuffer bb) {
+      final var stats = new LoopPhaseStats();
+      stats.p50 = bb.getDouble();
+      stats.p95 = bb.getDouble();
+      stats.p99 = bb.getDouble();
+      stats.max = bb.getDouble();
+      stats.samples = bb.getLong();
+      return stats;
+    }
+
+    @Override
+    public void pack(ByteBuffer bb, LoopPhaseStats value) {
+      bb.putDouble(value.p50);
+      bb.putDouble(value.p95);
+      bb.putDouble(value.p99);
+      bb.putDouble(value.max);
+      bb.putLong(value.samples);
+    }
+  }
+}
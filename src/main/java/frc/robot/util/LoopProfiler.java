@@ -0,0 +1,124 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.epilogue.logging.EpilogueBackend;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times phases of the robot loop into fixed latency histograms and publishes their percentiles as
+ * a struct array. Sections are created once at startup; starting and stopping them afterwards does
+ * not allocate. Toggle with the "LoopProfiler/Enabled" dashboard boolean. The profiler is always
+ * off while connected to the FMS.
+ */
+public final class LoopProfiler {
+  private static final String kEnabledKey = "LoopProfiler/Enabled";
+
+  // 0 - 40 ms in 0.1 ms buckets; anything slower lands in the overflow bucket
+  private static final double kHistogramRangeMs = 40;
+  private static final int kHistogramBuckets = 400;
+
+  // percentiles walk every bucket, so only publish once a second
+  private static final int kPublishPeriodLoops = 50;
+
+  private static final List<Section> sections = new ArrayList<>();
+  private static LoopPhaseStats[] stats = new LoopPhaseStats[0];
+  private static String[] names = new String[0];
+
+  private static boolean enabled = false;
+  private static int loopsSincePublish = 0;
+
+  // total time spent in robotPeriodic()
+  private static final Section loop = section("Loop");
+
+  static {
+    SmartDashboard.setDefaultBoolean(kEnabledKey, false);
+  }
+
+  private LoopProfiler() {}
+
+  /**
+   * Registers a new profiled section. Call this once during construction, never from the loop
+   *
+   * @param name the name published alongside the section's stats
+   */
+  public static Section section(String name) {
+    final var section = new Section(name);
+    sections.add(section);
+
+    stats = new LoopPhaseStats[sections.size()];
+    names = new String[sections.size()];
+    for (int i = 0; i < sections.size(); i++) {
+      stats[i] = new LoopPhaseStats();
+      names[i] = sections.get(i).name;
+    }
+
+    return section;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Reads the runtime toggle and starts timing the loop. Call first thing in robotPeriodic(). */
+  public static void startLoop() {
+    final boolean requested =
+        SmartDashboard.getBoolean(kEnabledKey, false) && !DriverStation.isFMSAttached();
+
+    if (requested != enabled) {
+      enabled = requested;
+      // start every profiling session with a clean slate
+      if (enabled) {
+        for (int i = 0; i < sections.size(); i++) {
+          sections.get(i).histogram.reset();
+        }
+        loopsSincePublish = 0;
+      }
+    }
+
+    loop.start();
+  }
+
+  /**
+   * Stops timing the loop and periodically publishes every section's stats
+   *
+   * @param backend the backend to publish "Names" and "Stats" to
+   */
+  public static void endLoop(EpilogueBackend backend) {
+    loop.stop();
+
+    if (!enabled || ++loopsSincePublish < kPublishPeriodLoops) return;
+    loopsSincePublish = 0;
+
+    for (int i = 0; i < stats.length; i++) {
+      stats[i].update(sections.get(i).histogram);
+    }
+
+    backend.log("Names", names);
+    backend.log("Stats", stats, LoopPhaseStats.struct);
+  }
+
+  /** A single timed phase of the loop with its own latency histogram. */
+  public static final class Section {
+    private final String name;
+    private final Histogram histogram = new Histogram(kHistogramRangeMs, kHistogramBuckets);
+
+    private long startNanos = -1;
+
+    private Section(String name) {
+      this.name = name;
+    }
+
+    public void start() {
+      if (enabled) startNanos = System.nanoTime();
+    }
+
+    public void stop() {
+      if (startNanos < 0) return;
+      if (enabled) histogram.record((System.nanoTime() - startNanos) / 1e6);
+      startNanos = -1;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refreshes the status signals of every registered Phoenix 6 device with one batched call per CAN
+ * bus at the start of each loop. IO classes register the signals they read at construction and
+ * then read cached values with {@code getValueAsDouble()}, so every mechanism input comes from the
+ * same sample and nothing refreshes signals one at a time.
+ */
+public final class PhoenixSignalHub {
+  // signals grouped by CAN bus, since a batched refresh can't span buses
+  private static final Map<String, List<BaseStatusSignal>> signalsByBus = new LinkedHashMap<>();
+  private static BaseStatusSignal[][] signalGroups = new BaseStatusSignal[0][];
+
+  // one signal per registered device, used to report how stale each device's data is
+  private static final List<ParentDevice> devices = new ArrayList<>();
+  private static String[] deviceNames = new String[0];
+  private static BaseStatusSignal[] deviceSignals = new BaseStatusSignal[0];
+
+  private PhoenixSignalHub() {}
+
+  /**
+   * Registers signals to be refreshed every loop. Call this once during construction, never from
+   * the loop
+   *
+   * @param device the device the signals belong to
+   * @param signals the signals to refresh
+   */
+  public static synchronized void register(ParentDevice device, BaseStatusSignal... signals) {
+    final var busSignals =
+        signalsByBus.computeIfAbsent(device.getNetwork(), bus -> new ArrayList<>());
+    for (BaseStatusSignal signal : signals) {
+      busSignals.add(signal);
+    }
+
+    signalGroups = new BaseStatusSignal[signalsByBus.size()][];
+    int i = 0;
+    for (var group : signalsByBus.values()) {
+      signalGroups[i++] = group.toArray(new BaseStatusSignal[0]);
+    }
+
+    if (signals.length > 0 && !devices.contains(device)) {
+      devices.add(device);
+
+      deviceNames = Arrays.copyOf(deviceNames, devices.size());
+      deviceNames[devices.size() - 1] =
+          device.getClass().getSimpleName() + " " + device.getDeviceID();
+
+      deviceSignals = Arrays.copyOf(deviceSignals, devices.size());
+      deviceSignals[devices.size() - 1] = signals[0];
+    }
+  }
+
+  /**
+   * @return a name for each registered device, in the same order as {@link
+   *     #getSignalAges(double[])}
+   */
+  public static String[] getDeviceNames() {
+    return deviceNames;
+  }
+
+  /**
+   * Fills {@code ages} with the seconds since each registered device last reported its first
+   * registered signal
+   *
+   * @param ages an array at least as long as {@link #getDeviceNames()}
+   */
+  public static void getSignalAges(double[] ages) {
+    final var signals = deviceSignals;
+    for (int i = 0; i < signals.length; i++) {
+      ages[i] = signals[i].getTimestamp().getLatency();
+    }
+  }
+
+  /** Refreshes every registered signal. Call first thing in robotPeriodic(), before any reads */
+  public static void refreshAll() {
+    final var groups = signalGroups;
+    for (int i = 0; i < groups.length; i++) {
+      BaseStatusSignal.refreshAll(groups[i]);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * Fixed-size ring buffer of timestamped 2d poses, stored in parallel primitive arrays so that
+ * adding and looking up samples never allocates. Lookups interpolate between the two samples
+ * around the requested time. Safe to write from one thread while others read.
+ */
+public final class PoseHistory {
+  // indices into the array filled by sample()
+  public static final int kX = 0;
+  public static final int kY = 1;
+  public static final int kTheta = 2;
+
+  private final double windowSeconds;
+
+  private final double[] timestamps;
+  private final double[] xs;
+  private final double[] ys;
+  private final double[] thetas;
+
+  // physical index of the oldest sample
+  private int start = 0;
+  private int size = 0;
+
+  /**
+   * @param windowSeconds how far back samples are kept
+   * @param capacity the maximum number of samples kept; should cover the window at the sample rate
+   */
+  public PoseHistory(double windowSeconds, int capacity) {
+    this.windowSeconds = windowSeconds;
+
+    this.timestamps = new double[capacity];
+    this.xs = new double[capacity];
+    this.ys = new double[capacity];
+    this.thetas = new double[capacity];
+  }
+
+  /**
+   * Adds a sample. Samples older than the newest sample are ignored
+   *
+   * @param timestampSeconds the FPGA timestamp of the sample
+   */
+  public synchronized void addSample(
+      double timestampSeconds, double x, double y, double thetaRadians) {
+    if (size > 0 && timestampSeconds <= timestamps[physicalIndex(size - 1)]) return;
+
+    // drop samples that have aged out of the window, then the oldest if still full
+    while (size > 0 && timestampSeconds - timestamps[start] > windowSeconds) {
+      removeOldest();
+    }
+    if (size == timestamps.length) removeOldest();
+
+    final int index = physicalIndex(size);
+    timestamps[index] = timestampSeconds;
+    xs[index] = x;
+    ys[index] = y;
+    thetas[index] = thetaRadians;
+    size++;
+  }
+
+  public void addSample(double timestampSeconds, Pose2d pose) {
+    addSample(timestampSeconds, pose.getX(), pose.getY(), pose.getRotation().getRadians());
+  }
+
+  /**
+   * Finds the interpolated pose at a time. Times newer than the newest sample use the newest
+   * sample
+   *
+   * @param timestampSeconds the FPGA timestamp to look up
+   * @param out filled with x, y and theta at indices {@link #kX}, {@link #kY} and {@link #kTheta}
+   * @return false, leaving {@code out} untouched, if the history is empty or the time is older than
+   *     the oldest sample
+   */
+  public synchronized boolean sample(double timestampSeconds, double[] out) {
+    if (size == 0 || timestampSeconds < timestamps[start]) return false;
+
+    final int newest = physicalIndex(size - 1);
+    if (timestampSeconds >= timestamps[newest]) {
+      out[kX] = xs[newest];
+      out[kY] = ys[newest];
+      out[kTheta] = thetas[newest];
+      return true;
+    }
+
+    // last sample at or before the time; the one after it exists since the time is before newest
+    int low = 0;
+    int high = size - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (timestamps[physicalIndex(mid)] <= timestampSeconds) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    final int before = physicalIndex(low);
+    final int after = physicalIndex(low + 1);
+    final double fraction =
+        (timestampSeconds - timestamps[before]) / (timestamps[after] - timestamps[before]);
+
+    out[kX] = xs[before] + (xs[after] - xs[before]) * fraction;
+    out[kY] = ys[before] + (ys[after] - ys[before]) * fraction;
+    // interpolate the short way around
+    out[kTheta] =
+        MathUtil.angleModulus(
+            thetas[before]
+                + Math.IEEEremainder(thetas[after] - thetas[before], 2 * Math.PI) * fraction);
+    return true;
+  }
+
+  /**
+   * Allocating convenience wrapper around {@link #sample(double, double[])}
+   *
+   * @return the interpolated pose, or null if there is no sample for the time
+   */
+  public Pose2d getPose(double timestampSeconds) {
+    final double[] out = new double[3];
+    return sample(timestampSeconds, out)
+        ? new Pose2d(out[kX], out[kY], new Rotation2d(out[kTheta]))
+        : null;
+  }
+
+  public synchronized void clear() {
+    start = 0;
+    size = 0;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private void removeOldest() {
+    start = (start + 1) % timestamps.length;
+    size--;
+  }
+
+  private int physicalIndex(int logicalIndex) {
+    return (start + logicalIndex) % timestamps.length;
+  }
+}
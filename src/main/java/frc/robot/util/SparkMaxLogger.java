@@ -1,30 +1,90 @@
 /* (C) Robolancers 2025 */
 package frc.robot.util;
 
+import com.revrobotics.REVLibError;
+import com.revrobotics.RelativeEncoder;
+import com.revrobotics.spark.SparkAnalogSensor;
 import com.revrobotics.spark.SparkMax;
 import edu.wpi.first.epilogue.CustomLoggerFor;
 import edu.wpi.first.epilogue.logging.ClassSpecificLogger;
 import edu.wpi.first.epilogue.logging.EpilogueBackend;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 // For creating a custom logger, refer to
 // https://docs.wpilib.org/en/stable/docs/software/telemetry/robot-telemetry-with-annotations.html#logging-third-party-data
 @CustomLoggerFor(SparkMax.class)
 public class SparkMaxLogger extends ClassSpecificLogger<SparkMax> {
 
+  // followers mirror their leader, so they don't need to be logged every loop
+  public static final int kFollowerLogDivisor = 5;
+
+  // the sensors of every logged motor, looked up once instead of every loop
+  private static final Map<SparkMax, DeviceSensors> devices = new IdentityHashMap<>();
+
+  private static final class DeviceSensors extends DeviceLogState {
+    private final RelativeEncoder encoder;
+    private final SparkAnalogSensor analog;
+
+    private DeviceSensors(SparkMax motor) {
+      super(1);
+
+      encoder = motor.getEncoder();
+      analog = motor.getAnalog();
+    }
+  }
+
   public SparkMaxLogger() {
     super(SparkMax.class);
   }
 
+  private static DeviceSensors sensorsFor(SparkMax motor) {
+    return devices.computeIfAbsent(motor, DeviceSensors::new);
+  }
+
+  /**
+   * Logs the motor only once every {@code divisor} loops, for motors that don't need to be watched
+   * closely
+   */
+  public static void setLogDivisor(SparkMax motor, int divisor) {
+    sensorsFor(motor).setLogDivisor(divisor);
+  }
+
+  /**
+   * @return how long logging the motor took the last time it was logged, in milliseconds
+   */
+  public static double getLoggerCostMillis(SparkMax motor) {
+    return sensorsFor(motor).getLastCostMillis();
+  }
+
   @Override
   protected void update(EpilogueBackend dataLogger, SparkMax object) {
+    final var sensors = sensorsFor(object);
+    if (!sensors.shouldLog()) return;
+
+    final long start = System.nanoTime();
+
+    final double busVoltage = object.getBusVoltage();
+    final REVLibError lastError = object.getLastError();
+    final boolean connected =
+        lastError != REVLibError.kCANDisconnected && lastError != REVLibError.kTimeout;
+
     dataLogger.log("CAN ID", object.getDeviceId());
-    dataLogger.log("Requested Speed (Duty Cycle)", object.get());
-    dataLogger.log("Supply Voltage (V)", object.getBusVoltage());
-    dataLogger.log("Motor Voltage (V)", object.getAppliedOutput() * object.getBusVoltage());
-    dataLogger.log("Output Current (A)", object.getOutputCurrent());
-    dataLogger.log("Motor Temperature (C)", object.getMotorTemperature());
-    dataLogger.log("Encoder Position", object.getEncoder().getPosition());
-    dataLogger.log("Encoder Velocity", object.getEncoder().getVelocity());
-    dataLogger.log("Analog Sensor Value", object.getAnalog().getPosition());
+    dataLogger.log("Connected", connected);
+
+    // stale values from a disconnected motor would only be misleading
+    if (connected) {
+      dataLogger.log("Requested Speed (Duty Cycle)", object.get());
+      dataLogger.log("Supply Voltage (V)", busVoltage);
+      dataLogger.log("Motor Voltage (V)", object.getAppliedOutput() * busVoltage);
+      dataLogger.log("Output Current (A)", object.getOutputCurrent());
+      dataLogger.log("Motor Temperature (C)", object.getMotorTemperature());
+      dataLogger.log("Encoder Position", sensors.encoder.getPosition());
+      dataLogger.log("Encoder Velocity", sensors.encoder.getVelocity());
+      dataLogger.log("Analog Sensor Value", sensors.analog.getPosition());
+    }
+
+    sensors.recordCost(start);
+    dataLogger.log("Logger Cost (ms)", sensors.getLastCostMillis());
   }
 }
@@ -0,0 +1,85 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for handing items from exactly one producer thread to exactly one
+ * consumer thread. When the queue is full new items are dropped and counted instead of blocking
+ * the producer.
+ */
+public final class SpscRingBuffer<T> {
+  private final Object[] buffer;
+  private final int mask;
+
+  // next slot to read; only written by the consumer
+  private final AtomicLong head = new AtomicLong();
+  // next slot to write; only written by the producer
+  private final AtomicLong tail = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * @param capacity the maximum number of queued items, rounded up to a power of two
+   */
+  public SpscRingBuffer(int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+
+    final int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.buffer = new Object[Math.max(size, 1)];
+    this.mask = buffer.length - 1;
+  }
+
+  /**
+   * Adds an item to the queue. Only call this from the producer thread
+   *
+   * @return false if the queue was full and the item was dropped
+   */
+  public boolean offer(T item) {
+    final long currentTail = tail.get();
+
+    if (currentTail - head.getAcquire() >= buffer.length) {
+      dropped.incrementAndGet();
+      return false;
+    }
+
+    buffer[(int) (currentTail & mask)] = item;
+    // publishes the slot write to the consumer
+    tail.setRelease(currentTail + 1);
+    return true;
+  }
+
+  /**
+   * Removes the oldest item from the queue. Only call this from the consumer thread
+   *
+   * @return the oldest item, or null if the queue is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T poll() {
+    final long currentHead = head.get();
+
+    if (currentHead == tail.getAcquire()) return null;
+
+    final int index = (int) (currentHead & mask);
+    final T item = (T) buffer[index];
+    buffer[index] = null;
+    // hands the slot back to the producer
+    head.setRelease(currentHead + 1);
+    return item;
+  }
+
+  public int size() {
+    return (int) (tail.getAcquire() - head.getAcquire());
+  }
+
+  public int capacity() {
+    return buffer.length;
+  }
+
+  /**
+   * @return the total number of items dropped because the queue was full
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+}
@@ -1,30 +1,132 @@
 /* (C) Robolancers 2025 */
 package frc.robot.util;
 
+import static edu.wpi.first.units.Units.Hertz;
+
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.hardware.TalonFX;
 import edu.wpi.first.epilogue.CustomLoggerFor;
 import edu.wpi.first.epilogue.logging.ClassSpecificLogger;
 import edu.wpi.first.epilogue.logging.EpilogueBackend;
+import edu.wpi.first.units.measure.Frequency;
+import edu.wpi.first.wpilibj.TimedRobot;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 // For creating a custom logger, refer to
 // https://docs.wpilib.org/en/stable/docs/software/telemetry/robot-telemetry-with-annotations.html#logging-third-party-data
 @CustomLoggerFor(TalonFX.class)
 public class TalonFXLogger extends ClassSpecificLogger<TalonFX> {
 
+  // the logged signals are only for dashboards, so they can update slowly
+  public static final Frequency kTelemetryUpdateFrequency = Hertz.of(10);
+
+  // no point logging more often than the signals update
+  public static final int kDefaultLogDivisor =
+      Math.max(
+          1,
+          (int) Math.round(1 / (kTelemetryUpdateFrequency.in(Hertz) * TimedRobot.kDefaultPeriod)));
+
+  // the cached signals of every logged motor
+  private static final Map<TalonFX, DeviceSignals> devices = new IdentityHashMap<>();
+
+  private static final class DeviceSignals extends DeviceLogState {
+    private final BaseStatusSignal dutyCycle;
+    private final BaseStatusSignal supplyVoltage;
+    private final BaseStatusSignal motorVoltage;
+    private final BaseStatusSignal statorCurrent;
+    private final BaseStatusSignal supplyCurrent;
+    private final BaseStatusSignal deviceTemp;
+    private final BaseStatusSignal position;
+    private final BaseStatusSignal velocity;
+
+    private final BaseStatusSignal[] all;
+
+    private DeviceSignals(TalonFX motor) {
+      super(kDefaultLogDivisor);
+
+      // Phoenix hands out the same signal objects to the IO layer, so these share its cache
+      dutyCycle = motor.getDutyCycle(false);
+      supplyVoltage = motor.getSupplyVoltage(false);
+      motorVoltage = motor.getMotorVoltage(false);
+      statorCurrent = motor.getStatorCurrent(false);
+      supplyCurrent = motor.getSupplyCurrent(false);
+      deviceTemp = motor.getDeviceTemp(false);
+      position = motor.getPosition(false);
+      velocity = motor.getVelocity(false);
+
+      all =
+          new BaseStatusSignal[] {
+            dutyCycle,
+            supplyVoltage,
+            motorVoltage,
+            statorCurrent,
+            supplyCurrent,
+            deviceTemp,
+            position,
+            velocity
+          };
+    }
+  }
+
   public TalonFXLogger() {
     super(TalonFX.class);
   }
 
+  private static DeviceSignals signalsFor(TalonFX motor) {
+    return devices.computeIfAbsent(motor, DeviceSignals::new);
+  }
+
+  /**
+   * Keeps the signals this logger reads enabled at {@link #kTelemetryUpdateFrequency} so that
+   * optimizeBusUtilization() doesn't turn them off. Call this before setting the rates of any
+   * signals the IO reads, since the last rate set for a signal wins
+   */
+  public static void setTelemetryUpdateFrequency(TalonFX motor) {
+    BaseStatusSignal.setUpdateFrequencyForAll(kTelemetryUpdateFrequency, signalsFor(motor).all);
+  }
+
+  /**
+   * Logs the motor only once every {@code divisor} loops, for motors that don't need to be watched
+   * closely
+   */
+  public static void setLogDivisor(TalonFX motor, int divisor) {
+    signalsFor(motor).setLogDivisor(divisor);
+  }
+
+  /**
+   * @return how long logging the motor took the last time it was logged, in milliseconds
+   */
+  public static double getLoggerCostMillis(TalonFX motor) {
+    return signalsFor(motor).getLastCostMillis();
+  }
+
   @Override
   protected void update(EpilogueBackend dataLogger, TalonFX object) {
+    final var signals = signalsFor(object);
+    if (!signals.shouldLog()) return;
+
+    final long start = System.nanoTime();
+
+    // one batched refresh per motor instead of one per getter
+    final boolean connected = BaseStatusSignal.refreshAll(signals.all).isOK();
+
     dataLogger.log("CAN ID", object.getDeviceID());
-    dataLogger.log("Requested Speed (Duty Cycle)", object.get());
-    dataLogger.log("Supply Voltage (V)", object.getSupplyVoltage().getValueAsDouble());
-    dataLogger.log("Motor Voltage (V)", object.getMotorVoltage().getValueAsDouble());
-    dataLogger.log("Stator Current (A)", object.getStatorCurrent().getValueAsDouble());
-    dataLogger.log("Supply Current (A)", object.getSupplyCurrent().getValueAsDouble());
-    dataLogger.log("Motor Temperature (C)", object.getDeviceTemp().getValueAsDouble());
-    dataLogger.log("Encoder Position", object.getPosition().getValueAsDouble());
-    dataLogger.log("Encoder Velocity", object.getVelocity().getValueAsDouble());
+    dataLogger.log("Connected", connected);
+
+    // stale values from a disconnected motor would only be misleading
+    if (connected) {
+      dataLogger.log("Requested Speed (Duty Cycle)", signals.dutyCycle.getValueAsDouble());
+      dataLogger.log("Supply Voltage (V)", signals.supplyVoltage.getValueAsDouble());
+      dataLogger.log("Motor Voltage (V)", signals.motorVoltage.getValueAsDouble());
+      dataLogger.log("Stator Current (A)", signals.statorCurrent.getValueAsDouble());
+      dataLogger.log("Supply Current (A)", signals.supplyCurrent.getValueAsDouble());
+      dataLogger.log("Motor Temperature (C)", signals.deviceTemp.getValueAsDouble());
+      dataLogger.log("Encoder Position", signals.position.getValueAsDouble());
+      dataLogger.log("Encoder Velocity", signals.velocity.getValueAsDouble());
+    }
+
+    signals.recordCost(start);
+    dataLogger.log("Logger Cost (ms)", signals.getLastCostMillis());
   }
 }
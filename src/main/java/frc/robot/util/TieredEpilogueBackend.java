@@ -0,0 +1,242 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.epilogue.logging.EpilogueBackend;
+import edu.wpi.first.util.struct.Struct;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps an Epilogue backend and logs each entry at a rate picked by its log path. Entries can be
+ * logged every loop (the default), every Nth loop, or only when their value changes. A rate applies
+ * to the path and everything nested under it unless a deeper path sets its own.
+ *
+ * <p>Register every rate before the first {@code Epilogue.update()}, since rates are resolved once
+ * when each nested backend is created. Looking up a rate while logging never allocates.
+ */
+public class TieredEpilogueBackend implements EpilogueBackend {
+  // divisor used to mark on-change entries
+  private static final int kOnChange = 0;
+  private static final int kEveryLoop = 1;
+
+  // shared by the root and every nested backend
+  private static final class Tiers {
+    private final Map<String, Integer> divisorsByPath = new HashMap<>();
+
+    private long loopCount = 0;
+    private int loggedEntries = 0;
+    private int skippedEntries = 0;
+    private int lastLoggedEntries = 0;
+    private int lastSkippedEntries = 0;
+  }
+
+  private final Tiers tiers;
+  private final String path;
+  private final EpilogueBackend delegate;
+  // only created for subtrees that log on change
+  private EpilogueBackend lazyDelegate;
+
+  private final int divisor;
+  // rates of the entries logged directly under this path
+  private final Map<String, Integer> leafDivisors = new HashMap<>();
+
+  private final Map<String, TieredEpilogueBackend> nestedBackends = new HashMap<>();
+
+  public TieredEpilogueBackend(EpilogueBackend delegate) {
+    this(new Tiers(), "", delegate, kEveryLoop);
+  }
+
+  private TieredEpilogueBackend(Tiers tiers, String path, EpilogueBackend delegate, int divisor) {
+    this.tiers = tiers;
+    this.path = path;
+    this.delegate = delegate;
+    this.divisor = divisor;
+
+    for (var entry : tiers.divisorsByPath.entrySet()) {
+      final String key = entry.getKey();
+      if (key.startsWith(path) && key.indexOf('/', path.length()) < 0) {
+        leafDivisors.put(key.substring(path.length()), entry.getValue());
+      }
+    }
+  }
+
+  /** Logs everything under the path every loop, overriding a slower rate set on a parent path */
+  public TieredEpilogueBackend everyLoop(String path) {
+    return withDivisor(path, kEveryLoop);
+  }
+
+  /** Logs everything under the path once every {@code loops} loops */
+  public TieredEpilogueBackend everyNthLoop(String path, int loops) {
+    return withDivisor(path, Math.max(kEveryLoop, loops));
+  }
+
+  /** Logs everything under the path only when its value changes */
+  public TieredEpilogueBackend onChange(String path) {
+    return withDivisor(path, kOnChange);
+  }
+
+  private TieredEpilogueBackend withDivisor(String path, int divisor) {
+    tiers.divisorsByPath.put(trimSlashes(path), divisor);
+    return this;
+  }
+
+  /** Moves on to the next loop's rates. Call once per loop, before {@code Epilogue.update()} */
+  public void startLoop() {
+    tiers.loopCount++;
+    tiers.lastLoggedEntries = tiers.loggedEntries;
+    tiers.lastSkippedEntries = tiers.skippedEntries;
+    tiers.loggedEntries = 0;
+    tiers.skippedEntries = 0;
+  }
+
+  /**
+   * @return how many entries were passed on to the backend last loop
+   */
+  public int getLoggedEntries() {
+    return tiers.lastLoggedEntries;
+  }
+
+  /**
+   * @return how many entries were skipped because of their rate last loop
+   */
+  public int getSkippedEntries() {
+    return tiers.lastSkippedEntries;
+  }
+
+  @Override
+  public EpilogueBackend getNested(String path) {
+    final var nested = nestedBackends.get(path);
+    if (nested != null) return nested;
+
+    final String nestedPath = this.path + trimSlashes(path);
+    final var created =
+        new TieredEpilogueBackend(
+            tiers,
+            nestedPath + "/",
+            delegate.getNested(path),
+            tiers.divisorsByPath.getOrDefault(nestedPath, divisor));
+    nestedBackends.put(path, created);
+    return created;
+  }
+
+  // where an entry should go this loop, or null to skip it
+  private EpilogueBackend backendFor(String identifier) {
+    int entryDivisor = divisor;
+    if (!leafDivisors.isEmpty()) {
+      final Integer leafDivisor = leafDivisors.get(identifier);
+      if (leafDivisor != null) entryDivisor = leafDivisor;
+    }
+
+    if (entryDivisor == kOnChange) {
+      if (lazyDelegate == null) lazyDelegate = delegate.lazy();
+      tiers.loggedEntries++;
+      return lazyDelegate;
+    }
+
+    if (tiers.loopCount % entryDivisor != 0) {
+      tiers.skippedEntries++;
+      return null;
+    }
+
+    tiers.loggedEntries++;
+    return delegate;
+  }
+
+  private static String trimSlashes(String path) {
+    int start = 0;
+    int end = path.length();
+    while (start < end && path.charAt(start) == '/') start++;
+    while (end > start && path.charAt(end - 1) == '/') end--;
+    return path.substring(start, end);
+  }
+
+  @Override
+  public void log(String identifier, int value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, long value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, float value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, double value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, boolean value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, byte[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, int[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, long[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, float[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, double[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, boolean[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, String value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public void log(String identifier, String[] value) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value);
+  }
+
+  @Override
+  public <S> void log(String identifier, S value, Struct<S> struct) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value, struct);
+  }
+
+  @Override
+  public <S> void log(String identifier, S[] value, Struct<S> struct) {
+    final var backend = backendFor(identifier);
+    if (backend != null) backend.log(identifier, value, struct);
+  }
+}
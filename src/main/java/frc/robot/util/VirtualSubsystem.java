@@ -1,6 +1,7 @@
 /* (C) Robolancers 2025 */
 package frc.robot.util;
 
+import edu.wpi.first.epilogue.NotLogged;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,14 +9,21 @@ import java.util.List;
 public abstract class VirtualSubsystem {
   private static List<VirtualSubsystem> subsystems = new ArrayList<>();
 
+  @NotLogged
+  private final LoopProfiler.Section profilerSection =
+      LoopProfiler.section(getClass().getSimpleName());
+
   public VirtualSubsystem() {
     subsystems.add(this);
   }
 
   /** Calls {@link #periodic()} on all virtual subsystems. */
   public static void periodicAll() {
-    for (var subsystem : subsystems) {
+    for (int i = 0; i < subsystems.size(); i++) {
+      final var subsystem = subsystems.get(i);
+      subsystem.profilerSection.start();
       subsystem.periodic();
+      subsystem.profilerSection.stop();
     }
   }
 
@@ -0,0 +1,94 @@
+/* (C) Robolancers 2025 */
+package frc.robot.util;
+
+import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.epilogue.NotLogged;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Decides whether an output write actually needs to go out. A write is suppressed when it uses the
+ * same control mode as the last one sent and its values are within epsilon of it, so commands that
+ * hold a setpoint don't put the same frame on the bus every loop.
+ */
+@Logged
+public class WriteCoalescer {
+  // well below anything our mechanisms can resolve, in volts, rotations, meters or degrees
+  public static final double kDefaultEpsilon = 1e-3;
+
+  // a write after a gap this long is always sent, so a setpoint from before the robot was disabled
+  // or before a command was interrupted is never assumed to still be applied
+  private static final double kMaxWriteGapSeconds = 0.1;
+
+  private static final int kNoMode = -1;
+
+  @NotLogged private final double epsilon;
+
+  @NotLogged private int lastMode = kNoMode;
+  @NotLogged private double lastValue = 0;
+  @NotLogged private double lastVelocity = 0;
+  @NotLogged private double lastFeedforward = 0;
+  @NotLogged private double lastWriteTimestamp = 0;
+
+  private long sentWrites = 0;
+  private long suppressedWrites = 0;
+
+  public WriteCoalescer() {
+    this(kDefaultEpsilon);
+  }
+
+  public WriteCoalescer(double epsilon) {
+    this.epsilon = epsilon;
+  }
+
+  public boolean shouldWrite(int mode, double value) {
+    return shouldWrite(mode, value, 0);
+  }
+
+  public boolean shouldWrite(int mode, double value, double feedforward) {
+    return shouldWrite(mode, value, 0, feedforward);
+  }
+
+  /**
+   * Records a write and returns whether it has to be sent
+   *
+   * @param mode an id for the control mode, unique per device
+   * @param value the setpoint
+   * @param velocity any velocity sent with the setpoint for the device's own feedforward
+   * @param feedforward any arbitrary feedforward sent with the setpoint
+   * @return true if the caller should send the write
+   */
+  public boolean shouldWrite(int mode, double value, double velocity, double feedforward) {
+    final double now = Timer.getFPGATimestamp();
+    final boolean fresh = now - lastWriteTimestamp <= kMaxWriteGapSeconds;
+    lastWriteTimestamp = now;
+
+    if (fresh
+        && mode == lastMode
+        && Math.abs(value - lastValue) <= epsilon
+        && Math.abs(velocity - lastVelocity) <= epsilon
+        && Math.abs(feedforward - lastFeedforward) <= epsilon) {
+      suppressedWrites++;
+      return false;
+    }
+
+    lastMode = mode;
+    lastValue = value;
+    lastVelocity = velocity;
+    lastFeedforward = feedforward;
+    sentWrites++;
+    return true;
+  }
+
+  /** Forces the next write to be sent, e.g. after configuring the device */
+  public void invalidate() {
+    lastMode = kNoMode;
+  }
+
+  public long getSentWrites() {
+    return sentWrites;
+  }
+
+  public long getSuppressedWrites() {
+    return suppressedWrites;
+  }
+}
@@ -0,0 +1,146 @@
+/* (C) Robolancers 2025 */
+package frc.robot.subsystems;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import frc.robot.subsystems.algaeIntakePivot.AlgaeIntakePivotIO;
+import frc.robot.subsystems.algaeIntakePivot.AlgaeIntakePivotInputs;
+import frc.robot.subsystems.algaeIntakeRollers.AlgaeIntakeRollersIO;
+import frc.robot.subsystems.algaeIntakeRollers.AlgaeIntakeRollersInputs;
+import frc.robot.subsystems.climber.ClimberIO;
+import frc.robot.subsystems.climber.ClimberInputs;
+import frc.robot.subsystems.coralendeffector.CoralEndEffectorIO;
+import frc.robot.subsystems.coralendeffector.CoralEndEffectorInputs;
+import frc.robot.subsystems.elevator.ElevatorIO;
+import frc.robot.subsystems.elevator.ElevatorInputs;
+import frc.robot.subsystems.elevatorarm.ElevatorArmIO;
+import frc.robot.subsystems.elevatorarm.ElevatorArmInputs;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// every mechanism's inputs are refilled in place, so converting sensor values into them allocates
+// nothing once warm; the fake IOs stand in for the sensors, since the sim physics step allocates
+class MechanismInputsAllocationTest {
+  // enough calls for the JIT to compile updateInputs before measuring
+  private static final int kWarmupCalls = 20_000;
+  private static final int kMeasuredCalls = 1_000;
+
+  private static final ThreadMXBean kThreads =
+      (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @BeforeAll
+  static void enableAllocationTracking() {
+    assertTrue(kThreads.isThreadAllocatedMemorySupported());
+    kThreads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void elevator() {
+    final ElevatorInputs inputs = new ElevatorInputs();
+    final ElevatorIO io =
+        new ElevatorIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(ElevatorInputs inputs) {
+            step++;
+            inputs.update(step, -step, 2 * step, step % 2 == 0);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  @Test
+  void elevatorArm() {
+    final ElevatorArmInputs inputs = new ElevatorArmInputs();
+    final ElevatorArmIO io =
+        new ElevatorArmIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(ElevatorArmInputs inputs) {
+            step++;
+            inputs.update(step, -step, 2 * step);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  @Test
+  void coralEndEffector() {
+    final CoralEndEffectorInputs inputs = new CoralEndEffectorInputs();
+    final CoralEndEffectorIO io =
+        new CoralEndEffectorIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(CoralEndEffectorInputs inputs) {
+            step++;
+            inputs.update(step, -step, step % 2 == 0);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  @Test
+  void climber() {
+    final ClimberInputs inputs = new ClimberInputs();
+    final ClimberIO io =
+        new ClimberIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(ClimberInputs inputs) {
+            step++;
+            inputs.update(step, -step, 2 * step);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  @Test
+  void algaeIntakePivot() {
+    final AlgaeIntakePivotInputs inputs = new AlgaeIntakePivotInputs();
+    final AlgaeIntakePivotIO io =
+        new AlgaeIntakePivotIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(AlgaeIntakePivotInputs inputs) {
+            step++;
+            inputs.update(step, -step, 2 * step);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  @Test
+  void algaeIntakeRollers() {
+    final AlgaeIntakeRollersInputs inputs = new AlgaeIntakeRollersInputs();
+    final AlgaeIntakeRollersIO io =
+        new AlgaeIntakeRollersIO() {
+          private double step = 0;
+
+          @Override
+          public void updateInputs(AlgaeIntakeRollersInputs inputs) {
+            step++;
+            inputs.update(step, step % 2 == 0);
+          }
+        };
+    assertNoAllocation(() -> io.updateInputs(inputs));
+  }
+
+  private static void assertNoAllocation(Runnable updateInputs) {
+    for (int i = 0; i < kWarmupCalls; i++) updateInputs.run();
+
+    final long threadId = Thread.currentThread().getId();
+    final long before = kThreads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < kMeasuredCalls; i++) updateInputs.run();
+    final long allocated = kThreads.getThreadAllocatedBytes(threadId) - before;
+
+    assertEquals(0, allocated, "bytes allocated by " + kMeasuredCalls + " updateInputs calls");
+  }
+}